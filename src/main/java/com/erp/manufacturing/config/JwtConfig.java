@@ -14,5 +14,7 @@ public class JwtConfig {
     private String secret;
     private long accessTokenExpiration;
     private long refreshTokenExpiration;
+    // Build the principal from access token claims instead of loading the user on every request
+    private boolean statelessAuthentication;
 }
 
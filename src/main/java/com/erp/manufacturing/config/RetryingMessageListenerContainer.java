@@ -0,0 +1,62 @@
+package com.erp.manufacturing.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Redis is optional at startup: the stock container fails the context when the first subscription cannot
+// connect. This one logs, keeps serving without pub/sub (peers fall back to their local TTLs and the
+// database), and retries until Redis is reachable; later drops are handled by the recovery interval
+@Slf4j
+public class RetryingMessageListenerContainer extends RedisMessageListenerContainer {
+
+    private final long retryIntervalMillis;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "redis-subscription-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean destroyed;
+
+    public RetryingMessageListenerContainer(long retryIntervalMillis) {
+        this.retryIntervalMillis = retryIntervalMillis;
+        setRecoveryInterval(retryIntervalMillis);
+    }
+
+    @Override
+    public void start() {
+        try {
+            super.start();
+        } catch (RuntimeException e) {
+            log.warn("Could not subscribe to Redis, retrying in {} ms: {}", retryIntervalMillis, e.getMessage());
+            // Resets the started flag so the next attempt runs the subscription again
+            super.stop();
+            scheduleRetry();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        destroyed = true;
+        retryScheduler.shutdownNow();
+        super.destroy();
+    }
+
+    private void scheduleRetry() {
+        if (destroyed) {
+            return;
+        }
+        retryScheduler.schedule(() -> {
+            if (!destroyed && !isRunning()) {
+                start();
+                if (isRunning()) {
+                    log.info("Subscribed to Redis");
+                }
+            }
+        }, retryIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,203 @@
+package com.erp.manufacturing.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// Near cache: an in-heap Caffeine tier answers repeat reads without a Redis round trip or JSON
+// deserialization; Redis stays the shared tier and the source of truth between nodes
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final BiConsumer<String, Object> invalidationPublisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remote,
+                         BiConsumer<String, Object> invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            local.put(key, wrapper.get());
+        } else {
+            misses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    // Writes are deferred to after commit by the transaction-aware decorator, where an exception would fail a
+    // request whose data is already committed and skip the remaining synchronizations; a Redis failure is
+    // therefore logged here rather than thrown, and the local tier is still cleared
+    @Override
+    public void put(Object key, Object value) {
+        // Without the shared copy peers could not invalidate a local one, so neither tier is written
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Cache put failed for {}::{}: {}", name, key, e.getMessage());
+            return;
+        }
+        if (value != null) {
+            local.put(key, value);
+        }
+        puts.increment();
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Cache evict failed for {}::{}: {}", name, key, e.getMessage());
+        } finally {
+            local.invalidate(key);
+            evictions.increment();
+            publishInvalidation(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        try {
+            return remote.evictIfPresent(key);
+        } catch (RuntimeException e) {
+            log.warn("Cache evict failed for {}::{}: {}", name, key, e.getMessage());
+            return false;
+        } finally {
+            local.invalidate(key);
+            evictions.increment();
+            publishInvalidation(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Cache clear failed for {}: {}", name, e.getMessage());
+        } finally {
+            local.invalidateAll();
+            evictions.increment();
+            publishInvalidation(null);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        try {
+            return remote.invalidate();
+        } catch (RuntimeException e) {
+            log.warn("Cache clear failed for {}: {}", name, e.getMessage());
+            return false;
+        } finally {
+            local.invalidateAll();
+            evictions.increment();
+            publishInvalidation(null);
+        }
+    }
+
+    // Applied when another node evicted; Redis has already been updated by that node
+    void invalidateLocal(Object key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    long getLocalHitCount() {
+        return localHits.sum();
+    }
+
+    long getRemoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    long getPutCount() {
+        return puts.sum();
+    }
+
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    long getLocalSize() {
+        return local.estimatedSize();
+    }
+
+    // A lost broadcast only leaves peers stale until their local TTL, so a failed publish must not fail the write
+    private void publishInvalidation(Object key) {
+        try {
+            invalidationPublisher.accept(name, key);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast invalidation for {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.erp.manufacturing.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Wraps every Redis cache in a TwoLevelCache and keeps the in-heap tiers of all nodes consistent by
+// broadcasting evictions on a Redis pub/sub channel
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    public static final String INVALIDATION_CHANNEL = "erp:cache-invalidation";
+
+    // Message layout: node id, cache name, key; an empty key clears the whole cache
+    private static final String SEPARATOR = "\n";
+
+    private final RedisCacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+                                long localMaximumSize, Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        remoteCacheManager.initializeCaches();
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : remoteCacheManager.getCacheNames()) {
+            caches.add(createCache(name, remoteCacheManager.getCache(name)));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        return remote != null ? createCache(name, remote) : null;
+    }
+
+    public void onInvalidation(String message) {
+        String[] parts = message.split(SEPARATOR, 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = twoLevelCaches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+
+    private TwoLevelCache createCache(String name, Cache remote) {
+        TwoLevelCache cache = new TwoLevelCache(name, Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .build(), remote, this::publishInvalidation);
+        twoLevelCaches.put(name, cache);
+        return cache;
+    }
+
+    // Cache keys are SpEL strings ('id:' + #id); any other key type makes peers drop the whole cache
+    private void publishInvalidation(String cacheName, Object key) {
+        String keyPart = key instanceof String ? (String) key : "";
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + SEPARATOR + cacheName + SEPARATOR + keyPart);
+    }
+}
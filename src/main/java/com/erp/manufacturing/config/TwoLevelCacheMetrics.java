@@ -0,0 +1,52 @@
+package com.erp.manufacturing.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+// cache.gets hit counts both tiers; cache.gets.local and cache.local.size show how much the in-heap tier absorbs
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+    public TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return null;
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().getLocalHitCount() + getCache().getRemoteHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().getEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets.local", getCache(), TwoLevelCache::getLocalHitCount)
+                .tags(getTagsWithCacheName())
+                .description("Cache hits served from the in-heap tier without a Redis round trip")
+                .register(registry);
+        Gauge.builder("cache.local.size", getCache(), TwoLevelCache::getLocalSize)
+                .tags(getTagsWithCacheName())
+                .description("Approximate number of entries in the in-heap tier")
+                .register(registry);
+    }
+}
@@ -3,8 +3,14 @@ package com.erp.manufacturing.controller;
 import com.erp.manufacturing.dto.request.BOMRequest;
 import com.erp.manufacturing.dto.response.ApiResponse;
 import com.erp.manufacturing.dto.response.BOMResponse;
+import com.erp.manufacturing.dto.response.BomCostResponse;
+import com.erp.manufacturing.dto.response.BomExplosionResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
+import com.erp.manufacturing.dto.response.WhereUsedResponse;
 import com.erp.manufacturing.service.BOMService;
+import com.erp.manufacturing.service.BomCostService;
+import com.erp.manufacturing.service.BomExplosionService;
+import com.erp.manufacturing.service.WhereUsedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -26,6 +33,9 @@ import java.util.List;
 public class BOMController {
 
     private final BOMService bomService;
+    private final BomExplosionService bomExplosionService;
+    private final BomCostService bomCostService;
+    private final WhereUsedService whereUsedService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -69,8 +79,12 @@ public class BOMController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor) {
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        if (cursor != null) {
+            return ResponseEntity.ok(ApiResponse.success(bomService.getAll(cursor, size, sort)));
+        }
         Pageable pageable = PageRequest.of(page, size, sort);
         PageResponse<BOMResponse> response = bomService.getAll(pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
@@ -112,6 +126,61 @@ public class BOMController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{id}/explosion")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Explode a BOM into all levels of sub-assemblies and raw materials")
+    public ResponseEntity<ApiResponse<BomExplosionResponse>> explode(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") BigDecimal quantity) {
+        BomExplosionResponse response = bomExplosionService.explode(id, quantity);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/finished-goods/{finishedGoodsId}/explosion")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Explode the active BOM of a finished good")
+    public ResponseEntity<ApiResponse<BomExplosionResponse>> explodeFinishedGoods(
+            @PathVariable Long finishedGoodsId,
+            @RequestParam(defaultValue = "1") BigDecimal quantity) {
+        BomExplosionResponse response = bomExplosionService.explodeFinishedGoods(finishedGoodsId, quantity);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/where-used")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Get BOMs and finished goods that consume an item, including all parent levels")
+    public ResponseEntity<ApiResponse<WhereUsedResponse>> whereUsed(
+            @RequestParam(defaultValue = "RAW_MATERIAL") String itemType,
+            @RequestParam Long itemId,
+            @RequestParam(defaultValue = "true") boolean includeAncestors) {
+        WhereUsedResponse response = whereUsedService.getWhereUsed(itemType, itemId, includeAncestors);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/costs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR')")
+    @Operation(summary = "Get rolled-up material costs of all BOMs")
+    public ResponseEntity<ApiResponse<List<BomCostResponse>>> getCosts() {
+        List<BomCostResponse> response = bomCostService.getAll();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{id}/cost")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR')")
+    @Operation(summary = "Get rolled-up material cost of a BOM")
+    public ResponseEntity<ApiResponse<BomCostResponse>> getCost(@PathVariable Long id) {
+        BomCostResponse response = bomCostService.getByBomId(id);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping("/costs/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recalculate rolled-up costs of all BOMs")
+    public ResponseEntity<ApiResponse<Integer>> rebuildCosts() {
+        int count = bomCostService.rebuildAll();
+        return ResponseEntity.ok(ApiResponse.success(count, "BOM costs rebuilt successfully"));
+    }
+
     @PatchMapping("/{id}/activate")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Activate a BOM")
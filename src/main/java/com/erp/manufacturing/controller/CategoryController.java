@@ -70,10 +70,14 @@ public class CategoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor) {
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
                 : Sort.by(sortBy).ascending();
+        if (cursor != null) {
+            return ResponseEntity.ok(ApiResponse.success(categoryService.getAll(cursor, size, sort)));
+        }
         Pageable pageable = PageRequest.of(page, size, sort);
         PageResponse<CategoryResponse> response = categoryService.getAll(pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
@@ -69,10 +69,14 @@ public class CustomerController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor) {
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
                 : Sort.by(sortBy).ascending();
+        if (cursor != null) {
+            return ResponseEntity.ok(ApiResponse.success(customerService.getAll(cursor, size, sort)));
+        }
         Pageable pageable = PageRequest.of(page, size, sort);
         PageResponse<CustomerResponse> response = customerService.getAll(pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
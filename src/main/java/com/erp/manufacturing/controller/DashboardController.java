@@ -3,6 +3,7 @@ package com.erp.manufacturing.controller;
 import com.erp.manufacturing.dto.response.ApiResponse;
 import com.erp.manufacturing.dto.response.DashboardStatsResponse;
 import com.erp.manufacturing.service.DashboardService;
+import com.erp.manufacturing.service.OrderRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final OrderRollupService orderRollupService;
 
     @GetMapping("/stats")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
@@ -36,6 +38,15 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success(dashboardService.getSalesChart(period)));
     }
 
+    @GetMapping("/charts/trend")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
+    @Operation(summary = "Get time-series chart for sales, purchases, production output or receivables")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTrendChart(
+            @RequestParam(defaultValue = "sales") String metric,
+            @RequestParam(defaultValue = "month") String period) {
+        return ResponseEntity.ok(ApiResponse.success(dashboardService.getTrendChart(metric, period)));
+    }
+
     @GetMapping("/charts/production")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
     @Operation(summary = "Get production chart data")
@@ -66,5 +77,11 @@ public class DashboardController {
             @RequestParam(defaultValue = "5") int limit) {
         return ResponseEntity.ok(ApiResponse.success(dashboardService.getLowStockItems(limit)));
     }
-}
 
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild daily sales and purchase rollups from orders")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRollups() {
+        return ResponseEntity.ok(ApiResponse.success(orderRollupService.rebuild(), "Order rollups rebuilt"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.erp.manufacturing.controller;
+
+import com.erp.manufacturing.dto.response.ApiResponse;
+import com.erp.manufacturing.dto.response.LookupResultResponse;
+import com.erp.manufacturing.enums.LookupType;
+import com.erp.manufacturing.service.LookupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/v1/lookup")
+@RequiredArgsConstructor
+@Tag(name = "Lookup", description = "Typeahead lookup APIs")
+public class LookupController {
+
+    private final LookupService lookupService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
+    @Operation(summary = "Lookup", description = "Prefix typeahead over active materials, products, customers and suppliers by code, name or barcode")
+    public ResponseEntity<ApiResponse<List<LookupResultResponse>>> lookup(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<LookupType> types,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(lookupService.lookup(q, types, limit)));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild lookup index", description = "Reload the in-memory lookup index from the database")
+    public ResponseEntity<ApiResponse<Integer>> rebuild() {
+        return ResponseEntity.ok(ApiResponse.success(lookupService.rebuild(), "Lookup index rebuilt"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.erp.manufacturing.controller;
+
+import com.erp.manufacturing.dto.response.ApiResponse;
+import com.erp.manufacturing.dto.response.MrpRunResponse;
+import com.erp.manufacturing.service.MrpService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/production/mrp")
+@RequiredArgsConstructor
+@Tag(name = "MRP", description = "Material requirements planning APIs")
+public class MrpController {
+
+    private final MrpService mrpService;
+
+    @PostMapping("/run")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR')")
+    @Operation(summary = "Run MRP", description = "Net open sales and work order demand against stock and open purchase orders")
+    public ResponseEntity<ApiResponse<MrpRunResponse>> run(
+            @RequestParam(defaultValue = "84") int horizonDays,
+            @RequestParam(defaultValue = "7") int bucketDays) {
+        MrpRunResponse response = mrpService.run(horizonDays, bucketDays);
+        return ResponseEntity.ok(ApiResponse.success(response, "MRP run completed"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.erp.manufacturing.controller;
+
+import com.erp.manufacturing.dto.response.ApiResponse;
+import com.erp.manufacturing.dto.response.SearchResultResponse;
+import com.erp.manufacturing.enums.SearchDomain;
+import com.erp.manufacturing.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Unified search APIs")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
+    @Operation(summary = "Search", description = "Ranked search across masters and documents by code, name and related party")
+    public ResponseEntity<ApiResponse<List<SearchResultResponse>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SearchDomain> types,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(searchService.search(q, types, limit)));
+    }
+}
@@ -1,14 +1,27 @@
 package com.erp.manufacturing.controller;
 
+import com.erp.manufacturing.dto.request.StockPostingBatchRequest;
+import com.erp.manufacturing.dto.request.StockPostingRequest;
 import com.erp.manufacturing.dto.response.ApiResponse;
+import com.erp.manufacturing.dto.response.PageResponse;
+import com.erp.manufacturing.dto.response.StockPostingResultResponse;
+import com.erp.manufacturing.dto.response.StockSummaryResponse;
+import com.erp.manufacturing.dto.response.StockTransactionResponse;
 import com.erp.manufacturing.repository.RawMaterialStockRepository;
+import com.erp.manufacturing.service.StockLedgerService;
+import com.erp.manufacturing.service.StockSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +34,8 @@ import java.util.stream.Collectors;
 public class StockController {
 
     private final RawMaterialStockRepository rawMaterialStockRepository;
+    private final StockLedgerService stockLedgerService;
+    private final StockSummaryService stockSummaryService;
 
     @GetMapping("/raw-materials")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
@@ -105,5 +120,76 @@ public class StockController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(items));
     }
-}
 
+    @PostMapping("/postings")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Post a stock movement to the ledger")
+    public ResponseEntity<ApiResponse<StockPostingResultResponse>> post(@Valid @RequestBody StockPostingRequest request) {
+        StockPostingResultResponse response = stockLedgerService.post(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(response, "Stock movement posted successfully"));
+    }
+
+    @PostMapping("/postings/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Post a batch of stock movements atomically")
+    public ResponseEntity<ApiResponse<StockPostingResultResponse>> postBatch(
+            @Valid @RequestBody StockPostingBatchRequest request) {
+        StockPostingResultResponse response = stockLedgerService.postBatch(request.getPostings());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(response, "Stock movements posted successfully"));
+    }
+
+    @GetMapping("/raw-materials/{rawMaterialId}/transactions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Get stock movement history for a raw material")
+    public ResponseEntity<ApiResponse<PageResponse<StockTransactionResponse>>> getRawMaterialTransactions(
+            @PathVariable Long rawMaterialId,
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageResponse<StockTransactionResponse> response = stockLedgerService.getRawMaterialTransactions(
+                rawMaterialId, warehouseId, from, to, PageRequest.of(page, size));
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/finished-goods/{finishedGoodsId}/transactions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR')")
+    @Operation(summary = "Get stock movement history for a finished good")
+    public ResponseEntity<ApiResponse<PageResponse<StockTransactionResponse>>> getFinishedGoodsTransactions(
+            @PathVariable Long finishedGoodsId,
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageResponse<StockTransactionResponse> response = stockLedgerService.getFinishedGoodsTransactions(
+                finishedGoodsId, warehouseId, from, to, PageRequest.of(page, size));
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/raw-materials/{rawMaterialId}/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
+    @Operation(summary = "Get per-warehouse stock summary for a raw material")
+    public ResponseEntity<ApiResponse<List<StockSummaryResponse>>> getRawMaterialSummary(@PathVariable Long rawMaterialId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                stockSummaryService.getWarehouseSummaries("RAW_MATERIAL", rawMaterialId)));
+    }
+
+    @GetMapping("/finished-goods/{finishedGoodsId}/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPERVISOR', 'OPERATOR', 'VIEWER')")
+    @Operation(summary = "Get per-warehouse stock summary for a finished good")
+    public ResponseEntity<ApiResponse<List<StockSummaryResponse>>> getFinishedGoodsSummary(@PathVariable Long finishedGoodsId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                stockSummaryService.getWarehouseSummaries("FINISHED_GOODS", finishedGoodsId)));
+    }
+
+    @PostMapping("/summaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild stock summaries from stock rows")
+    public ResponseEntity<ApiResponse<Integer>> rebuildSummaries() {
+        return ResponseEntity.ok(ApiResponse.success(stockSummaryService.rebuild(), "Stock summaries rebuilt"));
+    }
+}
@@ -47,6 +47,8 @@ public class FinishedGoodsRequest {
 
     private BigDecimal reorderLevel;
 
+    private BigDecimal minimumStockLevel;
+
     private BigDecimal taxPercent;
 
     private Integer shelfLifeDays;
@@ -36,6 +36,9 @@ public class RawMaterialRequest {
     @DecimalMin(value = "0", message = "Reorder level must be non-negative")
     private BigDecimal reorderLevel;
 
+    @DecimalMin(value = "0", message = "Minimum stock level must be non-negative")
+    private BigDecimal minimumStockLevel;
+
     @DecimalMin(value = "0", message = "Reorder quantity must be non-negative")
     private BigDecimal reorderQuantity;
 
@@ -0,0 +1,28 @@
+package com.erp.manufacturing.dto.request;
+
+import com.erp.manufacturing.enums.ExportFormat;
+import com.erp.manufacturing.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    @NotNull(message = "Format is required")
+    private ExportFormat format;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+}
@@ -0,0 +1,21 @@
+package com.erp.manufacturing.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockPostingBatchRequest {
+
+    @NotEmpty(message = "At least one posting is required")
+    @Valid
+    private List<StockPostingRequest> postings;
+}
@@ -0,0 +1,45 @@
+package com.erp.manufacturing.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockPostingRequest {
+
+    @NotBlank(message = "Item type is required")
+    private String itemType; // RAW_MATERIAL, FINISHED_GOODS
+
+    @NotNull(message = "Item ID is required")
+    private Long itemId;
+
+    @NotNull(message = "Warehouse ID is required")
+    private Long warehouseId;
+
+    @NotBlank(message = "Transaction type is required")
+    private String transactionType;
+
+    // Signed for ADJUSTMENT, positive for every other transaction type
+    @NotNull(message = "Quantity is required")
+    private BigDecimal quantity;
+
+    // Destination warehouse for TRANSFER_OUT
+    private Long toWarehouseId;
+
+    private BigDecimal unitCost;
+    private String batchNo;
+    private String referenceType;
+    private Long referenceId;
+    private String referenceNo;
+    private String notes;
+    private LocalDateTime transactionDate;
+}
@@ -0,0 +1,29 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BomCostResponse {
+
+    private Long bomId;
+    private String bomCode;
+    private String version;
+    private Long finishedGoodsId;
+    private String finishedGoodsCode;
+    private String finishedGoodsName;
+    private BigDecimal outputQuantity;
+    private Boolean isActive;
+
+    private BigDecimal materialCost;
+    private BigDecimal unitCost;
+    private LocalDateTime calculatedAt;
+}
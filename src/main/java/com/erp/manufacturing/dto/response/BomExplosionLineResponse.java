@@ -0,0 +1,24 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BomExplosionLineResponse {
+
+    private Integer level;
+    private Long parentBomId;
+    private String itemType;
+    private Long itemId;
+    private String itemCode;
+    private String itemName;
+    private BigDecimal quantity;
+    private Boolean leaf;
+}
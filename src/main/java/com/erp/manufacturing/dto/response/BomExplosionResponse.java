@@ -0,0 +1,28 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BomExplosionResponse {
+
+    private Long bomId;
+    private String bomCode;
+    private String version;
+    private Long finishedGoodsId;
+    private String finishedGoodsCode;
+    private String finishedGoodsName;
+    private BigDecimal quantity;
+    private Integer maxLevel;
+
+    private List<BomExplosionLineResponse> lines;
+    private List<BomExplosionLineResponse> requirements;
+}
@@ -0,0 +1,21 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinishedGoodsReportRowResponse {
+
+    private String code;
+    private String name;
+    private String category;
+    private BigDecimal sellingPrice;
+    private BigDecimal reorderLevel;
+}
@@ -29,6 +29,7 @@ public class FinishedGoodsResponse {
     private BigDecimal mrp;
     private BigDecimal standardCost;
     private BigDecimal reorderLevel;
+    private BigDecimal minimumStockLevel;
     private BigDecimal taxPercent;
     private Integer shelfLifeDays;
     private BigDecimal weight;
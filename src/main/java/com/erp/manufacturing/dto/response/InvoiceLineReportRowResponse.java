@@ -0,0 +1,32 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceLineReportRowResponse {
+
+    private String invoiceNumber;
+    private LocalDate invoiceDate;
+    private String customerName;
+    private String productCode;
+    private String description;
+    private String hsnCode;
+    private BigDecimal quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal discountPercent;
+    private BigDecimal taxableAmount;
+    private BigDecimal cgstAmount;
+    private BigDecimal sgstAmount;
+    private BigDecimal igstAmount;
+    private BigDecimal total;
+    private String status;
+}
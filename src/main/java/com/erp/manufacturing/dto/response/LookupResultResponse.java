@@ -0,0 +1,19 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupResultResponse {
+
+    private String type;
+    private Long id;
+    private String code;
+    private String name;
+    private String detail; // unit symbol, barcode or city
+}
@@ -0,0 +1,23 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpBucketResponse {
+
+    private LocalDate bucketStart;
+    private BigDecimal grossRequirement;
+    private BigDecimal scheduledReceipts;
+    private BigDecimal projectedOnHand;
+    private BigDecimal netRequirement;
+    private BigDecimal plannedOrderReceipt;
+}
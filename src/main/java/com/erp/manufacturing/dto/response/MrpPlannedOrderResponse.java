@@ -0,0 +1,26 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpPlannedOrderResponse {
+
+    private String itemType;
+    private Long itemId;
+    private String itemCode;
+    private String itemName;
+    private BigDecimal quantity;
+    private LocalDate orderDate;
+    private LocalDate needDate;
+    private Boolean expedite;
+    private BigDecimal estimatedCost;
+}
@@ -0,0 +1,24 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpRequirementResponse {
+
+    private String itemType;
+    private Long itemId;
+    private String itemCode;
+    private String itemName;
+    private BigDecimal availableStock;
+    private BigDecimal totalNetRequirement;
+    private List<MrpBucketResponse> buckets;
+}
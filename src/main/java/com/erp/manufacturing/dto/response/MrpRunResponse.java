@@ -0,0 +1,33 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpRunResponse {
+
+    private LocalDateTime runAt;
+    private Long durationMs;
+    private LocalDate horizonStart;
+    private LocalDate horizonEnd;
+    private Integer bucketDays;
+    private List<LocalDate> buckets;
+
+    private Integer salesOrderLines;
+    private Integer workOrders;
+    private Integer itemsPlanned;
+
+    private List<MrpRequirementResponse> finishedGoodsRequirements;
+    private List<MrpRequirementResponse> rawMaterialRequirements;
+    private List<MrpPlannedOrderResponse> plannedProduction;
+    private List<MrpPlannedOrderResponse> suggestedPurchaseOrders;
+}
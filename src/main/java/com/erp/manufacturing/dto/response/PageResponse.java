@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -23,6 +24,9 @@ public class PageResponse<T> {
     private boolean last;
     private boolean empty;
 
+    // Set only in cursor mode; pass it back as ?cursor= to fetch the next page
+    private String nextCursor;
+
     public static <T> PageResponse<T> from(Page<T> page) {
         return PageResponse.<T>builder()
                 .content(page.getContent())
@@ -62,5 +66,19 @@ public class PageResponse<T> {
                 .empty(page.isEmpty())
                 .build();
     }
-}
 
+    // Cursor mode: no count query is run, so totals are reported as -1
+    public static <T, R> PageResponse<R> from(Window<T> window, List<R> content, boolean first, String nextCursor) {
+        return PageResponse.<R>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(content.size())
+                .totalElements(-1)
+                .totalPages(-1)
+                .first(first)
+                .last(!window.hasNext())
+                .empty(window.isEmpty())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.erp.manufacturing.dto.response;
+
+import com.erp.manufacturing.enums.WorkOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionReportRowResponse {
+
+    private String workOrderNo;
+    private String productName;
+    private BigDecimal plannedQty;
+    private BigDecimal completedQty;
+    private WorkOrderStatus status;
+    private double completionPercent;
+
+    // Projection constructor; the percentage matches WorkOrder.getCompletionPercentage()
+    public ProductionReportRowResponse(String workOrderNo, String productName, BigDecimal plannedQty,
+                                       BigDecimal completedQty, WorkOrderStatus status) {
+        this.workOrderNo = workOrderNo;
+        this.productName = productName;
+        this.plannedQty = plannedQty;
+        this.completedQty = completedQty;
+        this.status = status;
+        this.completionPercent = plannedQty == null || completedQty == null || plannedQty.compareTo(BigDecimal.ZERO) == 0
+                ? 0
+                : completedQty.divide(plannedQty, 4, RoundingMode.HALF_UP).multiply(new BigDecimal("100")).doubleValue();
+    }
+}
@@ -0,0 +1,23 @@
+package com.erp.manufacturing.dto.response;
+
+import com.erp.manufacturing.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseReportRowResponse {
+
+    private String orderNumber;
+    private String supplierName;
+    private LocalDate orderDate;
+    private BigDecimal total;
+    private OrderStatus status;
+}
@@ -22,6 +22,7 @@ public class RawMaterialResponse {
     private UnitInfo unit;
     private String hsnCode;
     private BigDecimal reorderLevel;
+    private BigDecimal minimumStockLevel;
     private BigDecimal reorderQuantity;
     private BigDecimal minimumOrderQuantity;
     private Integer leadTimeDays;
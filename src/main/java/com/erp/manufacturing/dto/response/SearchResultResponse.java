@@ -0,0 +1,20 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultResponse {
+
+    private String type;
+    private Long id;
+    private String code;
+    private String title;
+    private String subtitle;
+    private double score;
+}
@@ -0,0 +1,18 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockPostingResultResponse {
+
+    private int postings;
+    private int transactionsWritten;
+    private int stockRowsUpdated;
+    private int stockRowsCreated;
+}
@@ -0,0 +1,25 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSummaryResponse {
+
+    private String itemType;
+    private Long itemId;
+    private Long warehouseId;
+    private String warehouseName;
+    private BigDecimal quantity;
+    private BigDecimal reservedQuantity;
+    private BigDecimal availableQuantity;
+    private LocalDateTime updatedAt;
+}
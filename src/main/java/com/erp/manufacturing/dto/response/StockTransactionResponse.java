@@ -0,0 +1,33 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTransactionResponse {
+
+    private Long id;
+    private String itemType;
+    private Long itemId;
+    private Long warehouseId;
+    private String warehouseName;
+    private String transactionType;
+    private BigDecimal quantity;
+    private BigDecimal unitCost;
+    private BigDecimal totalCost;
+    private String batchNo;
+    private String referenceType;
+    private Long referenceId;
+    private String referenceNo;
+    private String notes;
+    private LocalDateTime transactionDate;
+    private Long createdBy;
+}
@@ -0,0 +1,30 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhereUsedEntryResponse {
+
+    private Integer level;
+    private Long bomId;
+    private String bomCode;
+    private String version;
+    private Boolean isActive;
+
+    private Long finishedGoodsId;
+    private String finishedGoodsCode;
+    private String finishedGoodsName;
+
+    private String componentType;
+    private Long componentId;
+    private BigDecimal quantity;
+    private BigDecimal wastagePercent;
+}
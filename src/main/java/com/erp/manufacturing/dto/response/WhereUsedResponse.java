@@ -0,0 +1,24 @@
+package com.erp.manufacturing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhereUsedResponse {
+
+    private String itemType;
+    private Long itemId;
+    private String itemCode;
+    private String itemName;
+    private Integer maxLevel;
+
+    private List<WhereUsedEntryResponse> usages;
+    private List<WhereUsedFinishedGoodsResponse> finishedGoods;
+}
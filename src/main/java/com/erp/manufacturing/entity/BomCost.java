@@ -0,0 +1,42 @@
+package com.erp.manufacturing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bom_costs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BomCost {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bom_header_id", nullable = false, unique = true)
+    private BomHeader bomHeader;
+
+    @Column(name = "material_cost", nullable = false, precision = 18, scale = 4)
+    @Builder.Default
+    private BigDecimal materialCost = BigDecimal.ZERO;
+
+    @Column(name = "unit_cost", nullable = false, precision = 18, scale = 4)
+    @Builder.Default
+    private BigDecimal unitCost = BigDecimal.ZERO;
+
+    @Column(name = "calculated_at")
+    private LocalDateTime calculatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        calculatedAt = LocalDateTime.now();
+    }
+}
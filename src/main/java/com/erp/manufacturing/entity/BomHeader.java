@@ -2,6 +2,7 @@ package com.erp.manufacturing.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -64,6 +65,7 @@ public class BomHeader extends BaseEntity {
     @OneToMany(mappedBy = "bomHeader", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @OrderBy("sequenceNo ASC")
+    @BatchSize(size = 50)
     private List<BomDetail> details = new ArrayList<>();
 
     public void addDetail(BomDetail detail) {
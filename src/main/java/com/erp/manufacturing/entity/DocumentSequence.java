@@ -0,0 +1,53 @@
+package com.erp.manufacturing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sequence_generators")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentSequence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sequence_type", nullable = false, unique = true, length = 50)
+    private String sequenceType;
+
+    @Column(length = 10)
+    private String prefix;
+
+    @Column(length = 10)
+    private String suffix;
+
+    @Column(name = "current_value")
+    @Builder.Default
+    private Long currentValue = 0L;
+
+    @Column(name = "padding_length")
+    @Builder.Default
+    private Integer paddingLength = 6;
+
+    @Column(name = "fiscal_year", length = 10)
+    private String fiscalYear;
+
+    @Column(name = "reset_on_fiscal_year")
+    @Builder.Default
+    private Boolean resetOnFiscalYear = false;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
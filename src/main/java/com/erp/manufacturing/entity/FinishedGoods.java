@@ -55,6 +55,10 @@ public class FinishedGoods extends BaseEntity {
     @Builder.Default
     private BigDecimal reorderLevel = BigDecimal.ZERO;
 
+    // Available stock at or below this level is critical
+    @Column(name = "minimum_stock_level", precision = 15, scale = 3)
+    private BigDecimal minimumStockLevel;
+
     @Column(name = "tax_percent", precision = 5, scale = 2)
     @Builder.Default
     private BigDecimal taxPercent = new BigDecimal("18");
@@ -0,0 +1,70 @@
+package com.erp.manufacturing.entity;
+
+import com.erp.manufacturing.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Ledger rows are append-only and written in JDBC batches by the stock ledger
+@Entity
+@Table(name = "finished_goods_transactions")
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FinishedGoodsTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "finished_goods_id", nullable = false)
+    private FinishedGoods finishedGoods;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 30)
+    private TransactionType transactionType;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal quantity;
+
+    @Column(name = "unit_cost", precision = 15, scale = 4)
+    private BigDecimal unitCost;
+
+    @Column(name = "total_cost", precision = 15, scale = 4)
+    private BigDecimal totalCost;
+
+    @Column(name = "batch_no", length = 50)
+    private String batchNo;
+
+    @Column(name = "reference_type", length = 30)
+    private String referenceType;
+
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @Column(name = "reference_no", length = 50)
+    private String referenceNo;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
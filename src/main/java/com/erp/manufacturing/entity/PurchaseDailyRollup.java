@@ -0,0 +1,57 @@
+package com.erp.manufacturing.entity;
+
+import com.erp.manufacturing.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Order totals per day, supplier, raw material and status; maintained from order lifecycle changes
+@Entity
+@Table(name = "purchase_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_purchase_daily_rollups_key",
+               columnNames = {"rollup_date", "supplier_id", "raw_material_id", "status"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseDailyRollup {
+
+    public static final long WHOLE_ORDER = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "supplier_id", nullable = false)
+    private Long supplierId;
+
+    // WHOLE_ORDER for the order header totals (grand total incl. tax, discount and shipping)
+    @Column(name = "raw_material_id", nullable = false)
+    private Long rawMaterialId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    @Builder.Default
+    private Long orderCount = 0L;
+
+    @Column(nullable = false, precision = 18, scale = 3)
+    @Builder.Default
+    private BigDecimal quantity = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    @Builder.Default
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -42,6 +42,10 @@ public class RawMaterial extends BaseEntity {
     @Builder.Default
     private BigDecimal reorderLevel = BigDecimal.ZERO;
 
+    // Available stock at or below this level is critical
+    @Column(name = "minimum_stock_level", precision = 15, scale = 3)
+    private BigDecimal minimumStockLevel;
+
     @Column(name = "reorder_quantity", precision = 15, scale = 3)
     @Builder.Default
     private BigDecimal reorderQuantity = BigDecimal.ZERO;
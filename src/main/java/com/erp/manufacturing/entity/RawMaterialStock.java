@@ -57,6 +57,9 @@ public class RawMaterialStock {
     @Builder.Default
     private BigDecimal unitCost = BigDecimal.ZERO;
 
+    @Version
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
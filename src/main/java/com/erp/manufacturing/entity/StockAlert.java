@@ -0,0 +1,50 @@
+package com.erp.manufacturing.entity;
+
+import com.erp.manufacturing.enums.StockAlertLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One row per item currently at or below its reorder level; maintained from stock summary changes
+@Entity
+@Table(name = "stock_alerts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_alerts_item", columnNames = {"item_type", "item_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_type", nullable = false, length = 20)
+    private String itemType; // RAW_MATERIAL, FINISHED_GOODS
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_level", nullable = false, length = 20)
+    private StockAlertLevel alertLevel;
+
+    @Column(name = "available_quantity", nullable = false, precision = 15, scale = 3)
+    private BigDecimal availableQuantity;
+
+    @Column(name = "reorder_level", precision = 15, scale = 3)
+    private BigDecimal reorderLevel;
+
+    @Column(name = "minimum_stock_level", precision = 15, scale = 3)
+    private BigDecimal minimumStockLevel;
+
+    // Reset whenever the alert level changes
+    @Column(name = "raised_at", nullable = false)
+    private LocalDateTime raisedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.erp.manufacturing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_reservations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_type", nullable = false, length = 20)
+    private String itemType; // RAW_MATERIAL, FINISHED_GOODS
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    // Row in raw_material_stock or finished_goods_stock, depending on itemType
+    @Column(name = "stock_id", nullable = false)
+    private Long stockId;
+
+    @Column(name = "batch_no", length = 50)
+    private String batchNo;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal quantity;
+
+    @Column(name = "reference_type", nullable = false, length = 30)
+    private String referenceType; // SALES_ORDER, WORK_ORDER
+
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId;
+
+    @Column(name = "reference_no", length = 50)
+    private String referenceNo;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
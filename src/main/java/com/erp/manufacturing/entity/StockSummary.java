@@ -0,0 +1,51 @@
+package com.erp.manufacturing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_summaries_item_warehouse",
+               columnNames = {"item_type", "item_id", "warehouse_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSummary {
+
+    public static final long ALL_WAREHOUSES = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_type", nullable = false, length = 20)
+    private String itemType; // RAW_MATERIAL, FINISHED_GOODS
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    // ALL_WAREHOUSES for the item total
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    @Builder.Default
+    private BigDecimal quantity = BigDecimal.ZERO;
+
+    @Column(name = "reserved_quantity", nullable = false, precision = 15, scale = 3)
+    @Builder.Default
+    private BigDecimal reservedQuantity = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Transient
+    public BigDecimal getAvailableQuantity() {
+        return quantity.subtract(reservedQuantity);
+    }
+}
@@ -50,6 +50,11 @@ public class User extends BaseEntity {
     @Column(name = "password_changed_at")
     private LocalDateTime passwordChangedAt;
 
+    // Bumped whenever tokens issued so far must stop authenticating
+    @Column(name = "token_epoch", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    private Integer tokenEpoch = 0;
+
     public String getFullName() {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
@@ -0,0 +1,30 @@
+package com.erp.manufacturing.enums;
+
+public enum ChartMetric {
+    SALES("Sales", "#1976d2", "rgba(25, 118, 210, 0.1)"),
+    PURCHASES("Purchases", "#7b1fa2", "rgba(123, 31, 162, 0.1)"),
+    PRODUCTION_OUTPUT("Production Output", "#388e3c", "rgba(56, 142, 60, 0.1)"),
+    RECEIVABLES("Receivables", "#f57c00", "rgba(245, 124, 0, 0.1)");
+
+    private final String label;
+    private final String borderColor;
+    private final String backgroundColor;
+
+    ChartMetric(String label, String borderColor, String backgroundColor) {
+        this.label = label;
+        this.borderColor = borderColor;
+        this.backgroundColor = backgroundColor;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getBorderColor() {
+        return borderColor;
+    }
+
+    public String getBackgroundColor() {
+        return backgroundColor;
+    }
+}
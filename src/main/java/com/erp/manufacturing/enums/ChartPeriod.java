@@ -0,0 +1,66 @@
+package com.erp.manufacturing.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public enum ChartPeriod {
+    DAY(30),
+    WEEK(12),
+    MONTH(12),
+    QUARTER(8);
+
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("dd MMM", Locale.ENGLISH);
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    private final int bucketCount;
+
+    ChartPeriod(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    // First day of the bucket containing the date; weeks start on Monday
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> date.withDayOfMonth(1).withMonth((date.getMonthValue() - 1) / 3 * 3 + 1);
+        };
+    }
+
+    public LocalDate plus(LocalDate bucketStart, long buckets) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(buckets);
+            case WEEK -> bucketStart.plusWeeks(buckets);
+            case MONTH -> bucketStart.plusMonths(buckets);
+            case QUARTER -> bucketStart.plusMonths(3 * buckets);
+        };
+    }
+
+    // Start dates of the trailing buckets, oldest first, ending with the bucket that contains the date
+    public List<LocalDate> bucketsEndingAt(LocalDate date) {
+        LocalDate first = plus(truncate(date), 1L - bucketCount);
+        List<LocalDate> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(plus(first, i));
+        }
+        return buckets;
+    }
+
+    public String label(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY, WEEK -> DAY_LABEL.format(bucketStart);
+            case MONTH -> MONTH_LABEL.format(bucketStart);
+            case QUARTER -> "Q" + ((bucketStart.getMonthValue() - 1) / 3 + 1) + " " + bucketStart.getYear();
+        };
+    }
+}
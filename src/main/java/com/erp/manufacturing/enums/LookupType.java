@@ -0,0 +1,8 @@
+package com.erp.manufacturing.enums;
+
+public enum LookupType {
+    RAW_MATERIAL,
+    FINISHED_GOODS,
+    CUSTOMER,
+    SUPPLIER
+}
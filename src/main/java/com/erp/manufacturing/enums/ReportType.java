@@ -0,0 +1,27 @@
+package com.erp.manufacturing.enums;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+public enum ReportType {
+    SALES(true),
+    PURCHASE(true),
+    PRODUCTION(true),
+    INVENTORY(false),
+    INVOICE_LINES(true);
+
+    private final boolean dateRange;
+
+    ReportType(boolean dateRange) {
+        this.dateRange = dateRange;
+    }
+
+    public boolean isDateRange() {
+        return dateRange;
+    }
+
+    public String fileName(ExportFormat format, LocalDate startDate, LocalDate endDate) {
+        return name().toLowerCase(Locale.ROOT) + "_report"
+                + (dateRange ? "_" + startDate + "_" + endDate : "") + "." + format.getExtension();
+    }
+}
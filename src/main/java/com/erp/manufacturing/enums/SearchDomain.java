@@ -0,0 +1,109 @@
+package com.erp.manufacturing.enums;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Searchable document types: the row source plus the columns shown and matched for each
+public enum SearchDomain {
+    RAW_MATERIAL("raw_materials t", "t.is_deleted = false",
+            "t.code", "t.name", "t.description", List.of("t.name", "t.code", "t.description")),
+    FINISHED_GOODS("finished_goods t", "t.is_deleted = false",
+            "t.code", "t.name", "t.barcode", List.of("t.name", "t.code", "t.barcode", "t.description")),
+    CUSTOMER("customers t", "t.is_deleted = false",
+            "t.code", "t.name", "t.contact_person", List.of("t.name", "t.code", "t.contact_person", "t.email")),
+    SUPPLIER("suppliers t", "t.is_deleted = false",
+            "t.code", "t.name", "t.contact_person", List.of("t.name", "t.code", "t.contact_person", "t.email")),
+    WAREHOUSE("warehouses t", "t.is_deleted = false",
+            "t.code", "t.name", "t.city", List.of("t.name", "t.code", "t.city")),
+    SALES_ORDER("sales_orders t", "t.is_deleted = false",
+            "t.so_number", "t.so_number", "p.name", List.of("t.so_number"),
+            "customers p", "t.customer_id", List.of("p.name")),
+    PURCHASE_ORDER("purchase_orders t", "t.is_deleted = false",
+            "t.po_number", "t.po_number", "p.name", List.of("t.po_number"),
+            "suppliers p", "t.supplier_id", List.of("p.name")),
+    WORK_ORDER("work_orders t", "t.is_deleted = false",
+            "t.work_order_no", "t.work_order_no", "p.name", List.of("t.work_order_no"),
+            "finished_goods p", "t.finished_goods_id", List.of("p.name", "p.code")),
+    INVOICE("invoices t", "t.is_deleted = false",
+            "t.invoice_number", "t.invoice_number", "p.name", List.of("t.invoice_number"),
+            "customers p", "t.customer_id", List.of("p.name"));
+
+    private final String table;
+    private final String where;
+    private final String codeColumn;
+    private final String titleColumn;
+    private final String subtitleColumn;
+    private final List<String> ownColumns;
+    // Documents are also found by their party (customer, supplier or product), joined as p
+    private final String partyTable;
+    private final String partyKey;
+    private final List<String> partyColumns;
+
+    SearchDomain(String table, String where, String codeColumn, String titleColumn, String subtitleColumn,
+                 List<String> ownColumns) {
+        this(table, where, codeColumn, titleColumn, subtitleColumn, ownColumns, null, null, List.of());
+    }
+
+    SearchDomain(String table, String where, String codeColumn, String titleColumn, String subtitleColumn,
+                 List<String> ownColumns, String partyTable, String partyKey, List<String> partyColumns) {
+        this.table = table;
+        this.where = where;
+        this.codeColumn = codeColumn;
+        this.titleColumn = titleColumn;
+        this.subtitleColumn = subtitleColumn;
+        this.ownColumns = ownColumns;
+        this.partyTable = partyTable;
+        this.partyKey = partyKey;
+        this.partyColumns = partyColumns;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getFrom() {
+        return hasParty() ? table + " JOIN " + partyTable + " ON p.id = " + partyKey : table;
+    }
+
+    public String getWhere() {
+        return where;
+    }
+
+    public String getCodeColumn() {
+        return codeColumn;
+    }
+
+    public String getTitleColumn() {
+        return titleColumn;
+    }
+
+    public String getSubtitleColumn() {
+        return subtitleColumn;
+    }
+
+    public List<String> getOwnColumns() {
+        return ownColumns;
+    }
+
+    public boolean hasParty() {
+        return partyTable != null;
+    }
+
+    public String getPartyTable() {
+        return partyTable;
+    }
+
+    public String getPartyKey() {
+        return partyKey;
+    }
+
+    public List<String> getPartyColumns() {
+        return partyColumns;
+    }
+
+    public List<String> getSearchColumns() {
+        List<String> columns = new ArrayList<>(ownColumns);
+        columns.addAll(partyColumns);
+        return columns;
+    }
+}
@@ -0,0 +1,22 @@
+package com.erp.manufacturing.enums;
+
+public enum SequenceType {
+    PURCHASE_ORDER("PO"),
+    SALES_ORDER("SO"),
+    WORK_ORDER("WO"),
+    DELIVERY_CHALLAN("DC"),
+    INVOICE("INV"),
+    GRN("GRN"),
+    PAYMENT("PAY"),
+    CREDIT_NOTE("CN");
+
+    private final String defaultPrefix;
+
+    SequenceType(String defaultPrefix) {
+        this.defaultPrefix = defaultPrefix;
+    }
+
+    public String getDefaultPrefix() {
+        return defaultPrefix;
+    }
+}
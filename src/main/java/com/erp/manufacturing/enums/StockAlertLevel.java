@@ -0,0 +1,6 @@
+package com.erp.manufacturing.enums;
+
+public enum StockAlertLevel {
+    CRITICAL,
+    LOW
+}
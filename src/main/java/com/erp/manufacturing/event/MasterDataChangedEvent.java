@@ -0,0 +1,16 @@
+package com.erp.manufacturing.event;
+
+import com.erp.manufacturing.enums.LookupType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by the master data services after a create, update, activation change or delete
+@Getter
+@AllArgsConstructor
+@ToString
+public class MasterDataChangedEvent {
+
+    private final LookupType type;
+    private final Long id;
+}
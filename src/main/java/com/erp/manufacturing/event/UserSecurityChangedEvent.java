@@ -0,0 +1,14 @@
+package com.erp.manufacturing.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published when a user's role, activation, password or existence changes
+@Getter
+@AllArgsConstructor
+@ToString
+public class UserSecurityChangedEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,32 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.BomCost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BomCostRepository extends JpaRepository<BomCost, Long> {
+
+    Optional<BomCost> findByBomHeaderId(Long bomHeaderId);
+
+    List<BomCost> findByBomHeaderIdIn(Collection<Long> bomHeaderIds);
+
+    @Query("SELECT h.finishedGoods.id, c.unitCost FROM BomCost c JOIN c.bomHeader h " +
+           "WHERE h.finishedGoods.id IN :finishedGoodsIds AND h.isActive = true AND h.isDeleted = false")
+    List<Object[]> findActiveUnitCostsByFinishedGoodsIds(@Param("finishedGoodsIds") Collection<Long> finishedGoodsIds);
+
+    @Query("SELECT c FROM BomCost c JOIN FETCH c.bomHeader h JOIN FETCH h.finishedGoods " +
+           "WHERE h.isDeleted = false ORDER BY h.bomCode")
+    List<BomCost> findAllWithBom();
+
+    @Modifying
+    @Query("DELETE FROM BomCost c WHERE c.bomHeader.id = :bomHeaderId")
+    void deleteByBomHeaderId(@Param("bomHeaderId") Long bomHeaderId);
+}
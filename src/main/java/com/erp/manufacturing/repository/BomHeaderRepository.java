@@ -4,15 +4,17 @@ import com.erp.manufacturing.entity.BomHeader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BomHeaderRepository extends JpaRepository<BomHeader, Long> {
+public interface BomHeaderRepository extends JpaRepository<BomHeader, Long>, JpaSpecificationExecutor<BomHeader> {
 
     Optional<BomHeader> findByBomCode(String bomCode);
 
@@ -25,13 +27,25 @@ public interface BomHeaderRepository extends JpaRepository<BomHeader, Long> {
 
     @Query("SELECT b FROM BomHeader b WHERE " +
            "LOWER(b.bomCode) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(b.finishedGoods.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(b.finishedGoods.code) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "b.finishedGoods.id IN (SELECT fg.id FROM FinishedGoods fg WHERE " +
+           "LOWER(fg.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(fg.code) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<BomHeader> search(@Param("search") String search, Pageable pageable);
 
     @Query("SELECT b FROM BomHeader b WHERE b.isActive = true")
     List<BomHeader> findAllActive();
 
     Page<BomHeader> findByIsActive(Boolean isActive, Pageable pageable);
+
+    @Query("SELECT DISTINCT h.id FROM BomDetail d JOIN d.bomHeader h " +
+           "WHERE d.itemType = :itemType AND d.itemId = :itemId AND h.isDeleted = false")
+    List<Long> findIdsByItem(@Param("itemType") String itemType, @Param("itemId") Long itemId);
+
+    @Query("SELECT h.id, h.bomCode, h.version, h.isActive, fg.id, fg.code, fg.name, " +
+           "d.itemId, d.quantity, d.wastagePercent " +
+           "FROM BomDetail d JOIN d.bomHeader h JOIN h.finishedGoods fg " +
+           "WHERE d.itemType = :itemType AND d.itemId IN :itemIds AND h.isDeleted = false " +
+           "ORDER BY h.bomCode")
+    List<Object[]> findUsagesByItems(@Param("itemType") String itemType, @Param("itemIds") Collection<Long> itemIds);
 }
 
@@ -4,6 +4,7 @@ import com.erp.manufacturing.entity.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,7 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
 
     Optional<Customer> findByCode(String code);
 
@@ -38,5 +39,8 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findByIsActiveTrue();
 
     List<Customer> findByCustomerType(String customerType);
-}
 
+    @Query("SELECT c.id, c.code, c.name, c.billingCity FROM Customer c " +
+           "WHERE c.isActive = true AND (:id IS NULL OR c.id = :id)")
+    List<Object[]> findLookupRows(@Param("id") Long id);
+}
@@ -0,0 +1,21 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.DocumentSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DocumentSequenceRepository extends JpaRepository<DocumentSequence, Long> {
+
+    Optional<DocumentSequence> findBySequenceType(String sequenceType);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DocumentSequence s WHERE s.sequenceType = :sequenceType")
+    Optional<DocumentSequence> findForUpdate(@Param("sequenceType") String sequenceType);
+}
@@ -1,18 +1,25 @@
 package com.erp.manufacturing.repository;
 
+import com.erp.manufacturing.dto.response.FinishedGoodsReportRowResponse;
 import com.erp.manufacturing.entity.FinishedGoods;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FinishedGoodsRepository extends JpaRepository<FinishedGoods, Long> {
+public interface FinishedGoodsRepository extends JpaRepository<FinishedGoods, Long>, JpaSpecificationExecutor<FinishedGoods> {
 
     Optional<FinishedGoods> findByCode(String code);
 
@@ -39,13 +46,25 @@ public interface FinishedGoodsRepository extends JpaRepository<FinishedGoods, Lo
     @Query("SELECT fg FROM FinishedGoods fg WHERE fg.isActive = true")
     List<FinishedGoods> findAllActive();
 
-    @Query("SELECT fg FROM FinishedGoods fg JOIN FinishedGoodsStock fgs ON fg.id = fgs.finishedGoods.id " +
-           "WHERE fgs.quantity <= fg.reorderLevel AND fg.isActive = true")
+    @Query("SELECT fg FROM FinishedGoods fg JOIN StockAlert a ON a.itemId = fg.id AND a.itemType = 'FINISHED_GOODS' " +
+           "ORDER BY a.alertLevel, fg.name")
     List<FinishedGoods> findLowStockItems();
 
+    @Query("SELECT fg FROM FinishedGoods fg LEFT JOIN FETCH fg.unit WHERE fg.id IN :ids")
+    List<FinishedGoods> findAllWithUnitByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(fg) FROM FinishedGoods fg WHERE fg.isActive = true")
     long countActive();
 
     List<FinishedGoods> findByIsActiveTrue();
-}
 
+    @Query("SELECT fg.id, fg.code, fg.name, fg.barcode FROM FinishedGoods fg " +
+           "WHERE fg.isActive = true AND (:id IS NULL OR fg.id = :id)")
+    List<Object[]> findLookupRows(@Param("id") Long id);
+
+    @Query("SELECT new com.erp.manufacturing.dto.response.FinishedGoodsReportRowResponse(fg.code, fg.name, COALESCE(c.name, ''), fg.sellingPrice, fg.reorderLevel) " +
+           "FROM FinishedGoods fg LEFT JOIN fg.category c ORDER BY fg.code")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<FinishedGoodsReportRowResponse> streamInventoryReport();
+}
@@ -0,0 +1,44 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.FinishedGoodsStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface FinishedGoodsStockRepository extends JpaRepository<FinishedGoodsStock, Long> {
+
+    List<FinishedGoodsStock> findByFinishedGoodsId(Long finishedGoodsId);
+
+    List<FinishedGoodsStock> findByFinishedGoodsIdAndWarehouseId(Long finishedGoodsId, Long warehouseId);
+
+    @Query("SELECT SUM(s.quantity) FROM FinishedGoodsStock s WHERE s.finishedGoods.id = :finishedGoodsId")
+    BigDecimal getTotalStockQuantity(@Param("finishedGoodsId") Long finishedGoodsId);
+
+    @Query("SELECT SUM(s.quantity - s.reservedQuantity) FROM FinishedGoodsStock s WHERE s.finishedGoods.id = :finishedGoodsId")
+    BigDecimal getAvailableStockQuantity(@Param("finishedGoodsId") Long finishedGoodsId);
+
+    @Query("SELECT s.finishedGoods.id, SUM(s.quantity - s.reservedQuantity) FROM FinishedGoodsStock s GROUP BY s.finishedGoods.id")
+    List<Object[]> getAvailableStockByFinishedGoods();
+
+    // Scalar rows are always read fresh from the database, never from the persistence context
+    @Query("SELECT s.id, s.version, s.quantity - s.reservedQuantity, s.batchNo FROM FinishedGoodsStock s " +
+           "WHERE s.finishedGoods.id = :finishedGoodsId AND s.warehouse.id = :warehouseId AND (s.quantity - s.reservedQuantity) > 0 " +
+           "ORDER BY s.expiryDate ASC NULLS LAST, s.createdAt ASC, s.id ASC")
+    List<Object[]> findAvailableLotsFIFO(@Param("finishedGoodsId") Long finishedGoodsId, @Param("warehouseId") Long warehouseId);
+
+    @Modifying
+    @Query("UPDATE FinishedGoodsStock s SET s.reservedQuantity = s.reservedQuantity + :quantity, s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.version = :version AND (s.quantity - s.reservedQuantity) >= :quantity")
+    int reserve(@Param("id") Long id, @Param("version") Long version, @Param("quantity") BigDecimal quantity);
+
+    @Modifying
+    @Query("UPDATE FinishedGoodsStock s SET s.reservedQuantity = CASE WHEN s.reservedQuantity > :quantity " +
+           "THEN s.reservedQuantity - :quantity ELSE 0 END, s.version = s.version + 1 WHERE s.id = :id")
+    int release(@Param("id") Long id, @Param("quantity") BigDecimal quantity);
+}
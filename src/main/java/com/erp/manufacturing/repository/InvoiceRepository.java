@@ -1,11 +1,16 @@
 package com.erp.manufacturing.repository;
 
+import com.erp.manufacturing.dto.response.InvoiceLineReportRowResponse;
 import com.erp.manufacturing.entity.Invoice;
 import com.erp.manufacturing.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,9 +18,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
 
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 
@@ -27,7 +33,7 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
     @Query("SELECT i FROM Invoice i WHERE " +
            "LOWER(i.invoiceNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(i.customer.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "i.customer.id IN (SELECT c.id FROM Customer c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Invoice> search(@Param("search") String search, Pageable pageable);
 
     @Query("SELECT i FROM Invoice i WHERE i.paymentStatus IN ('UNPAID', 'PARTIALLY_PAID') ORDER BY i.dueDate ASC")
@@ -45,9 +51,22 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     @Query("SELECT SUM(i.grandTotal - i.paidAmount) FROM Invoice i WHERE i.paymentStatus IN ('UNPAID', 'PARTIALLY_PAID') AND i.status NOT IN ('DRAFT', 'CANCELLED')")
     BigDecimal getTotalOutstandingAmount();
 
+    @Query("SELECT i.invoiceDate, SUM(i.grandTotal - i.paidAmount) FROM Invoice i WHERE i.invoiceDate BETWEEN :startDate AND :endDate " +
+           "AND i.paymentStatus IN ('UNPAID', 'PARTIALLY_PAID') AND i.status NOT IN ('DRAFT', 'CANCELLED') GROUP BY i.invoiceDate")
+    List<Object[]> getDailyOutstandingAmount(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     @Query("SELECT COUNT(i) FROM Invoice i WHERE i.paymentStatus = :paymentStatus")
     long countByPaymentStatus(@Param("paymentStatus") PaymentStatus paymentStatus);
 
     List<Invoice> findByDeliveryChallanId(Long challanId);
-}
 
+    @Query("SELECT new com.erp.manufacturing.dto.response.InvoiceLineReportRowResponse(i.invoiceNumber, i.invoiceDate, c.name, " +
+           "fg.code, ii.description, ii.hsnCode, ii.quantity, ii.unitPrice, ii.discountPercent, ii.taxableAmount, " +
+           "ii.cgstAmount, ii.sgstAmount, ii.igstAmount, ii.total, i.status) " +
+           "FROM InvoiceItem ii JOIN ii.invoice i LEFT JOIN i.customer c LEFT JOIN ii.finishedGoods fg " +
+           "WHERE i.isDeleted = false AND i.invoiceDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY i.invoiceDate, i.id, ii.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<InvoiceLineReportRowResponse> streamInvoiceLineReport(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -1,20 +1,34 @@
 package com.erp.manufacturing.repository;
 
+import com.erp.manufacturing.dto.response.PurchaseReportRowResponse;
 import com.erp.manufacturing.entity.PurchaseOrder;
 import com.erp.manufacturing.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long>, JpaSpecificationExecutor<PurchaseOrder> {
+
+    // Status changes lock the row first: each one removes the state it read from the daily rollups, so two
+    // concurrent transitions must not both start from the same state
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.id = :id")
+    Optional<PurchaseOrder> findByIdForUpdate(@Param("id") Long id);
 
     Optional<PurchaseOrder> findByPoNumber(String poNumber);
 
@@ -26,7 +40,7 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
     @Query("SELECT po FROM PurchaseOrder po WHERE " +
            "LOWER(po.poNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(po.supplier.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "po.supplier.id IN (SELECT s.id FROM Supplier s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<PurchaseOrder> search(@Param("search") String search, Pageable pageable);
 
     @Query("SELECT po FROM PurchaseOrder po WHERE po.status IN :statuses")
@@ -46,5 +60,16 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
     @Query("SELECT SUM(po.grandTotal) FROM PurchaseOrder po WHERE po.orderDate BETWEEN :startDate AND :endDate AND po.status NOT IN ('DRAFT', 'CANCELLED')")
     java.math.BigDecimal getTotalPurchaseValue(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
 
+    @Query("SELECT i.rawMaterial.id, COALESCE(i.expectedDate, po.expectedDate, po.orderDate), i.quantity - i.receivedQuantity " +
+           "FROM PurchaseOrderItem i JOIN i.purchaseOrder po " +
+           "WHERE po.status IN :statuses AND po.isDeleted = false AND i.quantity > i.receivedQuantity")
+    List<Object[]> findOpenSupply(@Param("statuses") List<OrderStatus> statuses);
+
+    @Query("SELECT new com.erp.manufacturing.dto.response.PurchaseReportRowResponse(po.poNumber, s.name, po.orderDate, po.grandTotal, po.status) " +
+           "FROM PurchaseOrder po LEFT JOIN po.supplier s " +
+           "WHERE po.orderDate BETWEEN :startDate AND :endDate ORDER BY po.orderDate, po.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<PurchaseReportRowResponse> streamPurchaseReport(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
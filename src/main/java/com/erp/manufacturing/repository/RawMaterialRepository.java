@@ -1,18 +1,25 @@
 package com.erp.manufacturing.repository;
 
+import com.erp.manufacturing.dto.response.RawMaterialReportRowResponse;
 import com.erp.manufacturing.entity.RawMaterial;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long> {
+public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>, JpaSpecificationExecutor<RawMaterial> {
 
     Optional<RawMaterial> findByCode(String code);
 
@@ -34,11 +41,27 @@ public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>
     @Query("SELECT rm FROM RawMaterial rm WHERE rm.isActive = true")
     List<RawMaterial> findAllActive();
 
-    @Query("SELECT rm FROM RawMaterial rm JOIN RawMaterialStock rms ON rm.id = rms.rawMaterial.id " +
-           "WHERE rms.quantity <= rm.reorderLevel AND rm.isActive = true")
+    @Query("SELECT rm FROM RawMaterial rm JOIN StockAlert a ON a.itemId = rm.id AND a.itemType = 'RAW_MATERIAL' " +
+           "ORDER BY a.alertLevel, rm.name")
     List<RawMaterial> findLowStockItems();
 
+    @Query("SELECT rm FROM RawMaterial rm LEFT JOIN FETCH rm.unit WHERE rm.id IN :ids")
+    List<RawMaterial> findAllWithUnitByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(rm) FROM RawMaterial rm WHERE rm.isActive = true")
     long countActive();
-}
 
+    @Query("SELECT rm.id, rm.code, rm.name, rm.leadTimeDays, rm.minimumOrderQuantity, rm.standardCost " +
+           "FROM RawMaterial rm WHERE rm.id IN :ids")
+    List<Object[]> findPlanningAttributes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT rm.id, rm.code, rm.name, u.symbol FROM RawMaterial rm LEFT JOIN rm.unit u " +
+           "WHERE rm.isActive = true AND (:id IS NULL OR rm.id = :id)")
+    List<Object[]> findLookupRows(@Param("id") Long id);
+
+    @Query("SELECT new com.erp.manufacturing.dto.response.RawMaterialReportRowResponse(rm.code, rm.name, COALESCE(c.name, ''), rm.reorderLevel, rm.standardCost) " +
+           "FROM RawMaterial rm LEFT JOIN rm.category c ORDER BY rm.code")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<RawMaterialReportRowResponse> streamInventoryReport();
+}
@@ -2,6 +2,7 @@ package com.erp.manufacturing.repository;
 
 import com.erp.manufacturing.entity.RawMaterialStock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,5 +43,23 @@ public interface RawMaterialStockRepository extends JpaRepository<RawMaterialSto
 
     @Query("SELECT s FROM RawMaterialStock s WHERE s.quantity <= s.rawMaterial.reorderLevel")
     List<RawMaterialStock> findLowStockItems();
-}
 
+    @Query("SELECT s.rawMaterial.id, SUM(s.quantity - s.reservedQuantity) FROM RawMaterialStock s GROUP BY s.rawMaterial.id")
+    List<Object[]> getAvailableStockByRawMaterial();
+
+    // Scalar rows are always read fresh from the database, never from the persistence context
+    @Query("SELECT s.id, s.version, s.quantity - s.reservedQuantity, s.batchNo FROM RawMaterialStock s " +
+           "WHERE s.rawMaterial.id = :rawMaterialId AND s.warehouse.id = :warehouseId AND (s.quantity - s.reservedQuantity) > 0 " +
+           "ORDER BY s.expiryDate ASC NULLS LAST, s.createdAt ASC, s.id ASC")
+    List<Object[]> findAvailableLotsFIFO(@Param("rawMaterialId") Long rawMaterialId, @Param("warehouseId") Long warehouseId);
+
+    @Modifying
+    @Query("UPDATE RawMaterialStock s SET s.reservedQuantity = s.reservedQuantity + :quantity, s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.version = :version AND (s.quantity - s.reservedQuantity) >= :quantity")
+    int reserve(@Param("id") Long id, @Param("version") Long version, @Param("quantity") BigDecimal quantity);
+
+    @Modifying
+    @Query("UPDATE RawMaterialStock s SET s.reservedQuantity = CASE WHEN s.reservedQuantity > :quantity " +
+           "THEN s.reservedQuantity - :quantity ELSE 0 END, s.version = s.version + 1 WHERE s.id = :id")
+    int release(@Param("id") Long id, @Param("quantity") BigDecimal quantity);
+}
@@ -0,0 +1,28 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.RawMaterialTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RawMaterialTransactionRepository extends JpaRepository<RawMaterialTransaction, Long> {
+
+    @Query(value = "SELECT t FROM RawMaterialTransaction t JOIN FETCH t.warehouse " +
+                   "WHERE t.rawMaterial.id = :rawMaterialId AND (:warehouseId IS NULL OR t.warehouse.id = :warehouseId) " +
+                   "AND t.transactionDate >= :from AND t.transactionDate < :to " +
+                   "ORDER BY t.transactionDate DESC, t.id DESC",
+           countQuery = "SELECT COUNT(t) FROM RawMaterialTransaction t " +
+                        "WHERE t.rawMaterial.id = :rawMaterialId AND (:warehouseId IS NULL OR t.warehouse.id = :warehouseId) " +
+                        "AND t.transactionDate >= :from AND t.transactionDate < :to")
+    Page<RawMaterialTransaction> findHistory(@Param("rawMaterialId") Long rawMaterialId,
+                                             @Param("warehouseId") Long warehouseId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             Pageable pageable);
+}
@@ -0,0 +1,57 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.ReportJob;
+import com.erp.manufacturing.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByJobId(String jobId);
+
+    List<ReportJob> findTop50ByRequestedByOrderByCreatedAtDesc(String requestedBy);
+
+    List<ReportJob> findByStatusAndExpiresAtBefore(ReportJobStatus status, LocalDateTime time);
+
+    List<ReportJob> findByStatusAndCreatedAtBefore(ReportJobStatus status, LocalDateTime time);
+
+    List<ReportJob> findByStatusAndStartedAtBefore(ReportJobStatus status, LocalDateTime time);
+
+    List<ReportJob> findByStatus(ReportJobStatus status);
+
+    List<ReportJob> findByStatusAndWorker(ReportJobStatus status, String worker);
+
+    long countByRequestedByAndStatusIn(String requestedBy, Collection<ReportJobStatus> statuses);
+
+    // Status changes are conditional so a worker and the expiry sweep cannot overwrite each other's outcome
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.erp.manufacturing.enums.ReportJobStatus.RUNNING, j.startedAt = :startedAt, " +
+           "j.worker = :worker WHERE j.id = :id AND j.status = com.erp.manufacturing.enums.ReportJobStatus.QUEUED")
+    int markRunning(@Param("id") Long id, @Param("startedAt") LocalDateTime startedAt, @Param("worker") String worker);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.erp.manufacturing.enums.ReportJobStatus.COMPLETED, j.fileName = :fileName, " +
+           "j.fileSize = :fileSize, j.completedAt = :completedAt, j.expiresAt = :expiresAt " +
+           "WHERE j.id = :id AND j.status = com.erp.manufacturing.enums.ReportJobStatus.RUNNING")
+    int markCompleted(@Param("id") Long id, @Param("fileName") String fileName, @Param("fileSize") Long fileSize,
+                      @Param("completedAt") LocalDateTime completedAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.erp.manufacturing.enums.ReportJobStatus.FAILED, j.errorMessage = :errorMessage, " +
+           "j.completedAt = :completedAt WHERE j.id = :id AND j.status IN :statuses")
+    int markFailed(@Param("id") Long id, @Param("statuses") Collection<ReportJobStatus> statuses,
+                   @Param("errorMessage") String errorMessage, @Param("completedAt") LocalDateTime completedAt);
+}
@@ -0,0 +1,25 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.SalesDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, Long> {
+
+    @Query("SELECT COALESCE(SUM(r.amount), 0) FROM SalesDailyRollup r " +
+           "WHERE r.finishedGoodsId = " + SalesDailyRollup.WHOLE_ORDER + " AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "AND r.status NOT IN ('DRAFT', 'CANCELLED')")
+    BigDecimal getTotalValue(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.rollupDate, SUM(r.amount) FROM SalesDailyRollup r " +
+           "WHERE r.finishedGoodsId = " + SalesDailyRollup.WHOLE_ORDER + " AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "AND r.status NOT IN ('DRAFT', 'CANCELLED') GROUP BY r.rollupDate")
+    List<Object[]> getDailyTotals(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
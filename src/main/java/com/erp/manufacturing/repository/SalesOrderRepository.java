@@ -1,11 +1,18 @@
 package com.erp.manufacturing.repository;
 
+import com.erp.manufacturing.dto.response.SalesReportRowResponse;
 import com.erp.manufacturing.entity.SalesOrder;
 import com.erp.manufacturing.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,9 +20,16 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
+public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, JpaSpecificationExecutor<SalesOrder> {
+
+    // Status changes lock the row first: each one removes the state it read from the daily rollups, so two
+    // concurrent transitions must not both start from the same state
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT so FROM SalesOrder so WHERE so.id = :id")
+    Optional<SalesOrder> findByIdForUpdate(@Param("id") Long id);
 
     Optional<SalesOrder> findBySoNumber(String soNumber);
 
@@ -27,7 +41,7 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
 
     @Query("SELECT so FROM SalesOrder so WHERE " +
            "LOWER(so.soNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(so.customer.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "so.customer.id IN (SELECT c.id FROM Customer c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<SalesOrder> search(@Param("search") String search, Pageable pageable);
 
     @Query("SELECT so FROM SalesOrder so WHERE so.status IN :statuses")
@@ -47,5 +61,17 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
 
     @Query("SELECT so.customer.id, SUM(so.grandTotal) FROM SalesOrder so WHERE so.orderDate BETWEEN :startDate AND :endDate AND so.status NOT IN ('DRAFT', 'CANCELLED') GROUP BY so.customer.id ORDER BY SUM(so.grandTotal) DESC")
     List<Object[]> getTopCustomersBySales(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
-}
 
+    @Query("SELECT i.finishedGoods.id, so.deliveryDate, so.orderDate, i.quantity - i.deliveredQuantity " +
+           "FROM SalesOrderItem i JOIN i.salesOrder so " +
+           "WHERE so.status IN :statuses AND so.isDeleted = false AND i.quantity > i.deliveredQuantity")
+    List<Object[]> findOpenDemand(@Param("statuses") List<OrderStatus> statuses);
+
+    // Report rows straight from the columns, read in fetch-size batches instead of one entity graph per order
+    @Query("SELECT new com.erp.manufacturing.dto.response.SalesReportRowResponse(so.soNumber, c.name, so.orderDate, so.grandTotal, so.status) " +
+           "FROM SalesOrder so LEFT JOIN so.customer c " +
+           "WHERE so.orderDate BETWEEN :startDate AND :endDate ORDER BY so.orderDate, so.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<SalesReportRowResponse> streamSalesReport(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
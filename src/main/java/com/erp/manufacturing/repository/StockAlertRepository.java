@@ -0,0 +1,20 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.StockAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
+
+    @Query("SELECT a.alertLevel, COUNT(a) FROM StockAlert a GROUP BY a.alertLevel")
+    List<Object[]> countByAlertLevel();
+
+    // CRITICAL sorts before LOW
+    @Query("SELECT a FROM StockAlert a ORDER BY a.alertLevel, a.availableQuantity, a.id")
+    List<StockAlert> findMostUrgent(Pageable pageable);
+}
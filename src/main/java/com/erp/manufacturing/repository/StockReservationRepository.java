@@ -0,0 +1,27 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByReferenceTypeAndReferenceIdOrderByStockIdAsc(String referenceType, Long referenceId);
+
+    List<StockReservation> findByItemTypeAndStockIdIn(String itemType, Collection<Long> stockIds);
+
+    @Query("SELECT r.itemId, SUM(r.quantity) FROM StockReservation r " +
+           "WHERE r.itemType = :itemType AND r.referenceType = :referenceType GROUP BY r.itemId")
+    List<Object[]> sumQuantityByItem(@Param("itemType") String itemType, @Param("referenceType") String referenceType);
+
+    @Query("SELECT r.itemId, SUM(r.quantity) FROM StockReservation r " +
+           "WHERE r.itemType = 'RAW_MATERIAL' AND r.referenceType = 'WORK_ORDER' " +
+           "AND r.referenceId IN :workOrderIds GROUP BY r.itemId")
+    List<Object[]> sumRawMaterialReservedByWorkOrders(@Param("workOrderIds") Collection<Long> workOrderIds);
+}
@@ -0,0 +1,27 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.StockSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockSummaryRepository extends JpaRepository<StockSummary, Long> {
+
+    Optional<StockSummary> findByItemTypeAndItemIdAndWarehouseId(String itemType, Long itemId, Long warehouseId);
+
+    List<StockSummary> findByItemTypeAndItemIdInAndWarehouseId(String itemType, Collection<Long> itemIds, Long warehouseId);
+
+    @Query("SELECT s FROM StockSummary s WHERE s.itemType = :itemType AND s.itemId = :itemId " +
+           "AND s.warehouseId <> " + StockSummary.ALL_WAREHOUSES + " ORDER BY s.warehouseId")
+    List<StockSummary> findWarehouseSummaries(@Param("itemType") String itemType, @Param("itemId") Long itemId);
+
+    @Query("SELECT s.itemId, s.quantity - s.reservedQuantity FROM StockSummary s " +
+           "WHERE s.itemType = :itemType AND s.warehouseId = " + StockSummary.ALL_WAREHOUSES)
+    List<Object[]> findAvailableTotals(@Param("itemType") String itemType);
+}
@@ -4,6 +4,7 @@ import com.erp.manufacturing.entity.Supplier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,7 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSpecificationExecutor<Supplier> {
 
     Optional<Supplier> findByCode(String code);
 
@@ -34,5 +35,8 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     long countActive();
 
     List<Supplier> findByIsActiveTrue();
-}
 
+    @Query("SELECT s.id, s.code, s.name, s.city FROM Supplier s " +
+           "WHERE s.isActive = true AND (:id IS NULL OR s.id = :id)")
+    List<Object[]> findLookupRows(@Param("id") Long id);
+}
@@ -3,6 +3,7 @@ package com.erp.manufacturing.repository;
 import com.erp.manufacturing.entity.UnitOfMeasurement;
 import com.erp.manufacturing.enums.UnitType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UnitOfMeasurementRepository extends JpaRepository<UnitOfMeasurement, Long> {
+public interface UnitOfMeasurementRepository extends JpaRepository<UnitOfMeasurement, Long>, JpaSpecificationExecutor<UnitOfMeasurement> {
 
     Optional<UnitOfMeasurement> findBySymbol(String symbol);
 
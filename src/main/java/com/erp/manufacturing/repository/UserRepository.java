@@ -4,14 +4,16 @@ import com.erp.manufacturing.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByUsername(String username);
 
@@ -37,8 +39,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.isActive = true")
     long countActiveUsers();
 
-    java.util.List<User> findByIsActiveTrue();
+    List<User> findByIsActiveTrue();
 
-    java.util.List<User> findByRoleId(Long roleId);
+    List<User> findByRoleId(Long roleId);
+
+    // Native so soft-deleted users are included: their tokens must be rejected too
+    @Query(value = "SELECT id, token_epoch, is_active, is_deleted FROM users " +
+                   "WHERE token_epoch > 0 OR is_active = false OR is_deleted = true", nativeQuery = true)
+    List<Object[]> findTokenRevocations();
+
+    @Query(value = "SELECT id, token_epoch, is_active, is_deleted FROM users WHERE id = :id", nativeQuery = true)
+    List<Object[]> findTokenRevocation(@Param("id") Long id);
 }
 
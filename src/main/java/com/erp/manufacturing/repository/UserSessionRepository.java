@@ -0,0 +1,24 @@
+package com.erp.manufacturing.repository;
+
+import com.erp.manufacturing.entity.UserSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
+
+    boolean existsByTokenAndIsValidFalseAndExpiresAtAfter(String token, LocalDateTime now);
+
+    @Query("SELECT s.token FROM UserSession s WHERE s.isValid = false AND s.expiresAt > :now")
+    List<String> findRevokedTokenIds(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM UserSession s WHERE s.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,20 +1,27 @@
 package com.erp.manufacturing.repository;
 
+import com.erp.manufacturing.dto.response.ProductionReportRowResponse;
 import com.erp.manufacturing.entity.WorkOrder;
 import com.erp.manufacturing.enums.WorkOrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long> {
+public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long>, JpaSpecificationExecutor<WorkOrder> {
 
     Optional<WorkOrder> findByWorkOrderNo(String workOrderNo);
 
@@ -26,8 +33,9 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long> {
 
     @Query("SELECT wo FROM WorkOrder wo WHERE " +
            "LOWER(wo.workOrderNo) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(wo.finishedGoods.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(wo.finishedGoods.code) LIKE LOWER(CONCAT('%', :search, '%'))")
+           "wo.finishedGoods.id IN (SELECT fg.id FROM FinishedGoods fg WHERE " +
+           "LOWER(fg.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(fg.code) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<WorkOrder> search(@Param("search") String search, Pageable pageable);
 
     @Query("SELECT wo FROM WorkOrder wo WHERE wo.status IN :statuses")
@@ -39,10 +47,27 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long> {
     @Query("SELECT COUNT(wo) FROM WorkOrder wo WHERE wo.status = :status")
     long countByStatus(@Param("status") WorkOrderStatus status);
 
+    @Query("SELECT CAST(wo.actualEndDate AS LocalDate), SUM(wo.completedQuantity) FROM WorkOrder wo " +
+           "WHERE wo.status = 'COMPLETED' AND wo.actualEndDate >= :from AND wo.actualEndDate < :to " +
+           "GROUP BY CAST(wo.actualEndDate AS LocalDate)")
+    List<Object[]> getDailyCompletedQuantity(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     @Query("SELECT wo FROM WorkOrder wo WHERE wo.status = 'IN_PROGRESS' ORDER BY wo.actualStartDate ASC")
     List<WorkOrder> findInProgressWorkOrders();
 
     @Query("SELECT wo FROM WorkOrder wo WHERE wo.status IN ('PLANNED', 'RELEASED') AND wo.scheduledStartDate <= :date ORDER BY wo.scheduledStartDate ASC")
     List<WorkOrder> findPendingWorkOrders(@Param("date") LocalDate date);
-}
 
+    @Query("SELECT wo.bom.id, wo.finishedGoods.id, wo.status, wo.scheduledStartDate, wo.scheduledEndDate, " +
+           "wo.plannedQuantity - wo.completedQuantity - wo.rejectedQuantity, wo.id " +
+           "FROM WorkOrder wo WHERE wo.status IN :statuses AND wo.isDeleted = false " +
+           "AND wo.plannedQuantity > wo.completedQuantity + wo.rejectedQuantity")
+    List<Object[]> findOpenProduction(@Param("statuses") List<WorkOrderStatus> statuses);
+
+    @Query("SELECT new com.erp.manufacturing.dto.response.ProductionReportRowResponse(wo.workOrderNo, fg.name, wo.plannedQuantity, wo.completedQuantity, wo.status) " +
+           "FROM WorkOrder wo LEFT JOIN wo.finishedGoods fg " +
+           "WHERE wo.scheduledStartDate BETWEEN :startDate AND :endDate ORDER BY wo.scheduledStartDate, wo.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<ProductionReportRowResponse> streamProductionReport(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
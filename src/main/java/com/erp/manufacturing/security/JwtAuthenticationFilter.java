@@ -1,5 +1,7 @@
 package com.erp.manufacturing.security;
 
+import com.erp.manufacturing.config.JwtConfig;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +26,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final JwtConfig jwtConfig;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -35,21 +41,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, 
-                                null, 
-                                userDetails.getAuthorities()
-                        );
-                        
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.verifyToken(jwt) : null;
+
+            if (claims != null && jwtTokenProvider.isAccessToken(claims) && !tokenRevocationStore.isRevoked(claims)) {
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -58,6 +66,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(Claims claims) {
+        Integer epoch = claims.get(JwtTokenProvider.EPOCH_CLAIM, Integer.class);
+        if (jwtConfig.isStatelessAuthentication() && epoch != null) {
+            // Deactivation, deletion, a role change or a password change moves the user past the token's epoch
+            Long userId = claims.get("userId", Long.class);
+            return tokenEpochRegistry.isCurrent(userId, epoch) ? jwtTokenProvider.getPrincipalFromClaims(claims) : null;
+        }
+        return userPrincipalCache.get(claims.getSubject(), claims.getId(), userDetailsService::loadUserByUsername);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         
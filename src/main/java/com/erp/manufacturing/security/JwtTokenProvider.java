@@ -8,13 +8,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,32 +26,59 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String EPOCH_CLAIM = "epoch";
+    public static final String TOKEN_TYPE_CLAIM = "type";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    public static final String SESSION_CLAIM = "sid";
+
     private final JwtConfig jwtConfig;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private volatile JwtParser parser;
 
     private SecretKey getSigningKey() {
         byte[] keyBytes = jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateAccessToken(Authentication authentication) {
+    // The parser is immutable and thread-safe, so it is built once rather than per call
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
+    // A login starts a session; the access and refresh tokens issued in it, including those from later
+    // refreshes, share its id so that logout can revoke all of them at once
+    public String newSessionId() {
+        return UUID.randomUUID().toString();
+    }
+
+    public String generateAccessToken(Authentication authentication, String sessionId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return generateToken(userPrincipal, jwtConfig.getAccessTokenExpiration());
+        return generateToken(userPrincipal, jwtConfig.getAccessTokenExpiration(), ACCESS_TOKEN, sessionId);
     }
 
-    public String generateRefreshToken(Authentication authentication) {
+    public String generateRefreshToken(Authentication authentication, String sessionId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return generateToken(userPrincipal, jwtConfig.getRefreshTokenExpiration());
+        return generateToken(userPrincipal, jwtConfig.getRefreshTokenExpiration(), REFRESH_TOKEN, sessionId);
     }
 
-    public String generateAccessToken(UserPrincipal userPrincipal) {
-        return generateToken(userPrincipal, jwtConfig.getAccessTokenExpiration());
+    public String generateAccessToken(UserPrincipal userPrincipal, String sessionId) {
+        return generateToken(userPrincipal, jwtConfig.getAccessTokenExpiration(), ACCESS_TOKEN, sessionId);
     }
 
-    public String generateRefreshToken(UserPrincipal userPrincipal) {
-        return generateToken(userPrincipal, jwtConfig.getRefreshTokenExpiration());
+    public String generateRefreshToken(UserPrincipal userPrincipal, String sessionId) {
+        return generateToken(userPrincipal, jwtConfig.getRefreshTokenExpiration(), REFRESH_TOKEN, sessionId);
     }
 
-    private String generateToken(UserPrincipal userPrincipal, long expirationMs) {
+    private String generateToken(UserPrincipal userPrincipal, long expirationMs, String tokenType, String sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
@@ -57,10 +88,16 @@ public class JwtTokenProvider {
         claims.put("roles", userPrincipal.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        claims.put("firstName", userPrincipal.getFirstName());
+        claims.put("lastName", userPrincipal.getLastName());
+        claims.put(EPOCH_CLAIM, userPrincipal.getTokenEpoch());
+        claims.put(TOKEN_TYPE_CLAIM, tokenType);
+        claims.put(SESSION_CLAIM, sessionId);
 
         return Jwts.builder()
                 .claims(claims)
                 .subject(userPrincipal.getUsername())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -68,32 +105,66 @@ public class JwtTokenProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return getClaimsFromToken(token).getSubject();
+    }
 
-        return claims.getSubject();
+    public String getTokenIdFromToken(String token) {
+        return getClaimsFromToken(token).getId();
+    }
+
+    public Claims getClaimsFromToken(String token) {
+        return parser().parseSignedClaims(token)
+                .getPayload();
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        Claims claims = parser().parseSignedClaims(token)
                 .getPayload();
 
         return claims.get("userId", Long.class);
     }
 
+    // Stateless mode: everything the request needs is in the signed claims, so no user lookup
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        Set<GrantedAuthority> authorities = roles == null ? Set.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toSet());
+
+        return UserPrincipal.builder()
+                .id(claims.get("userId", Long.class))
+                .username(claims.getSubject())
+                .email(claims.get("email", String.class))
+                .firstName(claims.get("firstName", String.class))
+                .lastName(claims.get("lastName", String.class))
+                .isActive(true)
+                .tokenEpoch(claims.get(EPOCH_CLAIM, Integer.class))
+                .authorities(authorities)
+                .build();
+    }
+
+    // Refresh tokens carry the same claims but live for days, so only access tokens authenticate requests
+    public boolean isAccessToken(Claims claims) {
+        return ACCESS_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
     public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+
+    // One signature check and claim parse per distinct token; later requests with the same token reuse the
+    // verified claims until the token expires. Returns null for an invalid or expired token
+    public Claims verifyToken(String token) {
+        return verifiedTokenCache.get(token, this::parseVerifiedClaims);
+    }
+
+    private Claims parseVerifiedClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser().parseSignedClaims(token).getPayload();
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -105,15 +176,12 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
+            Claims claims = parser().parseSignedClaims(token)
                     .getPayload();
             return claims.getExpiration().before(new Date());
         } catch (ExpiredJwtException ex) {
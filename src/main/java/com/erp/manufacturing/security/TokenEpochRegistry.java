@@ -0,0 +1,72 @@
+package com.erp.manufacturing.security;
+
+import com.erp.manufacturing.config.JwtConfig;
+import com.erp.manufacturing.event.UserSecurityChangedEvent;
+import com.erp.manufacturing.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Minimum token epoch per user for stateless authentication. Only users whose tokens were ever revoked,
+// or who are inactive or deleted, have an entry, so the map stays small and the per-request check is a
+// hash lookup; peers pick up changes on the next refresh
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenEpochRegistry {
+
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final JwtConfig jwtConfig;
+
+    private volatile Map<Long, Integer> minimumEpochs = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Long userId, int tokenEpoch) {
+        return userId != null && tokenEpoch >= minimumEpochs.getOrDefault(userId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.epoch-refresh-ms:10000}")
+    public synchronized void refresh() {
+        if (!jwtConfig.isStatelessAuthentication()) {
+            return;
+        }
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : userRepository.findTokenRevocations()) {
+            apply(loaded, row);
+        }
+        minimumEpochs = loaded;
+    }
+
+    // The local node applies its own changes right after commit instead of waiting for the refresh
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        if (!jwtConfig.isStatelessAuthentication()) {
+            return;
+        }
+        List<Object[]> rows = userRepository.findTokenRevocation(event.getUserId());
+        if (rows.isEmpty()) {
+            minimumEpochs.put(event.getUserId(), REVOKED);
+        } else {
+            apply(minimumEpochs, rows.get(0));
+        }
+    }
+
+    private void apply(Map<Long, Integer> epochs, Object[] row) {
+        Long userId = ((Number) row[0]).longValue();
+        int epoch = ((Number) row[1]).intValue();
+        boolean active = Boolean.TRUE.equals(row[2]) && !Boolean.TRUE.equals(row[3]);
+        int minimum = active ? epoch : REVOKED;
+        if (minimum > 0) {
+            epochs.put(userId, minimum);
+        } else {
+            epochs.remove(userId);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.erp.manufacturing.security;
+
+import com.erp.manufacturing.entity.UserSession;
+import com.erp.manufacturing.repository.UserSessionRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+// Revoked access tokens by token id. user_sessions keeps the durable record, Redis holds each id until
+// its token would have expired anyway, and every node keeps a bloom filter of revoked ids fed by pub/sub.
+// A token that is not revoked almost always misses the filter, so the check stays inside the JVM
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    public static final String REVOCATION_CHANNEL = "erp:token-revocations";
+
+    private static final String REVOKED_KEY_PREFIX = "erp:revoked-token:";
+
+    private final UserSessionRepository userSessionRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+
+    public TokenRevocationStore(UserSessionRepository userSessionRepository,
+                                ObjectProvider<RedisMessageListenerContainer> listenerContainers,
+                                ObjectProvider<StringRedisTemplate> redisTemplates,
+                                @Value("${app.security.revocation.expected-tokens:100000}") int expectedTokens,
+                                @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userSessionRepository = userSessionRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+
+        // Redis is only used where the cache configuration set up the listener container
+        RedisMessageListenerContainer listenerContainer = listenerContainers.getIfAvailable();
+        this.redisTemplate = listenerContainer != null ? redisTemplates.getIfAvailable() : null;
+        if (listenerContainer != null) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> addLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(REVOCATION_CHANNEL));
+        }
+    }
+
+    public void revoke(String tokenId, Long userId, Date expiresAt) {
+        long remainingMillis = expiresAt.getTime() - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return;
+        }
+        userSessionRepository.save(UserSession.builder()
+                .userId(userId)
+                .token(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .isValid(false)
+                .createdAt(LocalDateTime.now())
+                .build());
+        addLocal(tokenId);
+
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + tokenId, "1", Duration.ofMillis(remainingMillis));
+                redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenId);
+            } catch (RuntimeException e) {
+                log.warn("Could not publish revocation of token {}: {}", tokenId, e.getMessage());
+            }
+        }
+    }
+
+    // Only a possible hit (a revoked token or a false positive) is confirmed against Redis, or the
+    // database when Redis is not configured or unreachable
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        if (redisTemplate != null) {
+            try {
+                return Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_KEY_PREFIX + tokenId));
+            } catch (RuntimeException e) {
+                log.warn("Could not check revocation of token {} in Redis: {}", tokenId, e.getMessage());
+            }
+        }
+        return userSessionRepository.existsByTokenAndIsValidFalseAndExpiresAtAfter(tokenId, LocalDateTime.now());
+    }
+
+    // A token is rejected when either it or the session it was issued in has been revoked
+    public boolean isRevoked(Claims claims) {
+        return isRevoked(claims.getId()) || isRevoked(claims.get(JwtTokenProvider.SESSION_CLAIM, String.class));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        rebuild();
+    }
+
+    // Bloom filters cannot forget, so the filter is periodically rebuilt from the unexpired revocations;
+    // ids revoked while the rebuild runs go into both filters
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-ms:900000}",
+               initialDelayString = "${app.security.revocation.rebuild-ms:900000}")
+    @Transactional
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedTokens, falsePositiveRate);
+        rebuilding = next;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            userSessionRepository.deleteExpired(now);
+            userSessionRepository.findRevokedTokenIds(now).forEach(next::add);
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void addLocal(String tokenId) {
+        filter.add(tokenId);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(tokenId);
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class UserPrincipal implements UserDetails {
     private String firstName;
     private String lastName;
     private boolean isActive;
+    private int tokenEpoch;
     private Collection<? extends GrantedAuthority> authorities;
 
     public static UserPrincipal create(User user) {
@@ -57,6 +58,7 @@ public class UserPrincipal implements UserDetails {
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
                 .isActive(user.getIsActive())
+                .tokenEpoch(user.getTokenEpoch() != null ? user.getTokenEpoch() : 0)
                 .authorities(authorities)
                 .build();
     }
@@ -0,0 +1,54 @@
+package com.erp.manufacturing.security;
+
+import com.erp.manufacturing.event.UserSecurityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Principals resolved for bearer tokens, keyed by username and token id so an authenticated request
+// skips the user + role query; the short TTL bounds staleness on nodes that did not see the change
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<PrincipalKey, UserDetails> principals;
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache.ttl-seconds:30}") long ttlSeconds,
+                              @Value("${app.security.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Tokens issued before token ids were added are resolved without caching
+    public UserDetails get(String username, String tokenId, Function<String, UserDetails> loader) {
+        if (tokenId == null) {
+            return loader.apply(username);
+        }
+        return principals.get(new PrincipalKey(username, tokenId), key -> loader.apply(key.username()));
+    }
+
+    public void evictToken(String tokenId) {
+        principals.asMap().keySet().removeIf(key -> key.tokenId().equals(tokenId));
+    }
+
+    public void evictUser(Long userId) {
+        principals.asMap().values().removeIf(principal ->
+                principal instanceof UserPrincipal userPrincipal && userId.equals(userPrincipal.getId()));
+    }
+
+    // After commit, so the next request reloads the committed row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        evictUser(event.getUserId());
+    }
+
+    private record PrincipalKey(String username, String tokenId) {
+    }
+}
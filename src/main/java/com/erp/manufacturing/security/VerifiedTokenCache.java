@@ -0,0 +1,79 @@
+package com.erp.manufacturing.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Claims of tokens that already passed signature and expiry checks, keyed by a SHA-256 of the token so
+// raw bearer tokens are not kept in memory. Each entry expires with its token; hits and misses are
+// published as cache.gets{cache=jwtClaims}
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Claims> claimsByToken;
+
+    public VerifiedTokenCache(@Value("${app.jwt.verified-token-cache-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.claimsByToken = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsByToken, "jwtClaims");
+    }
+
+    // Invalid tokens are never cached, so a flood of garbage tokens cannot evict the good ones
+    public Claims get(String token, Function<String, Claims> verifier) {
+        String key = hash(token);
+        Claims cached = claimsByToken.getIfPresent(key);
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return cached;
+        }
+        Claims claims = verifier.apply(token);
+        if (claims != null && claims.getExpiration() != null) {
+            claimsByToken.put(key, claims);
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.BOMRequest;
 import com.erp.manufacturing.dto.response.BOMResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public interface BOMService {
 
     PageResponse<BOMResponse> getAll(Pageable pageable);
 
+    PageResponse<BOMResponse> getAll(String cursor, int size, Sort sort);
+
     PageResponse<BOMResponse> search(String searchTerm, Pageable pageable);
 
     List<BOMResponse> getAllActive();
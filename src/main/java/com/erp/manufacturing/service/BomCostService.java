@@ -0,0 +1,27 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.BomCostResponse;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface BomCostService {
+
+    List<BomCostResponse> getAll();
+
+    BomCostResponse getByBomId(Long bomId);
+
+    Map<Long, BigDecimal> getMaterialCosts(Collection<Long> bomIds);
+
+    Map<Long, BigDecimal> getActiveUnitCosts(Collection<Long> finishedGoodsIds);
+
+    void onBomChanged(Long bomId);
+
+    void onBomDeleted(Long bomId, Long finishedGoodsId);
+
+    void onItemCostChanged(String itemType, Long itemId);
+
+    int rebuildAll();
+}
@@ -0,0 +1,30 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.BomExplosionResponse;
+import com.erp.manufacturing.entity.BomHeader;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface BomExplosionService {
+
+    BomExplosionResponse explode(Long bomId, BigDecimal quantity);
+
+    BomExplosionResponse explodeFinishedGoods(Long finishedGoodsId, BigDecimal quantity);
+
+    Map<Long, BigDecimal> getRawMaterialRequirements(Long bomId);
+
+    Map<Long, BigDecimal> getRawMaterialRequirementsForFinishedGoods(Long finishedGoodsId);
+
+    Components getComponents(Long bomId);
+
+    Components getComponentsForFinishedGoods(Long finishedGoodsId);
+
+    void validateNoCycles(BomHeader bomHeader);
+
+    void evictAll();
+
+    // Direct components of one unit of BOM output; sub-assemblies are keyed by finished goods id
+    record Components(Map<Long, BigDecimal> rawMaterials, Map<Long, BigDecimal> subAssemblies) {
+    }
+}
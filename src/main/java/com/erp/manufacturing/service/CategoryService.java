@@ -5,6 +5,7 @@ import com.erp.manufacturing.dto.response.CategoryResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.enums.CategoryType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public interface CategoryService {
     CategoryResponse getByCode(String code);
     
     PageResponse<CategoryResponse> getAll(Pageable pageable);
+
+    PageResponse<CategoryResponse> getAll(String cursor, int size, Sort sort);
     
     List<CategoryResponse> getAllByType(CategoryType type);
     
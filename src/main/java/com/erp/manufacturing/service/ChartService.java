@@ -0,0 +1,11 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.enums.ChartMetric;
+import com.erp.manufacturing.enums.ChartPeriod;
+
+import java.util.Map;
+
+public interface ChartService {
+
+    Map<String, Object> getTimeSeries(ChartMetric metric, ChartPeriod period);
+}
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.CustomerRequest;
 import com.erp.manufacturing.dto.response.CustomerResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -18,6 +19,8 @@ public interface CustomerService {
     CustomerResponse getByCode(String code);
     
     PageResponse<CustomerResponse> getAll(Pageable pageable);
+
+    PageResponse<CustomerResponse> getAll(String cursor, int size, Sort sort);
     
     PageResponse<CustomerResponse> search(String query, Pageable pageable);
     
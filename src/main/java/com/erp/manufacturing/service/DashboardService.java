@@ -11,6 +11,8 @@ public interface DashboardService {
 
     Map<String, Object> getSalesChart(String period);
 
+    Map<String, Object> getTrendChart(String metric, String period);
+
     Map<String, Object> getProductionChart();
 
     List<Map<String, Object>> getPendingOrders(int limit);
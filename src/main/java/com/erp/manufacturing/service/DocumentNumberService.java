@@ -0,0 +1,8 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.enums.SequenceType;
+
+public interface DocumentNumberService {
+
+    String next(SequenceType sequenceType);
+}
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.FinishedGoodsRequest;
 import com.erp.manufacturing.dto.response.FinishedGoodsResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -20,6 +21,8 @@ public interface FinishedGoodsService {
     FinishedGoodsResponse getByBarcode(String barcode);
     
     PageResponse<FinishedGoodsResponse> getAll(Pageable pageable);
+
+    PageResponse<FinishedGoodsResponse> getAll(String cursor, int size, Sort sort);
     
     PageResponse<FinishedGoodsResponse> search(String query, Pageable pageable);
     
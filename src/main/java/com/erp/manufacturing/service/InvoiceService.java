@@ -3,6 +3,7 @@ package com.erp.manufacturing.service;
 import com.erp.manufacturing.dto.response.InvoiceResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -14,6 +15,8 @@ public interface InvoiceService {
 
     PageResponse<InvoiceResponse> getAll(Pageable pageable);
 
+    PageResponse<InvoiceResponse> getAll(String cursor, int size, Sort sort);
+
     PageResponse<InvoiceResponse> search(String searchTerm, Pageable pageable);
 
     PageResponse<InvoiceResponse> getByCustomerId(Long customerId, Pageable pageable);
@@ -0,0 +1,16 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.LookupResultResponse;
+import com.erp.manufacturing.enums.LookupType;
+
+import java.util.List;
+import java.util.Set;
+
+public interface LookupService {
+
+    List<LookupResultResponse> lookup(String query, Set<LookupType> types, int limit);
+
+    void refresh(LookupType type, Long id);
+
+    int rebuild();
+}
@@ -0,0 +1,8 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.MrpRunResponse;
+
+public interface MrpService {
+
+    MrpRunResponse run(int horizonDays, int bucketDays);
+}
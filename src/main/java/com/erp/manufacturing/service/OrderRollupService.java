@@ -0,0 +1,24 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.entity.PurchaseOrder;
+import com.erp.manufacturing.entity.SalesOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface OrderRollupService {
+
+    void addSalesOrder(SalesOrder salesOrder);
+
+    void removeSalesOrder(SalesOrder salesOrder);
+
+    void addPurchaseOrder(PurchaseOrder purchaseOrder);
+
+    void removePurchaseOrder(PurchaseOrder purchaseOrder);
+
+    BigDecimal getTotalSalesValue(LocalDate startDate, LocalDate endDate);
+
+    BigDecimal getTotalPurchaseValue(LocalDate startDate, LocalDate endDate);
+
+    int rebuild();
+}
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.PurchaseOrderRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.PurchaseOrderResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public interface PurchaseOrderService {
 
     PageResponse<PurchaseOrderResponse> getAll(Pageable pageable);
 
+    PageResponse<PurchaseOrderResponse> getAll(String cursor, int size, Sort sort);
+
     PageResponse<PurchaseOrderResponse> search(String searchTerm, Pageable pageable);
 
     PageResponse<PurchaseOrderResponse> getByStatus(String status, Pageable pageable);
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.RawMaterialRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.RawMaterialResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public interface RawMaterialService {
 
     PageResponse<RawMaterialResponse> getAll(Pageable pageable);
 
+    PageResponse<RawMaterialResponse> getAll(String cursor, int size, Sort sort);
+
     PageResponse<RawMaterialResponse> search(String search, Pageable pageable);
 
     PageResponse<RawMaterialResponse> getByCategory(Long categoryId, Pageable pageable);
@@ -0,0 +1,22 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.request.ReportJobRequest;
+import com.erp.manufacturing.dto.response.ReportJobResponse;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+
+public interface ReportJobService {
+
+    ReportJobResponse submit(ReportJobRequest request);
+
+    ReportJobResponse getJob(String jobId);
+
+    List<ReportJobResponse> getMyJobs();
+
+    Resource getResult(String jobId);
+
+    void expireJobs();
+
+    void recoverJobs();
+}
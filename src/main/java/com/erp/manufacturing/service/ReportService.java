@@ -0,0 +1,22 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.enums.ExportFormat;
+import com.erp.manufacturing.enums.ReportType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ReportService {
+
+    void writeSalesReport(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException;
+
+    void writePurchaseReport(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException;
+
+    void writeProductionReport(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException;
+
+    void writeInventoryReport(OutputStream out) throws IOException;
+
+    void exportReport(ReportType type, ExportFormat format, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException;
+}
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.SalesOrderRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.SalesOrderResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public interface SalesOrderService {
 
     PageResponse<SalesOrderResponse> getAll(Pageable pageable);
 
+    PageResponse<SalesOrderResponse> getAll(String cursor, int size, Sort sort);
+
     PageResponse<SalesOrderResponse> search(String searchTerm, Pageable pageable);
 
     PageResponse<SalesOrderResponse> getByStatus(String status, Pageable pageable);
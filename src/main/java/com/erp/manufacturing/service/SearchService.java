@@ -0,0 +1,12 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.SearchResultResponse;
+import com.erp.manufacturing.enums.SearchDomain;
+
+import java.util.List;
+import java.util.Set;
+
+public interface SearchService {
+
+    List<SearchResultResponse> search(String query, Set<SearchDomain> domains, int limit);
+}
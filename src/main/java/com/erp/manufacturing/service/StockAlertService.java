@@ -0,0 +1,10 @@
+package com.erp.manufacturing.service;
+
+import java.util.Collection;
+
+public interface StockAlertService {
+
+    void evaluate(String itemType, Collection<Long> itemIds);
+
+    int rebuild();
+}
@@ -0,0 +1,25 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.request.StockPostingRequest;
+import com.erp.manufacturing.dto.response.PageResponse;
+import com.erp.manufacturing.dto.response.StockPostingResultResponse;
+import com.erp.manufacturing.dto.response.StockTransactionResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockLedgerService {
+
+    StockPostingResultResponse post(StockPostingRequest request);
+
+    StockPostingResultResponse postBatch(List<StockPostingRequest> requests);
+
+    PageResponse<StockTransactionResponse> getRawMaterialTransactions(Long rawMaterialId, Long warehouseId,
+                                                                      LocalDateTime from, LocalDateTime to,
+                                                                      Pageable pageable);
+
+    PageResponse<StockTransactionResponse> getFinishedGoodsTransactions(Long finishedGoodsId, Long warehouseId,
+                                                                        LocalDateTime from, LocalDateTime to,
+                                                                        Pageable pageable);
+}
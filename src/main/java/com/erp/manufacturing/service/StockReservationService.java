@@ -0,0 +1,13 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.entity.SalesOrder;
+import com.erp.manufacturing.entity.WorkOrder;
+
+public interface StockReservationService {
+
+    void reserveForSalesOrder(SalesOrder salesOrder);
+
+    void reserveForWorkOrder(WorkOrder workOrder);
+
+    void release(String referenceType, Long referenceId);
+}
@@ -0,0 +1,20 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.StockSummaryResponse;
+import com.erp.manufacturing.entity.StockSummary;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface StockSummaryService {
+
+    void recordChange(String itemType, Long itemId, Long warehouseId, BigDecimal quantityDelta, BigDecimal reservedDelta);
+
+    Map<Long, StockSummary> getTotals(String itemType, Collection<Long> itemIds);
+
+    List<StockSummaryResponse> getWarehouseSummaries(String itemType, Long itemId);
+
+    int rebuild();
+}
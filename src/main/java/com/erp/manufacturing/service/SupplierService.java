@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.SupplierRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.SupplierResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -18,6 +19,8 @@ public interface SupplierService {
     SupplierResponse getByCode(String code);
     
     PageResponse<SupplierResponse> getAll(Pageable pageable);
+
+    PageResponse<SupplierResponse> getAll(String cursor, int size, Sort sort);
     
     PageResponse<SupplierResponse> search(String query, Pageable pageable);
     
@@ -5,6 +5,7 @@ import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.UnitResponse;
 import com.erp.manufacturing.enums.UnitType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public interface UnitService {
     UnitResponse getBySymbol(String symbol);
     
     PageResponse<UnitResponse> getAll(Pageable pageable);
+
+    PageResponse<UnitResponse> getAll(String cursor, int size, Sort sort);
     
     List<UnitResponse> getAllByType(UnitType type);
     
@@ -5,6 +5,7 @@ import com.erp.manufacturing.dto.request.UserRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.UserResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -21,6 +22,8 @@ public interface UserService {
     UserResponse getByEmail(String email);
     
     PageResponse<UserResponse> getAll(Pageable pageable);
+
+    PageResponse<UserResponse> getAll(String cursor, int size, Sort sort);
     
     PageResponse<UserResponse> search(String query, Pageable pageable);
     
@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.WarehouseRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.WarehouseResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -18,6 +19,8 @@ public interface WarehouseService {
     WarehouseResponse getByCode(String code);
     
     PageResponse<WarehouseResponse> getAll(Pageable pageable);
+
+    PageResponse<WarehouseResponse> getAll(String cursor, int size, Sort sort);
     
     List<WarehouseResponse> getAllActive();
     
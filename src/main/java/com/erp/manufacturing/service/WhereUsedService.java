@@ -0,0 +1,8 @@
+package com.erp.manufacturing.service;
+
+import com.erp.manufacturing.dto.response.WhereUsedResponse;
+
+public interface WhereUsedService {
+
+    WhereUsedResponse getWhereUsed(String itemType, Long itemId, boolean includeAncestors);
+}
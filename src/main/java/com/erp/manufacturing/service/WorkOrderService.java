@@ -4,6 +4,7 @@ import com.erp.manufacturing.dto.request.WorkOrderRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.WorkOrderResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,6 +21,8 @@ public interface WorkOrderService {
 
     PageResponse<WorkOrderResponse> getAll(Pageable pageable);
 
+    PageResponse<WorkOrderResponse> getAll(String cursor, int size, Sort sort);
+
     PageResponse<WorkOrderResponse> search(String searchTerm, Pageable pageable);
 
     PageResponse<WorkOrderResponse> getByStatus(String status, Pageable pageable);
@@ -12,8 +12,11 @@ import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.RoleRepository;
 import com.erp.manufacturing.repository.UserRepository;
 import com.erp.manufacturing.security.JwtTokenProvider;
+import com.erp.manufacturing.security.TokenRevocationStore;
 import com.erp.manufacturing.security.UserPrincipal;
+import com.erp.manufacturing.security.UserPrincipalCache;
 import com.erp.manufacturing.service.AuthService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +29,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +43,8 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtConfig jwtConfig;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Override
     @Transactional
@@ -60,8 +66,9 @@ public class AuthServiceImpl implements AuthService {
                     userRepository.save(user);
                 });
 
-        String accessToken = jwtTokenProvider.generateAccessToken(authentication);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(authentication);
+        String sessionId = jwtTokenProvider.newSessionId();
+        String accessToken = jwtTokenProvider.generateAccessToken(authentication, sessionId);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
 
         return buildAuthResponse(userPrincipal, accessToken, refreshToken);
     }
@@ -107,37 +114,64 @@ public class AuthServiceImpl implements AuthService {
 
         // Auto login after registration
         UserPrincipal userPrincipal = UserPrincipal.create(savedUser);
-        String accessToken = jwtTokenProvider.generateAccessToken(userPrincipal);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userPrincipal);
+        String sessionId = jwtTokenProvider.newSessionId();
+        String accessToken = jwtTokenProvider.generateAccessToken(userPrincipal, sessionId);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(userPrincipal, sessionId);
 
         return buildAuthResponse(userPrincipal, accessToken, refreshToken);
     }
 
     @Override
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        Claims claims = jwtTokenProvider.verifyToken(refreshToken);
+        if (claims == null || !jwtTokenProvider.isRefreshToken(claims) || tokenRevocationStore.isRevoked(claims)) {
             throw new InvalidOperationException("Invalid or expired refresh token");
         }
 
-        String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
+        String username = claims.getSubject();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
         if (!user.getIsActive()) {
             throw new InvalidOperationException("User account is deactivated");
         }
+        // A password change, reset or role change bumps the epoch; refresh tokens issued before it are dead too,
+        // otherwise they would mint access tokens at the new epoch
+        Integer epoch = claims.get(JwtTokenProvider.EPOCH_CLAIM, Integer.class);
+        int currentEpoch = user.getTokenEpoch() != null ? user.getTokenEpoch() : 0;
+        if (epoch == null || epoch < currentEpoch) {
+            throw new InvalidOperationException("Invalid or expired refresh token");
+        }
 
         UserPrincipal userPrincipal = UserPrincipal.create(user);
-        String newAccessToken = jwtTokenProvider.generateAccessToken(userPrincipal);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(userPrincipal);
+        // Refreshed tokens stay in the session, so a later logout still covers them
+        String sessionId = claims.get(JwtTokenProvider.SESSION_CLAIM, String.class);
+        if (sessionId == null) {
+            sessionId = jwtTokenProvider.newSessionId();
+        }
+        String newAccessToken = jwtTokenProvider.generateAccessToken(userPrincipal, sessionId);
+        String newRefreshToken = jwtTokenProvider.generateRefreshToken(userPrincipal, sessionId);
 
         return buildAuthResponse(userPrincipal, newAccessToken, newRefreshToken);
     }
 
     @Override
     public void logout(String token) {
-        // In a production environment, you would blacklist the token here
-        // For now, we just clear the security context
+        // Revoking the session covers its refresh token too; no token issued in the session outlives a refresh
+        // token issued now, and the token itself stays revoked until it would have expired anyway
+        Claims claims = jwtTokenProvider.verifyToken(token);
+        if (claims != null) {
+            Long userId = claims.get("userId", Long.class);
+            String sessionId = claims.get(JwtTokenProvider.SESSION_CLAIM, String.class);
+            if (sessionId != null) {
+                tokenRevocationStore.revoke(sessionId, userId,
+                        new Date(System.currentTimeMillis() + jwtConfig.getRefreshTokenExpiration()));
+            }
+            if (claims.getId() != null) {
+                tokenRevocationStore.revoke(claims.getId(), userId, claims.getExpiration());
+                userPrincipalCache.evictToken(claims.getId());
+            }
+        }
         SecurityContextHolder.clearContext();
         log.info("User logged out successfully");
     }
@@ -17,16 +17,24 @@ import com.erp.manufacturing.repository.FinishedGoodsRepository;
 import com.erp.manufacturing.repository.RawMaterialRepository;
 import com.erp.manufacturing.repository.UnitOfMeasurementRepository;
 import com.erp.manufacturing.service.BOMService;
+import com.erp.manufacturing.service.BomCostService;
+import com.erp.manufacturing.service.BomExplosionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +47,12 @@ public class BOMServiceImpl implements BOMService {
     private final FinishedGoodsRepository finishedGoodsRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final UnitOfMeasurementRepository unitRepository;
+    private final BomExplosionService bomExplosionService;
+    private final BomCostService bomCostService;
+    private final KeysetPaginator keysetPaginator;
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+    private static final String SUB_ASSEMBLY = "SUB_ASSEMBLY";
 
     @Override
     public BOMResponse create(BOMRequest request) {
@@ -80,6 +94,9 @@ public class BOMServiceImpl implements BOMService {
         }
 
         BomHeader saved = bomHeaderRepository.save(bomHeader);
+        bomExplosionService.validateNoCycles(saved);
+        bomExplosionService.evictAll();
+        bomCostService.onBomChanged(saved.getId());
         log.info("BOM created successfully with id: {}", saved.getId());
 
         return mapToResponse(saved);
@@ -131,6 +148,9 @@ public class BOMServiceImpl implements BOMService {
         }
 
         BomHeader saved = bomHeaderRepository.save(bomHeader);
+        bomExplosionService.validateNoCycles(saved);
+        bomExplosionService.evictAll();
+        bomCostService.onBomChanged(saved.getId());
         log.info("BOM updated successfully with id: {}", saved.getId());
 
         return mapToResponse(saved);
@@ -156,36 +176,33 @@ public class BOMServiceImpl implements BOMService {
     @Transactional(readOnly = true)
     public PageResponse<BOMResponse> getAll(Pageable pageable) {
         Page<BomHeader> page = bomHeaderRepository.findAll(pageable);
-        List<BOMResponse> responses = page.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        return PageResponse.of(responses, page);
+        return PageResponse.of(mapToResponses(page.getContent()), page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<BOMResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(bomHeaderRepository, BomHeader.class, cursor, size, sort,
+                this::mapToResponses);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<BOMResponse> search(String searchTerm, Pageable pageable) {
         Page<BomHeader> page = bomHeaderRepository.search(searchTerm, pageable);
-        List<BOMResponse> responses = page.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        return PageResponse.of(responses, page);
+        return PageResponse.of(mapToResponses(page.getContent()), page);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BOMResponse> getAllActive() {
-        return bomHeaderRepository.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(bomHeaderRepository.findAllActive());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BOMResponse> getByFinishedGoodsId(Long finishedGoodsId) {
-        return bomHeaderRepository.findByFinishedGoodsId(finishedGoodsId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(bomHeaderRepository.findByFinishedGoodsId(finishedGoodsId));
     }
 
     @Override
@@ -201,7 +218,11 @@ public class BOMServiceImpl implements BOMService {
         BomHeader bomHeader = bomHeaderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BOM", "id", id));
         bomHeader.setIsActive(true);
-        return mapToResponse(bomHeaderRepository.save(bomHeader));
+        BomHeader saved = bomHeaderRepository.save(bomHeader);
+        bomExplosionService.validateNoCycles(saved);
+        bomExplosionService.evictAll();
+        bomCostService.onBomChanged(saved.getId());
+        return mapToResponse(saved);
     }
 
     @Override
@@ -209,7 +230,10 @@ public class BOMServiceImpl implements BOMService {
         BomHeader bomHeader = bomHeaderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BOM", "id", id));
         bomHeader.setIsActive(false);
-        return mapToResponse(bomHeaderRepository.save(bomHeader));
+        BomHeader saved = bomHeaderRepository.save(bomHeader);
+        bomExplosionService.evictAll();
+        bomCostService.onBomChanged(saved.getId());
+        return mapToResponse(saved);
     }
 
     @Override
@@ -251,6 +275,7 @@ public class BOMServiceImpl implements BOMService {
         }
 
         BomHeader saved = bomHeaderRepository.save(copy);
+        bomCostService.onBomChanged(saved.getId());
         log.info("BOM duplicated successfully. New id: {}, new version: {}", saved.getId(), newVersion);
 
         return mapToResponse(saved);
@@ -261,6 +286,8 @@ public class BOMServiceImpl implements BOMService {
         BomHeader bomHeader = bomHeaderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BOM", "id", id));
         bomHeaderRepository.delete(bomHeader);
+        bomExplosionService.evictAll();
+        bomCostService.onBomDeleted(id, bomHeader.getFinishedGoods().getId());
         log.info("BOM deleted successfully with id: {}", id);
     }
 
@@ -287,16 +314,71 @@ public class BOMServiceImpl implements BOMService {
     }
 
     private BOMResponse mapToResponse(BomHeader bomHeader) {
+        return mapToResponse(bomHeader, loadItemLookup(List.of(bomHeader)));
+    }
+
+    private List<BOMResponse> mapToResponses(List<BomHeader> bomHeaders) {
+        ItemLookup lookup = loadItemLookup(bomHeaders);
+        return bomHeaders.stream()
+                .map(bomHeader -> mapToResponse(bomHeader, lookup))
+                .collect(Collectors.toList());
+    }
+
+    // Resolves every item referenced by the given BOMs with one IN query per item type
+    private ItemLookup loadItemLookup(Collection<BomHeader> bomHeaders) {
+        Set<Long> rawMaterialIds = new HashSet<>();
+        Set<Long> finishedGoodsIds = new HashSet<>();
+        Set<Long> unitIds = new HashSet<>();
+
+        for (BomHeader bomHeader : bomHeaders) {
+            finishedGoodsIds.add(bomHeader.getFinishedGoods().getId());
+            if (bomHeader.getOutputUnit() != null) {
+                unitIds.add(bomHeader.getOutputUnit().getId());
+            }
+            for (BomDetail detail : bomHeader.getDetails()) {
+                if (RAW_MATERIAL.equals(detail.getItemType())) {
+                    rawMaterialIds.add(detail.getItemId());
+                } else if (SUB_ASSEMBLY.equals(detail.getItemType())) {
+                    finishedGoodsIds.add(detail.getItemId());
+                }
+                if (detail.getUnit() != null) {
+                    unitIds.add(detail.getUnit().getId());
+                }
+            }
+        }
+
+        // Units are only loaded to initialize the lazy proxies in the persistence context
+        if (!unitIds.isEmpty()) {
+            unitRepository.findAllById(unitIds);
+        }
+
+        Map<Long, RawMaterial> rawMaterials = rawMaterialIds.isEmpty() ? Map.of()
+                : rawMaterialRepository.findAllById(rawMaterialIds).stream()
+                        .collect(Collectors.toMap(RawMaterial::getId, Function.identity()));
+        Map<Long, FinishedGoods> finishedGoods = finishedGoodsRepository.findAllById(finishedGoodsIds).stream()
+                .collect(Collectors.toMap(FinishedGoods::getId, Function.identity()));
+
+        Set<Long> bomIds = bomHeaders.stream().map(BomHeader::getId).collect(Collectors.toSet());
+        Map<Long, BigDecimal> materialCosts = bomCostService.getMaterialCosts(bomIds);
+        Map<Long, BigDecimal> subAssemblyCosts = bomCostService.getActiveUnitCosts(finishedGoodsIds);
+
+        return new ItemLookup(rawMaterials, finishedGoods, materialCosts, subAssemblyCosts);
+    }
+
+    private BOMResponse mapToResponse(BomHeader bomHeader, ItemLookup lookup) {
         FinishedGoods fg = bomHeader.getFinishedGoods();
         UnitOfMeasurement outputUnit = bomHeader.getOutputUnit();
 
         List<BOMItemResponse> itemResponses = bomHeader.getDetails().stream()
-                .map(this::mapItemToResponse)
+                .map(detail -> mapItemToResponse(detail, lookup))
                 .collect(Collectors.toList());
 
-        BigDecimal totalMaterialCost = itemResponses.stream()
-                .map(item -> item.getTotalPrice() != null ? item.getTotalPrice() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalMaterialCost = lookup.materialCosts().get(bomHeader.getId());
+        if (totalMaterialCost == null) {
+            totalMaterialCost = itemResponses.stream()
+                    .map(item -> item.getTotalPrice() != null ? item.getTotalPrice() : BigDecimal.ZERO)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
 
         return BOMResponse.builder()
                 .id(bomHeader.getId())
@@ -325,21 +407,29 @@ public class BOMServiceImpl implements BOMService {
                 .build();
     }
 
-    private BOMItemResponse mapItemToResponse(BomDetail detail) {
+    private BOMItemResponse mapItemToResponse(BomDetail detail, ItemLookup lookup) {
         String itemCode = "";
         String itemName = "";
         BigDecimal unitPrice = BigDecimal.ZERO;
 
         // Get item details based on type
-        if ("RAW_MATERIAL".equals(detail.getItemType())) {
-            RawMaterial rm = rawMaterialRepository.findById(detail.getItemId()).orElse(null);
+        if (RAW_MATERIAL.equals(detail.getItemType())) {
+            RawMaterial rm = lookup.rawMaterials().get(detail.getItemId());
             if (rm != null) {
                 itemCode = rm.getCode();
                 itemName = rm.getName();
-                unitPrice = rm.getStandardCost();
+                unitPrice = rm.getStandardCost() != null ? rm.getStandardCost() : BigDecimal.ZERO;
+            }
+        } else if (SUB_ASSEMBLY.equals(detail.getItemType())) {
+            FinishedGoods subAssembly = lookup.finishedGoods().get(detail.getItemId());
+            if (subAssembly != null) {
+                itemCode = subAssembly.getCode();
+                itemName = subAssembly.getName();
+                unitPrice = lookup.subAssemblyCosts().containsKey(subAssembly.getId())
+                        ? lookup.subAssemblyCosts().get(subAssembly.getId())
+                        : subAssembly.getStandardCost() != null ? subAssembly.getStandardCost() : BigDecimal.ZERO;
             }
         }
-        // Add handling for other item types as needed
 
         UnitOfMeasurement unit = detail.getUnit();
         BigDecimal quantityWithWastage = detail.getQuantityWithWastage();
@@ -364,5 +454,8 @@ public class BOMServiceImpl implements BOMService {
                 .totalPrice(totalPrice)
                 .build();
     }
-}
 
+    private record ItemLookup(Map<Long, RawMaterial> rawMaterials, Map<Long, FinishedGoods> finishedGoods,
+                              Map<Long, BigDecimal> materialCosts, Map<Long, BigDecimal> subAssemblyCosts) {
+    }
+}
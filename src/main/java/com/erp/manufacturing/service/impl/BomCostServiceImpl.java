@@ -0,0 +1,253 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.BomCostResponse;
+import com.erp.manufacturing.entity.BomCost;
+import com.erp.manufacturing.entity.BomDetail;
+import com.erp.manufacturing.entity.BomHeader;
+import com.erp.manufacturing.entity.FinishedGoods;
+import com.erp.manufacturing.entity.RawMaterial;
+import com.erp.manufacturing.exception.BusinessException;
+import com.erp.manufacturing.exception.ResourceNotFoundException;
+import com.erp.manufacturing.repository.BomCostRepository;
+import com.erp.manufacturing.repository.BomHeaderRepository;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.service.BomCostService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BomCostServiceImpl implements BomCostService {
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+    private static final String SUB_ASSEMBLY = "SUB_ASSEMBLY";
+    private static final int SCALE = 4;
+    private static final int MAX_PROPAGATION_STEPS = 10_000;
+
+    private final BomCostRepository bomCostRepository;
+    private final BomHeaderRepository bomHeaderRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+
+    @Override
+    public List<BomCostResponse> getAll() {
+        return bomCostRepository.findAllWithBom().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public BomCostResponse getByBomId(Long bomId) {
+        BomCost cost = bomCostRepository.findByBomHeaderId(bomId)
+                .orElseThrow(() -> new ResourceNotFoundException("BOM cost", "bomId", bomId));
+        return mapToResponse(cost);
+    }
+
+    @Override
+    public Map<Long, BigDecimal> getMaterialCosts(Collection<Long> bomIds) {
+        if (bomIds.isEmpty()) {
+            return Map.of();
+        }
+        return bomCostRepository.findByBomHeaderIdIn(bomIds).stream()
+                .collect(Collectors.toMap(cost -> cost.getBomHeader().getId(), BomCost::getMaterialCost));
+    }
+
+    @Override
+    public Map<Long, BigDecimal> getActiveUnitCosts(Collection<Long> finishedGoodsIds) {
+        Map<Long, BigDecimal> costs = new HashMap<>();
+        if (!finishedGoodsIds.isEmpty()) {
+            for (Object[] row : bomCostRepository.findActiveUnitCostsByFinishedGoodsIds(finishedGoodsIds)) {
+                costs.put((Long) row[0], (BigDecimal) row[1]);
+            }
+        }
+        return costs;
+    }
+
+    @Override
+    @Transactional
+    public void onBomChanged(Long bomId) {
+        BomHeader bomHeader = bomHeaderRepository.findById(bomId)
+                .orElseThrow(() -> new ResourceNotFoundException("BOM", "id", bomId));
+        recalculate(bomHeader, new HashSet<>());
+        // Parents depend on whichever BOM is active for this finished good, so they are always re-costed
+        propagate(bomHeaderRepository.findIdsByItem(SUB_ASSEMBLY, bomHeader.getFinishedGoods().getId()));
+    }
+
+    @Override
+    @Transactional
+    public void onBomDeleted(Long bomId, Long finishedGoodsId) {
+        bomCostRepository.deleteByBomHeaderId(bomId);
+        propagate(bomHeaderRepository.findIdsByItem(SUB_ASSEMBLY, finishedGoodsId));
+    }
+
+    @Override
+    @Transactional
+    public void onItemCostChanged(String itemType, Long itemId) {
+        List<Long> affected = bomHeaderRepository.findIdsByItem(itemType, itemId);
+        log.info("Re-costing {} BOM(s) using {} {}", affected.size(), itemType, itemId);
+        propagate(affected);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        bomCostRepository.deleteAllInBatch();
+        List<BomHeader> bomHeaders = bomHeaderRepository.findAll();
+        for (BomHeader bomHeader : bomHeaders) {
+            recalculate(bomHeader, new HashSet<>());
+        }
+        log.info("Rebuilt rolled-up costs for {} BOM(s)", bomHeaders.size());
+        return bomHeaders.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (bomCostRepository.count() == 0 && bomHeaderRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    private void propagate(Collection<Long> bomIds) {
+        Deque<Long> queue = new ArrayDeque<>(bomIds);
+        Set<Long> queued = new HashSet<>(bomIds);
+        int steps = 0;
+
+        while (!queue.isEmpty()) {
+            if (++steps > MAX_PROPAGATION_STEPS) {
+                throw new BusinessException("BOM cost roll-up did not converge. Check for circular BOM references.");
+            }
+            Long bomId = queue.poll();
+            queued.remove(bomId);
+
+            BomHeader bomHeader = bomHeaderRepository.findById(bomId).orElse(null);
+            if (bomHeader == null) {
+                continue;
+            }
+            boolean changed = recalculate(bomHeader, new HashSet<>());
+            if (changed && Boolean.TRUE.equals(bomHeader.getIsActive())) {
+                for (Long parentId : bomHeaderRepository.findIdsByItem(SUB_ASSEMBLY, bomHeader.getFinishedGoods().getId())) {
+                    if (queued.add(parentId)) {
+                        queue.add(parentId);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean recalculate(BomHeader bomHeader, Set<Long> inProgress) {
+        if (!inProgress.add(bomHeader.getId())) {
+            throw new BusinessException("Circular BOM reference detected at BOM " + bomHeader.getBomCode());
+        }
+
+        Set<Long> rawMaterialIds = new HashSet<>();
+        Set<Long> subAssemblyIds = new HashSet<>();
+        for (BomDetail detail : bomHeader.getDetails()) {
+            if (RAW_MATERIAL.equals(detail.getItemType())) {
+                rawMaterialIds.add(detail.getItemId());
+            } else if (SUB_ASSEMBLY.equals(detail.getItemType())) {
+                subAssemblyIds.add(detail.getItemId());
+            }
+        }
+
+        Map<Long, BigDecimal> rawMaterialCosts = new HashMap<>();
+        for (RawMaterial rm : rawMaterialRepository.findAllById(rawMaterialIds)) {
+            rawMaterialCosts.put(rm.getId(), rm.getStandardCost() != null ? rm.getStandardCost() : BigDecimal.ZERO);
+        }
+        Map<Long, BigDecimal> subAssemblyCosts = getSubAssemblyUnitCosts(subAssemblyIds, inProgress);
+
+        BigDecimal materialCost = BigDecimal.ZERO;
+        for (BomDetail detail : bomHeader.getDetails()) {
+            BigDecimal itemCost = BigDecimal.ZERO;
+            if (RAW_MATERIAL.equals(detail.getItemType())) {
+                itemCost = rawMaterialCosts.getOrDefault(detail.getItemId(), BigDecimal.ZERO);
+            } else if (SUB_ASSEMBLY.equals(detail.getItemType())) {
+                itemCost = subAssemblyCosts.getOrDefault(detail.getItemId(), BigDecimal.ZERO);
+            }
+            materialCost = materialCost.add(detail.getQuantityWithWastage().multiply(itemCost));
+        }
+        materialCost = materialCost.setScale(SCALE, RoundingMode.HALF_UP);
+
+        BigDecimal outputQuantity = bomHeader.getOutputQuantity() != null
+                && bomHeader.getOutputQuantity().compareTo(BigDecimal.ZERO) > 0
+                ? bomHeader.getOutputQuantity() : BigDecimal.ONE;
+        BigDecimal unitCost = materialCost.divide(outputQuantity, SCALE, RoundingMode.HALF_UP);
+
+        BomCost cost = bomCostRepository.findByBomHeaderId(bomHeader.getId())
+                .orElseGet(() -> BomCost.builder().bomHeader(bomHeader).build());
+        boolean changed = cost.getId() == null
+                || cost.getMaterialCost().compareTo(materialCost) != 0
+                || cost.getUnitCost().compareTo(unitCost) != 0;
+
+        if (changed) {
+            cost.setMaterialCost(materialCost);
+            cost.setUnitCost(unitCost);
+            bomCostRepository.save(cost);
+        }
+
+        inProgress.remove(bomHeader.getId());
+        return changed;
+    }
+
+    private Map<Long, BigDecimal> getSubAssemblyUnitCosts(Set<Long> finishedGoodsIds, Set<Long> inProgress) {
+        Map<Long, BigDecimal> costs = getActiveUnitCosts(finishedGoodsIds);
+
+        for (Long finishedGoodsId : finishedGoodsIds) {
+            if (costs.containsKey(finishedGoodsId)) {
+                continue;
+            }
+            Optional<BomHeader> activeBom = bomHeaderRepository.findActiveByFinishedGoodsId(finishedGoodsId);
+            if (activeBom.isPresent()) {
+                // Child has not been costed yet, roll it up first
+                recalculate(activeBom.get(), inProgress);
+                costs.put(finishedGoodsId, bomCostRepository.findByBomHeaderId(activeBom.get().getId())
+                        .map(BomCost::getUnitCost)
+                        .orElse(BigDecimal.ZERO));
+            } else {
+                costs.put(finishedGoodsId, finishedGoodsRepository.findById(finishedGoodsId)
+                        .map(FinishedGoods::getStandardCost)
+                        .orElse(BigDecimal.ZERO));
+            }
+        }
+        return costs;
+    }
+
+    private BomCostResponse mapToResponse(BomCost cost) {
+        BomHeader bomHeader = cost.getBomHeader();
+        FinishedGoods fg = bomHeader.getFinishedGoods();
+
+        return BomCostResponse.builder()
+                .bomId(bomHeader.getId())
+                .bomCode(bomHeader.getBomCode())
+                .version(bomHeader.getVersion())
+                .finishedGoodsId(fg.getId())
+                .finishedGoodsCode(fg.getCode())
+                .finishedGoodsName(fg.getName())
+                .outputQuantity(bomHeader.getOutputQuantity())
+                .isActive(bomHeader.getIsActive())
+                .materialCost(cost.getMaterialCost())
+                .unitCost(cost.getUnitCost())
+                .calculatedAt(cost.getCalculatedAt())
+                .build();
+    }
+}
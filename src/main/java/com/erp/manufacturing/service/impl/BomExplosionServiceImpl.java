@@ -0,0 +1,397 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.BomExplosionLineResponse;
+import com.erp.manufacturing.dto.response.BomExplosionResponse;
+import com.erp.manufacturing.entity.BomDetail;
+import com.erp.manufacturing.entity.BomHeader;
+import com.erp.manufacturing.entity.FinishedGoods;
+import com.erp.manufacturing.entity.RawMaterial;
+import com.erp.manufacturing.exception.BusinessException;
+import com.erp.manufacturing.exception.ResourceNotFoundException;
+import com.erp.manufacturing.repository.BomHeaderRepository;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.service.BomExplosionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class BomExplosionServiceImpl implements BomExplosionService {
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+    private static final String SUB_ASSEMBLY = "SUB_ASSEMBLY";
+    private static final int SCALE = 6;
+    private static final BomKey NO_ACTIVE_BOM = new BomKey(0L, "", null);
+
+    private final BomHeaderRepository bomHeaderRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+
+    // Expanded sub-trees per (bomId, version, updatedAt), normalised to one unit of BOM output; bounded, and the
+    // TTL caps how long an entry that escaped an eviction can be served
+    private final Cache<BomKey, ExplodedBom> explodedBoms;
+    private final Cache<Long, BomKey> bomKeys;
+    private final Cache<Long, BomKey> activeBomKeys;
+    // Bumped by every eviction; an expansion that started before one does not keep what it read
+    private final AtomicLong generation = new AtomicLong();
+
+    public BomExplosionServiceImpl(BomHeaderRepository bomHeaderRepository,
+                                   FinishedGoodsRepository finishedGoodsRepository,
+                                   RawMaterialRepository rawMaterialRepository,
+                                   @Value("${app.bom.explosion-cache.maximum-size:5000}") long maximumSize,
+                                   @Value("${app.bom.explosion-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.bomHeaderRepository = bomHeaderRepository;
+        this.finishedGoodsRepository = finishedGoodsRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.explodedBoms = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.bomKeys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.activeBomKeys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    public BomExplosionResponse explode(Long bomId, BigDecimal quantity) {
+        ExplodedBom exploded = expand(bomId, sharedExpansion());
+        return mapToResponse(exploded, quantity);
+    }
+
+    @Override
+    public BomExplosionResponse explodeFinishedGoods(Long finishedGoodsId, BigDecimal quantity) {
+        ExplodedBom exploded = expandActive(finishedGoodsId, sharedExpansion());
+        if (exploded == null) {
+            throw new ResourceNotFoundException("Active BOM", "finishedGoodsId", finishedGoodsId);
+        }
+        return mapToResponse(exploded, quantity);
+    }
+
+    @Override
+    public Map<Long, BigDecimal> getRawMaterialRequirements(Long bomId) {
+        return expand(bomId, sharedExpansion()).rawMaterialRequirements();
+    }
+
+    @Override
+    public Map<Long, BigDecimal> getRawMaterialRequirementsForFinishedGoods(Long finishedGoodsId) {
+        ExplodedBom exploded = expandActive(finishedGoodsId, sharedExpansion());
+        return exploded != null ? exploded.rawMaterialRequirements() : Map.of();
+    }
+
+    @Override
+    public Components getComponents(Long bomId) {
+        return components(expand(bomId, sharedExpansion()));
+    }
+
+    @Override
+    public Components getComponentsForFinishedGoods(Long finishedGoodsId) {
+        ExplodedBom exploded = expandActive(finishedGoodsId, sharedExpansion());
+        return exploded != null ? components(exploded) : new Components(Map.of(), Map.of());
+    }
+
+    @Override
+    public void validateNoCycles(BomHeader bomHeader) {
+        // Expands against throw-away memo tables so uncommitted BOM changes never reach the shared memo
+        Expansion expansion = new Expansion(new HashMap<>(), new HashMap<>(), new HashMap<>(), null, 0L);
+        expansion.path.push(bomHeader.getFinishedGoods().getId());
+        expand(bomHeader, expansion);
+    }
+
+    @Override
+    public void evictAll() {
+        clearMemo();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clearMemo();
+                }
+            });
+        }
+    }
+
+    // The generation moves before the clear, so an expansion that stores after the clear sees it and backs out
+    private void clearMemo() {
+        generation.incrementAndGet();
+        explodedBoms.invalidateAll();
+        bomKeys.invalidateAll();
+        activeBomKeys.invalidateAll();
+    }
+
+    private Expansion sharedExpansion() {
+        return new Expansion(explodedBoms.asMap(), bomKeys.asMap(), activeBomKeys.asMap(), generation, generation.get());
+    }
+
+    private ExplodedBom expand(Long bomId, Expansion expansion) {
+        BomKey key = expansion.bomKeys.get(bomId);
+        if (key != null) {
+            ExplodedBom cached = expansion.memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        BomHeader bomHeader = bomHeaderRepository.findById(bomId)
+                .orElseThrow(() -> new ResourceNotFoundException("BOM", "id", bomId));
+        return expand(bomHeader, expansion);
+    }
+
+    private ExplodedBom expandActive(Long finishedGoodsId, Expansion expansion) {
+        if (expansion.path.contains(finishedGoodsId)) {
+            throw new BusinessException("Circular BOM reference detected: " + describePath(expansion, finishedGoodsId));
+        }
+
+        BomKey key = expansion.activeBomKeys.get(finishedGoodsId);
+        if (key == NO_ACTIVE_BOM) {
+            return null;
+        }
+        if (key != null) {
+            ExplodedBom cached = expansion.memo.get(key);
+            if (cached != null) {
+                for (Long pathItem : expansion.path) {
+                    if (cached.finishedGoodsIds().contains(pathItem)) {
+                        throw new BusinessException("Circular BOM reference detected: " + describePath(expansion, pathItem));
+                    }
+                }
+                return cached;
+            }
+        }
+
+        BomHeader bomHeader = bomHeaderRepository.findActiveByFinishedGoodsId(finishedGoodsId).orElse(null);
+        if (bomHeader == null) {
+            expansion.remember(expansion.activeBomKeys, finishedGoodsId, NO_ACTIVE_BOM);
+            return null;
+        }
+        expansion.remember(expansion.activeBomKeys, finishedGoodsId, keyOf(bomHeader));
+
+        expansion.path.push(finishedGoodsId);
+        try {
+            return expand(bomHeader, expansion);
+        } finally {
+            expansion.path.pop();
+        }
+    }
+
+    private ExplodedBom expand(BomHeader bomHeader, Expansion expansion) {
+        BomKey key = keyOf(bomHeader);
+        ExplodedBom cached = expansion.memo.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        BigDecimal outputQuantity = bomHeader.getOutputQuantity() != null
+                && bomHeader.getOutputQuantity().compareTo(BigDecimal.ZERO) > 0
+                ? bomHeader.getOutputQuantity() : BigDecimal.ONE;
+
+        List<ExplodedLine> lines = new ArrayList<>();
+        Map<Long, BigDecimal> rawMaterialRequirements = new LinkedHashMap<>();
+        Set<Long> finishedGoodsIds = new HashSet<>();
+        finishedGoodsIds.add(bomHeader.getFinishedGoods().getId());
+        int maxLevel = 0;
+
+        for (BomDetail detail : bomHeader.getDetails()) {
+            BigDecimal perUnit = detail.getQuantityWithWastage().divide(outputQuantity, SCALE, RoundingMode.HALF_UP);
+            ExplodedBom child = SUB_ASSEMBLY.equals(detail.getItemType())
+                    ? expandActive(detail.getItemId(), expansion) : null;
+
+            lines.add(new ExplodedLine(1, bomHeader.getId(), detail.getItemType(), detail.getItemId(), perUnit, child == null));
+            maxLevel = Math.max(maxLevel, 1);
+
+            if (child == null) {
+                if (RAW_MATERIAL.equals(detail.getItemType())) {
+                    rawMaterialRequirements.merge(detail.getItemId(), perUnit, BigDecimal::add);
+                }
+                continue;
+            }
+
+            for (ExplodedLine childLine : child.lines()) {
+                lines.add(new ExplodedLine(childLine.level() + 1, childLine.parentBomId(), childLine.itemType(),
+                        childLine.itemId(), scale(childLine.quantity().multiply(perUnit)), childLine.leaf()));
+            }
+            child.rawMaterialRequirements().forEach((rawMaterialId, quantity) ->
+                    rawMaterialRequirements.merge(rawMaterialId, scale(quantity.multiply(perUnit)), BigDecimal::add));
+            finishedGoodsIds.addAll(child.finishedGoodsIds());
+            maxLevel = Math.max(maxLevel, child.maxLevel() + 1);
+        }
+
+        ExplodedBom exploded = new ExplodedBom(bomHeader.getId(), bomHeader.getBomCode(), bomHeader.getVersion(),
+                bomHeader.getFinishedGoods().getId(), maxLevel, Collections.unmodifiableList(lines),
+                Collections.unmodifiableMap(rawMaterialRequirements), Collections.unmodifiableSet(finishedGoodsIds));
+        expansion.remember(expansion.memo, key, exploded);
+        expansion.remember(expansion.bomKeys, bomHeader.getId(), key);
+        return exploded;
+    }
+
+    private static BomKey keyOf(BomHeader bomHeader) {
+        return new BomKey(bomHeader.getId(), bomHeader.getVersion(), bomHeader.getUpdatedAt());
+    }
+
+    private Components components(ExplodedBom exploded) {
+        Map<Long, BigDecimal> rawMaterials = new LinkedHashMap<>();
+        Map<Long, BigDecimal> subAssemblies = new LinkedHashMap<>();
+        for (ExplodedLine line : exploded.lines()) {
+            if (line.level() != 1) {
+                continue;
+            }
+            if (RAW_MATERIAL.equals(line.itemType())) {
+                rawMaterials.merge(line.itemId(), line.quantity(), BigDecimal::add);
+            } else if (SUB_ASSEMBLY.equals(line.itemType())) {
+                subAssemblies.merge(line.itemId(), line.quantity(), BigDecimal::add);
+            }
+        }
+        return new Components(Collections.unmodifiableMap(rawMaterials), Collections.unmodifiableMap(subAssemblies));
+    }
+
+    private String describePath(Expansion expansion, Long repeatedFinishedGoodsId) {
+        List<Long> path = new ArrayList<>(expansion.path);
+        Collections.reverse(path);
+        path.add(repeatedFinishedGoodsId);
+        Map<Long, String> codes = finishedGoodsRepository.findAllById(path).stream()
+                .collect(Collectors.toMap(FinishedGoods::getId, FinishedGoods::getCode));
+        return path.stream()
+                .map(id -> codes.getOrDefault(id, String.valueOf(id)))
+                .collect(Collectors.joining(" -> "));
+    }
+
+    private BigDecimal scale(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    private BomExplosionResponse mapToResponse(ExplodedBom exploded, BigDecimal quantity) {
+        BigDecimal multiplier = quantity != null ? quantity : BigDecimal.ONE;
+
+        Set<Long> rawMaterialIds = new HashSet<>(exploded.rawMaterialRequirements().keySet());
+        Set<Long> finishedGoodsIds = new HashSet<>(exploded.finishedGoodsIds());
+        for (ExplodedLine line : exploded.lines()) {
+            if (RAW_MATERIAL.equals(line.itemType())) {
+                rawMaterialIds.add(line.itemId());
+            } else if (SUB_ASSEMBLY.equals(line.itemType())) {
+                finishedGoodsIds.add(line.itemId());
+            }
+        }
+        Map<Long, RawMaterial> rawMaterials = rawMaterialRepository.findAllById(rawMaterialIds).stream()
+                .collect(Collectors.toMap(RawMaterial::getId, Function.identity()));
+        Map<Long, FinishedGoods> finishedGoods = finishedGoodsRepository.findAllById(finishedGoodsIds).stream()
+                .collect(Collectors.toMap(FinishedGoods::getId, Function.identity()));
+
+        List<BomExplosionLineResponse> lines = exploded.lines().stream()
+                .map(line -> mapLineToResponse(line.level(), line.parentBomId(), line.itemType(), line.itemId(),
+                        scale(line.quantity().multiply(multiplier)), line.leaf(), rawMaterials, finishedGoods))
+                .collect(Collectors.toList());
+
+        List<BomExplosionLineResponse> requirements = exploded.rawMaterialRequirements().entrySet().stream()
+                .map(entry -> mapLineToResponse(null, null, RAW_MATERIAL, entry.getKey(),
+                        scale(entry.getValue().multiply(multiplier)), true, rawMaterials, finishedGoods))
+                .collect(Collectors.toList());
+
+        FinishedGoods fg = finishedGoods.get(exploded.finishedGoodsId());
+
+        return BomExplosionResponse.builder()
+                .bomId(exploded.bomId())
+                .bomCode(exploded.bomCode())
+                .version(exploded.version())
+                .finishedGoodsId(exploded.finishedGoodsId())
+                .finishedGoodsCode(fg != null ? fg.getCode() : null)
+                .finishedGoodsName(fg != null ? fg.getName() : null)
+                .quantity(multiplier)
+                .maxLevel(exploded.maxLevel())
+                .lines(lines)
+                .requirements(requirements)
+                .build();
+    }
+
+    private BomExplosionLineResponse mapLineToResponse(Integer level, Long parentBomId, String itemType, Long itemId,
+                                                       BigDecimal quantity, boolean leaf,
+                                                       Map<Long, RawMaterial> rawMaterials,
+                                                       Map<Long, FinishedGoods> finishedGoods) {
+        String itemCode = "";
+        String itemName = "";
+        if (RAW_MATERIAL.equals(itemType) && rawMaterials.containsKey(itemId)) {
+            itemCode = rawMaterials.get(itemId).getCode();
+            itemName = rawMaterials.get(itemId).getName();
+        } else if (SUB_ASSEMBLY.equals(itemType) && finishedGoods.containsKey(itemId)) {
+            itemCode = finishedGoods.get(itemId).getCode();
+            itemName = finishedGoods.get(itemId).getName();
+        }
+
+        return BomExplosionLineResponse.builder()
+                .level(level)
+                .parentBomId(parentBomId)
+                .itemType(itemType)
+                .itemId(itemId)
+                .itemCode(itemCode)
+                .itemName(itemName)
+                .quantity(quantity)
+                .leaf(leaf)
+                .build();
+    }
+
+    private record BomKey(Long bomId, String version, LocalDateTime updatedAt) {
+    }
+
+    private record ExplodedLine(int level, Long parentBomId, String itemType, Long itemId,
+                                BigDecimal quantity, boolean leaf) {
+    }
+
+    private record ExplodedBom(Long bomId, String bomCode, String version, Long finishedGoodsId, int maxLevel,
+                               List<ExplodedLine> lines, Map<Long, BigDecimal> rawMaterialRequirements,
+                               Set<Long> finishedGoodsIds) {
+    }
+
+    private static final class Expansion {
+
+        private final Map<BomKey, ExplodedBom> memo;
+        private final Map<Long, BomKey> bomKeys;
+        private final Map<Long, BomKey> activeBomKeys;
+        private final AtomicLong generation;
+        private final long startedAt;
+        private final Deque<Long> path = new ArrayDeque<>();
+
+        private Expansion(Map<BomKey, ExplodedBom> memo, Map<Long, BomKey> bomKeys, Map<Long, BomKey> activeBomKeys,
+                          AtomicLong generation, long startedAt) {
+            this.memo = memo;
+            this.bomKeys = bomKeys;
+            this.activeBomKeys = activeBomKeys;
+            this.generation = generation;
+            this.startedAt = startedAt;
+        }
+
+        // An entry stored after an eviction that this expansion's reads may predate is taken back out
+        private <K, V> void remember(Map<K, V> map, K key, V value) {
+            map.put(key, value);
+            if (generation != null && generation.get() != startedAt) {
+                map.remove(key, value);
+            }
+        }
+    }
+}
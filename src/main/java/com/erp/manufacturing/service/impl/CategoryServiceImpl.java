@@ -11,8 +11,12 @@ import com.erp.manufacturing.repository.CategoryRepository;
 import com.erp.manufacturing.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +29,11 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public CategoryResponse create(CategoryRequest request) {
         if (request.getCode() != null && categoryRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Category", "code", request.getCode());
@@ -55,6 +61,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public CategoryResponse update(Long id, CategoryRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id.toString()));
@@ -89,6 +100,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'id:' + #id")
     public CategoryResponse getById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id.toString()));
@@ -97,6 +109,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'code:' + #code")
     public CategoryResponse getByCode(String code) {
         Category category = categoryRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "code", code));
@@ -115,6 +128,14 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    public PageResponse<CategoryResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(categoryRepository, Category.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'type:' + #type")
     public List<CategoryResponse> getAllByType(CategoryType type) {
         return categoryRepository.findByType(type).stream()
                 .map(this::mapToResponse)
@@ -123,6 +144,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'children:' + #parentId")
     public List<CategoryResponse> getChildren(Long parentId) {
         return categoryRepository.findByParentId(parentId).stream()
                 .map(this::mapToResponse)
@@ -131,6 +153,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'roots'")
     public List<CategoryResponse> getRootCategories() {
         return categoryRepository.findByParentIsNull().stream()
                 .map(this::mapToResponse)
@@ -139,6 +162,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'tree'")
     public List<CategoryResponse> getCategoryTree() {
         List<Category> rootCategories = categoryRepository.findByParentIsNull();
         return rootCategories.stream()
@@ -148,6 +172,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "categories", key = "'active'")
     public List<CategoryResponse> getAllActive() {
         return categoryRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -156,6 +181,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public void delete(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id.toString()));
@@ -165,6 +195,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public void activate(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id.toString()));
@@ -175,6 +210,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public void deactivate(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id.toString()));
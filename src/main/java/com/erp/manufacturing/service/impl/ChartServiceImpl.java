@@ -0,0 +1,149 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.enums.ChartMetric;
+import com.erp.manufacturing.enums.ChartPeriod;
+import com.erp.manufacturing.repository.InvoiceRepository;
+import com.erp.manufacturing.repository.PurchaseDailyRollupRepository;
+import com.erp.manufacturing.repository.SalesDailyRollupRepository;
+import com.erp.manufacturing.repository.WorkOrderRepository;
+import com.erp.manufacturing.service.ChartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+// Runs outside any transaction, including a caller's, so transaction-aware cache puts happen immediately and
+// their failures are caught in putCached rather than surfacing after commit
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ChartServiceImpl implements ChartService {
+
+    private static final String CACHE_NAME = "dashboardStats";
+
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+    private final PurchaseDailyRollupRepository purchaseDailyRollupRepository;
+    private final WorkOrderRepository workOrderRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    @Override
+    public Map<String, Object> getTimeSeries(ChartMetric metric, ChartPeriod period) {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> buckets = period.bucketsEndingAt(today);
+        Cache cache = chartCache();
+
+        // Each bucket is cached on its own; whatever is missing is loaded with one query from the oldest miss onwards
+        Map<LocalDate, BigDecimal> values = new HashMap<>();
+        LocalDate firstMiss = null;
+        for (LocalDate bucket : buckets) {
+            BigDecimal cached = getCached(cache, cacheKey(metric, period, bucket));
+            if (cached != null) {
+                values.put(bucket, cached);
+            } else if (firstMiss == null) {
+                firstMiss = bucket;
+            }
+        }
+        if (firstMiss != null) {
+            Map<LocalDate, BigDecimal> loaded = loadBuckets(metric, period, firstMiss, today);
+            for (LocalDate bucket : buckets) {
+                if (!bucket.isBefore(firstMiss) && !values.containsKey(bucket)) {
+                    BigDecimal value = loaded.getOrDefault(bucket, BigDecimal.ZERO);
+                    values.put(bucket, value);
+                    putCached(cache, cacheKey(metric, period, bucket), value);
+                }
+            }
+        }
+
+        List<String> labels = new ArrayList<>(buckets.size());
+        List<BigDecimal> data = new ArrayList<>(buckets.size());
+        for (LocalDate bucket : buckets) {
+            labels.add(period.label(bucket));
+            data.add(values.get(bucket));
+        }
+
+        Map<String, Object> chartData = new HashMap<>();
+        chartData.put("labels", labels);
+
+        Map<String, Object> dataset = new HashMap<>();
+        dataset.put("label", metric.getLabel());
+        dataset.put("data", data);
+        dataset.put("fill", true);
+        dataset.put("borderColor", metric.getBorderColor());
+        dataset.put("backgroundColor", metric.getBackgroundColor());
+        dataset.put("tension", 0.4);
+
+        chartData.put("datasets", Collections.singletonList(dataset));
+        return chartData;
+    }
+
+    // Daily totals from the narrowest source available for the metric, folded into period buckets
+    private Map<LocalDate, BigDecimal> loadBuckets(ChartMetric metric, ChartPeriod period, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> dailyTotals = switch (metric) {
+            case SALES -> salesDailyRollupRepository.getDailyTotals(startDate, endDate);
+            case PURCHASES -> purchaseDailyRollupRepository.getDailyTotals(startDate, endDate);
+            case PRODUCTION_OUTPUT -> workOrderRepository.getDailyCompletedQuantity(
+                    startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+            case RECEIVABLES -> invoiceRepository.getDailyOutstandingAmount(startDate, endDate);
+        };
+
+        Map<LocalDate, BigDecimal> buckets = new HashMap<>();
+        for (Object[] row : dailyTotals) {
+            if (row[0] != null && row[1] != null) {
+                buckets.merge(period.truncate((LocalDate) row[0]), (BigDecimal) row[1], BigDecimal::add);
+            }
+        }
+        return buckets;
+    }
+
+    private static String cacheKey(ChartMetric metric, ChartPeriod period, LocalDate bucket) {
+        return "chart:" + metric + ":" + period + ":" + bucket;
+    }
+
+    private Cache chartCache() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+
+    // Direct cache access bypasses the cache error handler, so a cache outage is handled here
+    private BigDecimal getCached(Cache cache, String key) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            Object value = wrapper != null ? wrapper.get() : null;
+            if (value == null) {
+                return null;
+            }
+            return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        } catch (RuntimeException e) {
+            log.warn("Chart cache get failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putCached(Cache cache, String key, BigDecimal value) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Chart cache put failed for {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.erp.manufacturing.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// RFC 4180 CSV written row by row through a fixed-size buffer
+final class CsvReportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_END = "\r\n";
+
+    private CsvReportWriter() {
+    }
+
+    static void write(List<ReportTable<?>> tables, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        boolean multiple = tables.size() > 1;
+        for (int i = 0; i < tables.size(); i++) {
+            if (i > 0) {
+                writer.write(LINE_END);
+            }
+            writeTable(writer, tables.get(i), multiple);
+        }
+        writer.flush();
+    }
+
+    private static <T> void writeTable(Writer writer, ReportTable<T> table, boolean titled) throws IOException {
+        if (titled) {
+            writeRecord(writer, List.of(table.title()));
+        }
+        List<Object> headers = new ArrayList<>(table.columns().size());
+        table.columns().forEach(column -> headers.add(column.header()));
+        writeRecord(writer, headers);
+
+        List<Object> values = new ArrayList<>(table.columns().size());
+        try (Stream<T> rows = table.rows().get()) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                values.clear();
+                table.columns().forEach(column -> values.add(column.value().apply(row)));
+                writeRecord(writer, values);
+            }
+        }
+    }
+
+    private static void writeRecord(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(format(values.get(i)));
+        }
+        writer.write(LINE_END);
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number || value instanceof Enum<?>) {
+            return value.toString();
+        }
+        String text = value.toString();
+        // Text that a spreadsheet would evaluate as a formula is kept literal
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -4,14 +4,20 @@ import com.erp.manufacturing.dto.request.CustomerRequest;
 import com.erp.manufacturing.dto.response.CustomerResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.entity.Customer;
+import com.erp.manufacturing.enums.LookupType;
+import com.erp.manufacturing.event.MasterDataChangedEvent;
 import com.erp.manufacturing.exception.DuplicateResourceException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.CustomerRepository;
 import com.erp.manufacturing.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +31,12 @@ import java.util.stream.Collectors;
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "customers", allEntries = true)
     public CustomerResponse create(CustomerRequest request) {
         if (customerRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Customer", "code", request.getCode());
@@ -62,11 +71,13 @@ public class CustomerServiceImpl implements CustomerService {
 
         Customer saved = customerRepository.save(customer);
         log.info("Customer created: {}", saved.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.CUSTOMER, saved.getId()));
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "customers", allEntries = true)
     public CustomerResponse update(Long id, CustomerRequest request) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id.toString()));
@@ -103,11 +114,13 @@ public class CustomerServiceImpl implements CustomerService {
 
         Customer saved = customerRepository.save(customer);
         log.info("Customer updated: {}", saved.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.CUSTOMER, saved.getId()));
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "customers", key = "'id:' + #id")
     public CustomerResponse getById(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id.toString()));
@@ -116,6 +129,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "customers", key = "'code:' + #code")
     public CustomerResponse getByCode(String code) {
         Customer customer = customerRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "code", code));
@@ -132,6 +146,13 @@ public class CustomerServiceImpl implements CustomerService {
         return PageResponse.of(content, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CustomerResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(customerRepository, Customer.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CustomerResponse> search(String query, Pageable pageable) {
@@ -144,6 +165,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "customers", key = "'active'")
     public List<CustomerResponse> getAllActive() {
         return customerRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -152,6 +174,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "customers", key = "'type:' + #customerType")
     public List<CustomerResponse> getByType(String customerType) {
         return customerRepository.findByCustomerType(customerType).stream()
                 .map(this::mapToResponse)
@@ -160,31 +183,37 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "customers", allEntries = true)
     public void delete(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id.toString()));
         customerRepository.delete(customer);
         log.info("Customer deleted: {}", customer.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.CUSTOMER, customer.getId()));
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "customers", allEntries = true)
     public void activate(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id.toString()));
         customer.setIsActive(true);
         customerRepository.save(customer);
         log.info("Customer activated: {}", customer.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.CUSTOMER, customer.getId()));
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "customers", allEntries = true)
     public void deactivate(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id.toString()));
         customer.setIsActive(false);
         customerRepository.save(customer);
         log.info("Customer deactivated: {}", customer.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.CUSTOMER, customer.getId()));
     }
 
     private CustomerResponse mapToResponse(Customer customer) {
@@ -1,18 +1,34 @@
 package com.erp.manufacturing.service.impl;
 
 import com.erp.manufacturing.dto.response.DashboardStatsResponse;
-import com.erp.manufacturing.enums.OrderStatus;
+import com.erp.manufacturing.entity.FinishedGoods;
+import com.erp.manufacturing.entity.RawMaterial;
+import com.erp.manufacturing.entity.StockAlert;
+import com.erp.manufacturing.enums.ChartMetric;
+import com.erp.manufacturing.enums.ChartPeriod;
 import com.erp.manufacturing.enums.WorkOrderStatus;
+import com.erp.manufacturing.exception.InvalidOperationException;
 import com.erp.manufacturing.repository.*;
+import com.erp.manufacturing.service.ChartService;
 import com.erp.manufacturing.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,98 +36,136 @@ import java.util.*;
 @Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 
+    private static final String STATS_KEY = "stats";
+
+    // Every dashboard figure in one round trip: one aggregate per domain, cross-joined into a single row
+    private static final String STATS_SQL =
+            "SELECT * FROM " +
+            "(SELECT COALESCE(SUM(amount) FILTER (WHERE rollup_date >= :startOfMonth AND status NOT IN ('DRAFT', 'CANCELLED')), 0) AS total_sales, " +
+            "        COALESCE(SUM(amount) FILTER (WHERE rollup_date < :startOfMonth AND status NOT IN ('DRAFT', 'CANCELLED')), 0) AS last_month_sales, " +
+            "        COALESCE(SUM(order_count) FILTER (WHERE rollup_date = :today), 0) AS new_orders_today " +
+            " FROM sales_daily_rollups WHERE finished_goods_id = 0 AND rollup_date BETWEEN :lastMonthStart AND :today) sales " +
+            "CROSS JOIN " +
+            "(SELECT COUNT(*) AS pending_orders FROM sales_orders " +
+            " WHERE status IN ('CONFIRMED', 'PROCESSING') AND is_deleted = false) orders " +
+            "CROSS JOIN " +
+            "(SELECT COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_work_orders, " +
+            "        COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed_work_orders " +
+            " FROM work_orders WHERE status IN ('IN_PROGRESS', 'COMPLETED') AND is_deleted = false) production " +
+            "CROSS JOIN " +
+            "(SELECT COUNT(*) AS low_stock_items, COUNT(*) FILTER (WHERE alert_level = 'CRITICAL') AS critical_stock_items " +
+            " FROM stock_alerts) alerts " +
+            "CROSS JOIN " +
+            "(SELECT (SELECT COUNT(*) FROM customers WHERE is_deleted = false) AS total_customers, " +
+            "        (SELECT COUNT(*) FROM suppliers WHERE is_deleted = false) AS total_suppliers, " +
+            "        (SELECT COUNT(*) FROM finished_goods WHERE is_deleted = false) AS total_products, " +
+            "        (SELECT COUNT(*) FROM raw_materials WHERE is_deleted = false) AS total_raw_materials) masters " +
+            "CROSS JOIN " +
+            "(SELECT COALESCE(SUM(amount), 0) AS total_purchases FROM purchase_daily_rollups " +
+            " WHERE raw_material_id = 0 AND rollup_date BETWEEN :startOfMonth AND :today " +
+            " AND status NOT IN ('DRAFT', 'CANCELLED')) purchases " +
+            "CROSS JOIN " +
+            "(SELECT COALESCE(SUM(grand_total - paid_amount), 0) AS outstanding_receivables FROM invoices " +
+            " WHERE payment_status IN ('UNPAID', 'PARTIALLY_PAID') AND status NOT IN ('DRAFT', 'CANCELLED') " +
+            " AND is_deleted = false) receivables";
+
     private final SalesOrderRepository salesOrderRepository;
-    private final PurchaseOrderRepository purchaseOrderRepository;
     private final WorkOrderRepository workOrderRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final FinishedGoodsRepository finishedGoodsRepository;
-    private final CustomerRepository customerRepository;
-    private final SupplierRepository supplierRepository;
-    private final InvoiceRepository invoiceRepository;
+    private final StockAlertRepository stockAlertRepository;
+    private final ChartService chartService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    private final Object refreshLock = new Object();
 
+    // Last computed stats, served directly when no cache is configured
+    private volatile DashboardStatsResponse snapshot;
+
+    // Stats only use JdbcTemplate; outside a transaction the snapshot is cached immediately, so a cache failure
+    // is caught in refreshStats rather than surfacing after commit
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStatsResponse getStats() {
+        Cache cache = statsCache();
+        DashboardStatsResponse cached = getCached(cache);
+        if (cached != null) {
+            return cached;
+        }
+        if (cache == null && snapshot != null) {
+            return snapshot;
+        }
+        // Only the first request after a miss computes; concurrent ones wait for and reuse its result
+        synchronized (refreshLock) {
+            cached = cache != null ? getCached(cache) : snapshot;
+            return cached != null ? cached : refreshStats();
+        }
+    }
+
+    // Refresh-ahead: the snapshot is recomputed well inside the dashboardStats TTL, so requests find it cached
+    @Scheduled(fixedDelayString = "${app.dashboard.stats-refresh-ms:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DashboardStatsResponse refreshStats() {
         LocalDate today = LocalDate.now();
         LocalDate startOfMonth = today.withDayOfMonth(1);
         LocalDate lastMonthStart = startOfMonth.minusMonths(1);
-        LocalDate lastMonthEnd = startOfMonth.minusDays(1);
 
-        // Sales stats
-        BigDecimal totalSales = salesOrderRepository.getTotalSalesValue(startOfMonth, today);
-        if (totalSales == null) totalSales = BigDecimal.ZERO;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("today", today)
+                .addValue("startOfMonth", startOfMonth)
+                .addValue("lastMonthStart", lastMonthStart);
+        DashboardStatsResponse stats = jdbcTemplate.queryForObject(STATS_SQL, params, (rs, rowNum) -> {
+            BigDecimal totalSales = rs.getBigDecimal("total_sales");
+            BigDecimal lastMonthSales = rs.getBigDecimal("last_month_sales");
 
-        BigDecimal lastMonthSales = salesOrderRepository.getTotalSalesValue(lastMonthStart, lastMonthEnd);
-        if (lastMonthSales == null) lastMonthSales = BigDecimal.ZERO;
+            BigDecimal salesGrowth = BigDecimal.ZERO;
+            if (lastMonthSales.compareTo(BigDecimal.ZERO) > 0) {
+                salesGrowth = totalSales.subtract(lastMonthSales)
+                        .divide(lastMonthSales, 2, java.math.RoundingMode.HALF_UP)
+                        .multiply(new BigDecimal("100"));
+            }
 
-        BigDecimal salesGrowth = BigDecimal.ZERO;
-        if (lastMonthSales.compareTo(BigDecimal.ZERO) > 0) {
-            salesGrowth = totalSales.subtract(lastMonthSales)
-                    .divide(lastMonthSales, 2, java.math.RoundingMode.HALF_UP)
-                    .multiply(new BigDecimal("100"));
-        }
+            return DashboardStatsResponse.builder()
+                    .totalSales(totalSales)
+                    .salesGrowthPercent(salesGrowth)
+                    .pendingOrders(rs.getLong("pending_orders"))
+                    .newOrdersToday(rs.getLong("new_orders_today"))
+                    .productionCount(rs.getLong("in_progress_work_orders") + rs.getLong("completed_work_orders"))
+                    .productionEfficiencyPercent(85.0) // Placeholder - calculate based on actual vs planned
+                    .lowStockItems(rs.getLong("low_stock_items"))
+                    .criticalStockItems(rs.getLong("critical_stock_items"))
+                    .totalCustomers(rs.getLong("total_customers"))
+                    .totalSuppliers(rs.getLong("total_suppliers"))
+                    .totalProducts(rs.getLong("total_products"))
+                    .totalRawMaterials(rs.getLong("total_raw_materials"))
+                    .totalPurchases(rs.getBigDecimal("total_purchases"))
+                    .outstandingReceivables(rs.getBigDecimal("outstanding_receivables"))
+                    .outstandingPayables(BigDecimal.ZERO)
+                    .build();
+        });
 
-        // Order counts
-        long pendingOrders = salesOrderRepository.countByStatus(OrderStatus.CONFIRMED) +
-                salesOrderRepository.countByStatus(OrderStatus.PROCESSING);
-
-        // Production stats
-        long inProgressWO = workOrderRepository.countByStatus(WorkOrderStatus.IN_PROGRESS);
-        long completedWO = workOrderRepository.countByStatus(WorkOrderStatus.COMPLETED);
-        double efficiency = 85.0; // Placeholder - calculate based on actual vs planned
-
-        // Low stock - using repository count methods
-        long lowStockItems = rawMaterialRepository.count(); // Simplified
-        long criticalStockItems = 0;
-
-        // Totals
-        long totalCustomers = customerRepository.count();
-        long totalSuppliers = supplierRepository.count();
-        long totalProducts = finishedGoodsRepository.count();
-        long totalRawMaterials = rawMaterialRepository.count();
-
-        // Purchase stats
-        BigDecimal totalPurchases = purchaseOrderRepository.getTotalPurchaseValue(startOfMonth, today);
-        if (totalPurchases == null) totalPurchases = BigDecimal.ZERO;
-
-        // Outstanding amounts
-        BigDecimal outstandingReceivables = invoiceRepository.getTotalOutstandingAmount();
-        if (outstandingReceivables == null) outstandingReceivables = BigDecimal.ZERO;
-
-        return DashboardStatsResponse.builder()
-                .totalSales(totalSales)
-                .salesGrowthPercent(salesGrowth)
-                .pendingOrders(pendingOrders)
-                .newOrdersToday(0) // Would need additional query
-                .productionCount(inProgressWO + completedWO)
-                .productionEfficiencyPercent(efficiency)
-                .lowStockItems(lowStockItems)
-                .criticalStockItems(criticalStockItems)
-                .totalCustomers(totalCustomers)
-                .totalSuppliers(totalSuppliers)
-                .totalProducts(totalProducts)
-                .totalRawMaterials(totalRawMaterials)
-                .totalPurchases(totalPurchases)
-                .outstandingReceivables(outstandingReceivables)
-                .outstandingPayables(BigDecimal.ZERO)
-                .build();
+        snapshot = stats;
+        Cache cache = statsCache();
+        if (cache != null) {
+            try {
+                cache.put(STATS_KEY, stats);
+            } catch (RuntimeException e) {
+                log.warn("Could not cache dashboard stats: {}", e.getMessage());
+            }
+        }
+        return stats;
     }
 
     @Override
     public Map<String, Object> getSalesChart(String period) {
-        // Return sample chart data
-        Map<String, Object> chartData = new HashMap<>();
-        chartData.put("labels", Arrays.asList("Jan", "Feb", "Mar", "Apr", "May", "Jun"));
-        
-        Map<String, Object> dataset = new HashMap<>();
-        dataset.put("label", "Sales");
-        dataset.put("data", Arrays.asList(65000, 59000, 80000, 81000, 56000, 55000));
-        dataset.put("fill", true);
-        dataset.put("borderColor", "#1976d2");
-        dataset.put("backgroundColor", "rgba(25, 118, 210, 0.1)");
-        dataset.put("tension", 0.4);
-        
-        chartData.put("datasets", Collections.singletonList(dataset));
-        return chartData;
+        return chartService.getTimeSeries(ChartMetric.SALES, parse(ChartPeriod.class, period, "chart period"));
+    }
+
+    @Override
+    public Map<String, Object> getTrendChart(String metric, String period) {
+        return chartService.getTimeSeries(parse(ChartMetric.class, metric, "chart metric"),
+                parse(ChartPeriod.class, period, "chart period"));
     }
 
     @Override
@@ -167,21 +221,79 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public List<Map<String, Object>> getLowStockItems(int limit) {
+        List<StockAlert> alerts = stockAlertRepository.findMostUrgent(PageRequest.of(0, limit));
+
+        List<Long> rawMaterialIds = alertItemIds(alerts, "RAW_MATERIAL");
+        List<Long> finishedGoodsIds = alertItemIds(alerts, "FINISHED_GOODS");
+        Map<Long, RawMaterial> rawMaterials = (rawMaterialIds.isEmpty()
+                ? List.<RawMaterial>of() : rawMaterialRepository.findAllWithUnitByIdIn(rawMaterialIds)).stream()
+                .collect(Collectors.toMap(RawMaterial::getId, Function.identity()));
+        Map<Long, FinishedGoods> finishedGoods = (finishedGoodsIds.isEmpty()
+                ? List.<FinishedGoods>of() : finishedGoodsRepository.findAllWithUnitByIdIn(finishedGoodsIds)).stream()
+                .collect(Collectors.toMap(FinishedGoods::getId, Function.identity()));
+
         List<Map<String, Object>> items = new ArrayList<>();
-        rawMaterialRepository.findAll().stream()
-                .filter(rm -> rm.getReorderLevel() != null)
-                .limit(limit)
-                .forEach(rm -> {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("id", rm.getId());
-                    item.put("name", rm.getName());
-                    item.put("code", rm.getCode());
-                    item.put("currentStock", 0); // Would need stock repository
-                    item.put("reorderLevel", rm.getReorderLevel());
-                    item.put("unitName", rm.getUnit() != null ? rm.getUnit().getSymbol() : "");
-                    items.add(item);
-                });
+        for (StockAlert alert : alerts) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", alert.getItemId());
+            item.put("itemType", alert.getItemType());
+            if ("RAW_MATERIAL".equals(alert.getItemType())) {
+                RawMaterial rm = rawMaterials.get(alert.getItemId());
+                if (rm == null) {
+                    continue;
+                }
+                item.put("name", rm.getName());
+                item.put("code", rm.getCode());
+                item.put("unitName", rm.getUnit() != null ? rm.getUnit().getSymbol() : "");
+            } else {
+                FinishedGoods fg = finishedGoods.get(alert.getItemId());
+                if (fg == null) {
+                    continue;
+                }
+                item.put("name", fg.getName());
+                item.put("code", fg.getCode());
+                item.put("unitName", fg.getUnit() != null ? fg.getUnit().getSymbol() : "");
+            }
+            item.put("currentStock", alert.getAvailableQuantity());
+            item.put("reorderLevel", alert.getReorderLevel());
+            item.put("minimumStockLevel", alert.getMinimumStockLevel());
+            item.put("alertLevel", alert.getAlertLevel().name());
+            item.put("since", alert.getRaisedAt());
+            items.add(item);
+        }
         return items;
     }
-}
 
+    private List<Long> alertItemIds(List<StockAlert> alerts, String itemType) {
+        return alerts.stream()
+                .filter(alert -> itemType.equals(alert.getItemType()))
+                .map(StockAlert::getItemId)
+                .collect(Collectors.toList());
+    }
+
+    private Cache statsCache() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache("dashboardStats") : null;
+    }
+
+    // Direct cache access bypasses the cache error handler, so a cache outage falls back to recomputing
+    private DashboardStatsResponse getCached(Cache cache) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(STATS_KEY, DashboardStatsResponse.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not read cached dashboard stats: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String description) {
+        try {
+            return Enum.valueOf(type, value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidOperationException("Unsupported " + description + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.entity.DocumentSequence;
+import com.erp.manufacturing.enums.SequenceType;
+import com.erp.manufacturing.repository.DocumentSequenceRepository;
+import com.erp.manufacturing.service.DocumentNumberService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class DocumentNumberServiceImpl implements DocumentNumberService {
+
+    private final DocumentSequenceRepository documentSequenceRepository;
+    private final TransactionTemplate reservationTransaction;
+    private final int blockSize;
+    private final int fiscalYearStartMonth;
+
+    private final Map<SequenceType, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<SequenceType, Object> refillLocks = new EnumMap<>(SequenceType.class);
+
+    public DocumentNumberServiceImpl(DocumentSequenceRepository documentSequenceRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.sequence.block-size:20}") int blockSize,
+                                     @Value("${app.sequence.fiscal-year-start-month:4}") int fiscalYearStartMonth) {
+        this.documentSequenceRepository = documentSequenceRepository;
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+        this.fiscalYearStartMonth = fiscalYearStartMonth;
+        for (SequenceType type : SequenceType.values()) {
+            refillLocks.put(type, new Object());
+        }
+    }
+
+    @Override
+    public String next(SequenceType sequenceType) {
+        String fiscalYear = currentFiscalYear();
+        while (true) {
+            Block block = blocks.get(sequenceType);
+            if (block != null && block.isCurrent(fiscalYear)) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) {
+                    return block.format(value);
+                }
+            }
+            // Only the thread that finds the block exhausted talks to the database; the row lock is held
+            // for a single short transaction per block, never for the lifetime of a document transaction
+            synchronized (refillLocks.get(sequenceType)) {
+                if (blocks.get(sequenceType) == block) {
+                    blocks.put(sequenceType, reserveBlock(sequenceType, fiscalYear));
+                }
+            }
+        }
+    }
+
+    private Block reserveBlock(SequenceType sequenceType, String fiscalYear) {
+        try {
+            return reservationTransaction.execute(status -> reserveBlockInTransaction(sequenceType, fiscalYear));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the missing sequence row first
+            return reservationTransaction.execute(status -> reserveBlockInTransaction(sequenceType, fiscalYear));
+        }
+    }
+
+    private Block reserveBlockInTransaction(SequenceType sequenceType, String fiscalYear) {
+        DocumentSequence sequence = documentSequenceRepository.findForUpdate(sequenceType.name())
+                .orElseGet(() -> documentSequenceRepository.saveAndFlush(DocumentSequence.builder()
+                        .sequenceType(sequenceType.name())
+                        .prefix(sequenceType.getDefaultPrefix())
+                        .build()));
+
+        boolean resetOnFiscalYear = Boolean.TRUE.equals(sequence.getResetOnFiscalYear());
+        long currentValue = sequence.getCurrentValue() != null ? sequence.getCurrentValue() : 0L;
+        if (resetOnFiscalYear && !fiscalYear.equals(sequence.getFiscalYear())) {
+            log.info("Resetting {} numbering for fiscal year {}", sequenceType, fiscalYear);
+            currentValue = 0L;
+            sequence.setFiscalYear(fiscalYear);
+        }
+
+        long first = currentValue + 1;
+        long last = currentValue + blockSize;
+        sequence.setCurrentValue(last);
+        documentSequenceRepository.save(sequence);
+
+        log.debug("Reserved {} numbers {}-{}", sequenceType, first, last);
+        return new Block(first, last, sequence.getPrefix(), sequence.getSuffix(),
+                sequence.getPaddingLength() != null ? sequence.getPaddingLength() : 6,
+                resetOnFiscalYear ? fiscalYear : null);
+    }
+
+    private String currentFiscalYear() {
+        LocalDate today = LocalDate.now();
+        int startYear = today.getMonthValue() >= fiscalYearStartMonth ? today.getYear() : today.getYear() - 1;
+        if (fiscalYearStartMonth == 1) {
+            return String.valueOf(startYear);
+        }
+        return startYear + "-" + String.format("%02d", (startYear + 1) % 100);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long last;
+        private final String prefix;
+        private final String suffix;
+        private final int paddingLength;
+        private final String fiscalYear;
+
+        private Block(long first, long last, String prefix, String suffix, int paddingLength, String fiscalYear) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.paddingLength = paddingLength;
+            this.fiscalYear = fiscalYear;
+        }
+
+        // Blocks of non-resetting sequences carry no fiscal year and stay valid across year ends
+        private boolean isCurrent(String currentFiscalYear) {
+            return fiscalYear == null || fiscalYear.equals(currentFiscalYear);
+        }
+
+        private String format(long value) {
+            StringBuilder number = new StringBuilder();
+            if (prefix != null && !prefix.isEmpty()) {
+                number.append(prefix).append('-');
+            }
+            if (fiscalYear != null) {
+                number.append(fiscalYear).append('-');
+            }
+            String digits = Long.toString(value);
+            for (int i = digits.length(); i < paddingLength; i++) {
+                number.append('0');
+            }
+            number.append(digits);
+            if (suffix != null) {
+                number.append(suffix);
+            }
+            return number.toString();
+        }
+    }
+}
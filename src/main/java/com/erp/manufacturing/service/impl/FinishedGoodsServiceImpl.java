@@ -6,16 +6,24 @@ import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.entity.Category;
 import com.erp.manufacturing.entity.FinishedGoods;
 import com.erp.manufacturing.entity.UnitOfMeasurement;
+import com.erp.manufacturing.enums.LookupType;
+import com.erp.manufacturing.event.MasterDataChangedEvent;
 import com.erp.manufacturing.exception.DuplicateResourceException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.CategoryRepository;
 import com.erp.manufacturing.repository.FinishedGoodsRepository;
 import com.erp.manufacturing.repository.UnitOfMeasurementRepository;
+import com.erp.manufacturing.service.BomCostService;
 import com.erp.manufacturing.service.FinishedGoodsService;
+import com.erp.manufacturing.service.StockAlertService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,9 +39,14 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
     private final FinishedGoodsRepository finishedGoodsRepository;
     private final CategoryRepository categoryRepository;
     private final UnitOfMeasurementRepository unitRepository;
+    private final BomCostService bomCostService;
+    private final StockAlertService stockAlertService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "finishedGoods", allEntries = true)
     public FinishedGoodsResponse create(FinishedGoodsRequest request) {
         if (finishedGoodsRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Finished Goods", "code", request.getCode());
@@ -70,6 +83,7 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
                 .mrp(request.getMrp())
                 .standardCost(request.getStandardCost() != null ? request.getStandardCost() : BigDecimal.ZERO)
                 .reorderLevel(request.getReorderLevel() != null ? request.getReorderLevel() : BigDecimal.ZERO)
+                .minimumStockLevel(request.getMinimumStockLevel())
                 .taxPercent(request.getTaxPercent() != null ? request.getTaxPercent() : new BigDecimal("18"))
                 .shelfLifeDays(request.getShelfLifeDays())
                 .weight(request.getWeight())
@@ -83,11 +97,14 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
 
         FinishedGoods saved = finishedGoodsRepository.save(fg);
         log.info("Finished goods created: {}", saved.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.FINISHED_GOODS, saved.getId()));
+        refreshStockAlert(saved.getId());
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "finishedGoods", allEntries = true)
     public FinishedGoodsResponse update(Long id, FinishedGoodsRequest request) {
         FinishedGoods fg = finishedGoodsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", id.toString()));
@@ -125,8 +142,10 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
         fg.setSellingPrice(request.getSellingPrice());
         fg.setMinimumSellingPrice(request.getMinimumSellingPrice());
         fg.setMrp(request.getMrp());
+        BigDecimal previousStandardCost = fg.getStandardCost();
         fg.setStandardCost(request.getStandardCost());
         fg.setReorderLevel(request.getReorderLevel());
+        fg.setMinimumStockLevel(request.getMinimumStockLevel());
         fg.setTaxPercent(request.getTaxPercent());
         fg.setShelfLifeDays(request.getShelfLifeDays());
         fg.setWeight(request.getWeight());
@@ -141,11 +160,18 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
 
         FinishedGoods saved = finishedGoodsRepository.save(fg);
         log.info("Finished goods updated: {}", saved.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.FINISHED_GOODS, saved.getId()));
+        refreshStockAlert(saved.getId());
+
+        if (costChanged(previousStandardCost, saved.getStandardCost())) {
+            bomCostService.onItemCostChanged("SUB_ASSEMBLY", saved.getId());
+        }
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "finishedGoods", key = "'id:' + #id")
     public FinishedGoodsResponse getById(Long id) {
         FinishedGoods fg = finishedGoodsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", id.toString()));
@@ -154,6 +180,7 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "finishedGoods", key = "'code:' + #code")
     public FinishedGoodsResponse getByCode(String code) {
         FinishedGoods fg = finishedGoodsRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "code", code));
@@ -162,6 +189,7 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "finishedGoods", key = "'barcode:' + #barcode")
     public FinishedGoodsResponse getByBarcode(String barcode) {
         FinishedGoods fg = finishedGoodsRepository.findByBarcode(barcode)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "barcode", barcode));
@@ -178,6 +206,13 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
         return PageResponse.of(content, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<FinishedGoodsResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(finishedGoodsRepository, FinishedGoods.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<FinishedGoodsResponse> search(String query, Pageable pageable) {
@@ -200,6 +235,7 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "finishedGoods", key = "'active'")
     public List<FinishedGoodsResponse> getAllActive() {
         return finishedGoodsRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -216,31 +252,46 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "finishedGoods", allEntries = true)
     public void delete(Long id) {
         FinishedGoods fg = finishedGoodsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", id.toString()));
         finishedGoodsRepository.delete(fg);
         log.info("Finished goods deleted: {}", fg.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.FINISHED_GOODS, fg.getId()));
+        refreshStockAlert(fg.getId());
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "finishedGoods", allEntries = true)
     public void activate(Long id) {
         FinishedGoods fg = finishedGoodsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", id.toString()));
         fg.setIsActive(true);
         finishedGoodsRepository.save(fg);
         log.info("Finished goods activated: {}", fg.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.FINISHED_GOODS, fg.getId()));
+        refreshStockAlert(fg.getId());
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "finishedGoods", allEntries = true)
     public void deactivate(Long id) {
         FinishedGoods fg = finishedGoodsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", id.toString()));
         fg.setIsActive(false);
         finishedGoodsRepository.save(fg);
         log.info("Finished goods deactivated: {}", fg.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.FINISHED_GOODS, fg.getId()));
+        refreshStockAlert(fg.getId());
+    }
+
+    // Thresholds and active/deleted flags feed the alert query, so they are flushed before it runs
+    private void refreshStockAlert(Long finishedGoodsId) {
+        finishedGoodsRepository.flush();
+        stockAlertService.evaluate("FINISHED_GOODS", List.of(finishedGoodsId));
     }
 
     private FinishedGoodsResponse mapToResponse(FinishedGoods fg) {
@@ -260,6 +311,7 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
                 .mrp(fg.getMrp())
                 .standardCost(fg.getStandardCost())
                 .reorderLevel(fg.getReorderLevel())
+                .minimumStockLevel(fg.getMinimumStockLevel())
                 .taxPercent(fg.getTaxPercent())
                 .shelfLifeDays(fg.getShelfLifeDays())
                 .weight(fg.getWeight())
@@ -274,5 +326,11 @@ public class FinishedGoodsServiceImpl implements FinishedGoodsService {
                 .updatedAt(fg.getUpdatedAt())
                 .build();
     }
-}
 
+    private boolean costChanged(BigDecimal previous, BigDecimal current) {
+        if (previous == null || current == null) {
+            return previous != current;
+        }
+        return previous.compareTo(current) != 0;
+    }
+}
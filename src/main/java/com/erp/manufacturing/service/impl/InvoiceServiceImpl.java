@@ -5,14 +5,17 @@ import com.erp.manufacturing.dto.response.InvoiceResponse;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.entity.*;
 import com.erp.manufacturing.enums.PaymentStatus;
+import com.erp.manufacturing.enums.SequenceType;
 import com.erp.manufacturing.exception.BusinessException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.*;
+import com.erp.manufacturing.service.DocumentNumberService;
 import com.erp.manufacturing.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +33,8 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final InvoiceRepository invoiceRepository;
     private final SalesOrderRepository salesOrderRepository;
     private final CustomerRepository customerRepository;
+    private final DocumentNumberService documentNumberService;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional(readOnly = true)
@@ -55,6 +60,13 @@ public class InvoiceServiceImpl implements InvoiceService {
         return PageResponse.of(responses, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<InvoiceResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(invoiceRepository, Invoice.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<InvoiceResponse> search(String searchTerm, Pageable pageable) {
@@ -106,7 +118,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         SalesOrder so = salesOrderRepository.findById(salesOrderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales Order", "id", salesOrderId));
 
-        String invoiceNumber = generateInvoiceNumber();
+        String invoiceNumber = documentNumberService.next(SequenceType.INVOICE);
 
         Invoice invoice = Invoice.builder()
                 .invoiceNumber(invoiceNumber)
@@ -205,10 +217,6 @@ public class InvoiceServiceImpl implements InvoiceService {
         return new byte[0];
     }
 
-    private String generateInvoiceNumber() {
-        return "INV-" + System.currentTimeMillis() % 100000000;
-    }
-
     private InvoiceResponse mapToResponse(Invoice invoice) {
         List<InvoiceItemResponse> items = invoice.getItems().stream()
                 .map(this::mapItemToResponse)
@@ -0,0 +1,158 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.PageResponse;
+import com.erp.manufacturing.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Cursor (keyset) pagination for list endpoints: the opaque cursor carries the sort and the sort-key values
+// of the last row returned, so the next page is an index seek with no OFFSET and no count query
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // An empty cursor starts at the first row; otherwise the cursor's own sort wins so a scroll cannot change order midway
+    public <T, R> PageResponse<R> scroll(JpaSpecificationExecutor<T> repository, Class<T> entityType,
+                                         String cursor, int size, Sort sort, Function<List<T>, List<R>> mapper) {
+        int limit = Math.max(1, size);
+        boolean first = cursor == null || cursor.isBlank();
+        Sort effectiveSort = sort;
+        ScrollPosition position = ScrollPosition.keyset();
+
+        if (!first) {
+            Cursor decoded = decode(cursor);
+            effectiveSort = toSort(decoded.sort());
+            position = ScrollPosition.forward(toKeys(entityType, decoded.keys()));
+        }
+
+        Sort querySort = effectiveSort;
+        ScrollPosition queryPosition = position;
+        Window<T> window = repository.findBy(Specification.where(null),
+                query -> query.sortBy(querySort).limit(limit).scroll(queryPosition));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(effectiveSort, last.getKeys());
+        }
+        return PageResponse.from(window, mapper.apply(window.getContent()), first, nextCursor);
+    }
+
+    private String encode(Sort sort, Map<String, Object> keys) {
+        List<String> orders = new ArrayList<>();
+        sort.forEach(order -> orders.add(order.getProperty() + "," + order.getDirection().name()));
+
+        Map<String, String> values = new LinkedHashMap<>();
+        keys.forEach((property, value) -> {
+            if (value == null) {
+                throw new BusinessException("Cannot page by cursor on '" + property
+                        + "' because it has empty values. Sort by another field.");
+            }
+            values.put(property, value instanceof Enum<?> e ? e.name() : value.toString());
+        });
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Cursor(orders, values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode page cursor", e);
+        }
+    }
+
+    private Cursor decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Cursor decoded = objectMapper.readValue(new String(json, StandardCharsets.UTF_8), Cursor.class);
+            if (decoded.sort() == null || decoded.keys() == null || decoded.keys().isEmpty()) {
+                throw new BusinessException("Invalid page cursor");
+            }
+            return decoded;
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new BusinessException("Invalid page cursor");
+        }
+    }
+
+    private Sort toSort(List<String> orders) {
+        List<Sort.Order> sortOrders = new ArrayList<>();
+        for (String order : orders) {
+            String[] parts = order.split(",", 2);
+            Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC;
+            sortOrders.add(new Sort.Order(direction, parts[0]));
+        }
+        return Sort.by(sortOrders);
+    }
+
+    // Cursor values travel as strings; the entity metamodel gives each key back its attribute type
+    private Map<String, Object> toKeys(Class<?> entityType, Map<String, String> values) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        values.forEach((property, value) -> {
+            Class<?> javaType = attributeType(entityType, property);
+            try {
+                keys.put(property, convert(value, javaType));
+            } catch (RuntimeException e) {
+                throw new BusinessException("Invalid page cursor");
+            }
+        });
+        return keys;
+    }
+
+    private Class<?> attributeType(Class<?> entityType, String property) {
+        ManagedType<?> type = entityManager.getMetamodel().managedType(entityType);
+        Attribute<?, ?> attribute = null;
+        for (String part : property.split("\\.")) {
+            if (type == null) {
+                throw new BusinessException("Invalid page cursor");
+            }
+            try {
+                attribute = type.getAttribute(part);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Invalid page cursor");
+            }
+            type = attribute instanceof SingularAttribute<?, ?> singular
+                    && singular.getType() instanceof ManagedType<?> managed ? managed : null;
+        }
+        return attribute.getJavaType();
+    }
+
+    private Object convert(String value, Class<?> javaType) {
+        if (javaType == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        if (javaType == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        return CONVERSION.convert(value, javaType);
+    }
+
+    private record Cursor(List<String> sort, Map<String, String> keys) {
+    }
+}
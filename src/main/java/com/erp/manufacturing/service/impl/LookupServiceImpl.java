@@ -0,0 +1,212 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.LookupResultResponse;
+import com.erp.manufacturing.enums.LookupType;
+import com.erp.manufacturing.event.MasterDataChangedEvent;
+import com.erp.manufacturing.repository.CustomerRepository;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.repository.SupplierRepository;
+import com.erp.manufacturing.service.LookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LookupServiceImpl implements LookupService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+    private final CustomerRepository customerRepository;
+    private final SupplierRepository supplierRepository;
+
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+
+    // Readers never lock: each tier is a sorted map walked from the query prefix, so a lookup touches only
+    // the matching keys and stops as soon as the limit is filled
+    @Override
+    public List<LookupResultResponse> lookup(String query, Set<LookupType> types, int limit) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Set<LookupType> wanted = types == null || types.isEmpty() ? Set.of(LookupType.values()) : types;
+
+        Index current = index;
+        Map<String, Entry> matches = new LinkedHashMap<>();
+        // Code and barcode prefixes rank first, then whole-name prefixes, then any word in the name or code
+        for (NavigableMap<String, Entry> tier : List.of(current.codes, current.names, current.words)) {
+            for (Entry entry : tier.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                if (wanted.contains(entry.type())) {
+                    matches.putIfAbsent(entry.key(), entry);
+                    if (matches.size() >= cappedLimit) {
+                        return toResponses(matches);
+                    }
+                }
+            }
+        }
+        return toResponses(matches);
+    }
+
+    @Override
+    public void refresh(LookupType type, Long id) {
+        List<Object[]> rows = loadRows(type, id);
+        synchronized (writeLock) {
+            Index current = index;
+            current.remove(Entry.key(type, id));
+            for (Object[] row : rows) {
+                current.add(toEntry(type, row));
+            }
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        Index rebuilt = new Index();
+        for (LookupType type : LookupType.values()) {
+            for (Object[] row : loadRows(type, null)) {
+                rebuilt.add(toEntry(type, row));
+            }
+        }
+        synchronized (writeLock) {
+            index = rebuilt;
+        }
+        log.info("Loaded {} lookup entries", rebuilt.entries.size());
+        return rebuilt.entries.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    // Applied after commit so the index never shows a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMasterDataChanged(MasterDataChangedEvent event) {
+        refresh(event.getType(), event.getId());
+    }
+
+    private List<Object[]> loadRows(LookupType type, Long id) {
+        return switch (type) {
+            case RAW_MATERIAL -> rawMaterialRepository.findLookupRows(id);
+            case FINISHED_GOODS -> finishedGoodsRepository.findLookupRows(id);
+            case CUSTOMER -> customerRepository.findLookupRows(id);
+            case SUPPLIER -> supplierRepository.findLookupRows(id);
+        };
+    }
+
+    private Entry toEntry(LookupType type, Object[] row) {
+        Long id = (Long) row[0];
+        String code = (String) row[1];
+        String name = (String) row[2];
+        String detail = (String) row[3];
+
+        Set<String> codeTokens = new LinkedHashSet<>();
+        addToken(codeTokens, code);
+        if (type == LookupType.FINISHED_GOODS) {
+            addToken(codeTokens, detail); // barcode
+        }
+        Set<String> nameTokens = new LinkedHashSet<>();
+        addToken(nameTokens, name);
+        Set<String> wordTokens = new LinkedHashSet<>();
+        addWords(wordTokens, name);
+        addWords(wordTokens, code);
+
+        return new Entry(type, id, code, name, detail, List.copyOf(codeTokens), List.copyOf(nameTokens),
+                List.copyOf(wordTokens));
+    }
+
+    private static void addToken(Set<String> tokens, String value) {
+        if (value != null && !value.isBlank()) {
+            tokens.add(value.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static void addWords(Set<String> tokens, String value) {
+        if (value == null) {
+            return;
+        }
+        for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                tokens.add(word);
+            }
+        }
+    }
+
+    private static List<LookupResultResponse> toResponses(Map<String, Entry> matches) {
+        List<LookupResultResponse> responses = new ArrayList<>(matches.size());
+        for (Entry entry : matches.values()) {
+            responses.add(LookupResultResponse.builder()
+                    .type(entry.type().name())
+                    .id(entry.id())
+                    .code(entry.code())
+                    .name(entry.name())
+                    .detail(entry.detail())
+                    .build());
+        }
+        return responses;
+    }
+
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<String, Entry> codes = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, Entry> names = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, Entry> words = new ConcurrentSkipListMap<>();
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        private void add(Entry entry) {
+            entries.put(entry.key(), entry);
+            entry.codeTokens().forEach(token -> codes.put(indexKey(token, entry), entry));
+            entry.nameTokens().forEach(token -> names.put(indexKey(token, entry), entry));
+            entry.wordTokens().forEach(token -> words.put(indexKey(token, entry), entry));
+        }
+
+        private void remove(String key) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                entry.codeTokens().forEach(token -> codes.remove(indexKey(token, entry)));
+                entry.nameTokens().forEach(token -> names.remove(indexKey(token, entry)));
+                entry.wordTokens().forEach(token -> words.remove(indexKey(token, entry)));
+            }
+        }
+
+        // The separator sorts below every character, so an exact token match comes before longer tokens
+        private static String indexKey(String token, Entry entry) {
+            return token + KEY_SEPARATOR + entry.key();
+        }
+    }
+
+    private record Entry(LookupType type, Long id, String code, String name, String detail,
+                         List<String> codeTokens, List<String> nameTokens, List<String> wordTokens) {
+
+        private String key() {
+            return key(type, id);
+        }
+
+        private static String key(LookupType type, Long id) {
+            return type.name() + ':' + id;
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.MrpBucketResponse;
+import com.erp.manufacturing.dto.response.MrpPlannedOrderResponse;
+import com.erp.manufacturing.dto.response.MrpRequirementResponse;
+import com.erp.manufacturing.dto.response.MrpRunResponse;
+import com.erp.manufacturing.entity.FinishedGoods;
+import com.erp.manufacturing.enums.OrderStatus;
+import com.erp.manufacturing.enums.WorkOrderStatus;
+import com.erp.manufacturing.exception.BusinessException;
+import com.erp.manufacturing.exception.ResourceNotFoundException;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.PurchaseOrderRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.repository.SalesOrderRepository;
+import com.erp.manufacturing.repository.StockReservationRepository;
+import com.erp.manufacturing.repository.StockSummaryRepository;
+import com.erp.manufacturing.repository.WorkOrderRepository;
+import com.erp.manufacturing.service.BomExplosionService;
+import com.erp.manufacturing.service.MrpService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class MrpServiceImpl implements MrpService {
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+    private static final String FINISHED_GOODS = "FINISHED_GOODS";
+    private static final int QUANTITY_SCALE = 3;
+    private static final int ATTRIBUTE_BATCH_SIZE = 1000;
+    private static final double EPSILON = 1e-9;
+
+    private static final List<OrderStatus> OPEN_SALES_STATUSES = List.of(
+            OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.PARTIALLY_DELIVERED);
+    private static final List<OrderStatus> OPEN_PURCHASE_STATUSES = List.of(
+            OrderStatus.APPROVED, OrderStatus.ORDERED, OrderStatus.PARTIALLY_RECEIVED);
+    private static final List<WorkOrderStatus> OPEN_WORK_ORDER_STATUSES = List.of(
+            WorkOrderStatus.PLANNED, WorkOrderStatus.RELEASED, WorkOrderStatus.IN_PROGRESS);
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final WorkOrderRepository workOrderRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final StockSummaryRepository stockSummaryRepository;
+    private final BomExplosionService bomExplosionService;
+
+    @Override
+    public MrpRunResponse run(int horizonDays, int bucketDays) {
+        if (horizonDays <= 0 || bucketDays <= 0 || bucketDays > horizonDays) {
+            throw new BusinessException("Horizon and bucket size must be positive and the bucket must fit in the horizon");
+        }
+
+        long started = System.currentTimeMillis();
+        LocalDate horizonStart = LocalDate.now();
+        int bucketCount = (horizonDays + bucketDays - 1) / bucketDays;
+        Buckets buckets = new Buckets(horizonStart, bucketDays, bucketCount);
+
+        NettingTable finishedGoods = new NettingTable(bucketCount);
+        NettingTable rawMaterials = new NettingTable(bucketCount);
+        Map<Long, Explosion> explosionsByBom = new HashMap<>();
+        Set<Long> missingBoms = new HashSet<>();
+        Map<Long, BomExplosionService.Components> componentsByFinishedGoods = new HashMap<>();
+        Map<Long, Explosion> explosionsByFinishedGoods = new HashMap<>();
+        List<Long> consumingWorkOrders = new ArrayList<>();
+
+        // Level 0: finished goods demand from open sales orders
+        List<Object[]> demand = salesOrderRepository.findOpenDemand(OPEN_SALES_STATUSES);
+        for (Object[] row : demand) {
+            LocalDate needDate = row[1] != null ? (LocalDate) row[1] : (LocalDate) row[2];
+            int bucket = buckets.indexOf(needDate);
+            if (bucket >= 0) {
+                int slot = finishedGoods.slot((Long) row[0]);
+                finishedGoods.gross[slot][bucket] += toDouble(row[3]);
+            }
+        }
+
+        // Open work orders are scheduled receipts of their product; planned/released ones starting inside the
+        // horizon also consume their BOM's direct components
+        List<Object[]> production = workOrderRepository.findOpenProduction(OPEN_WORK_ORDER_STATUSES);
+        for (Object[] row : production) {
+            Long bomId = (Long) row[0];
+            Long finishedGoodsId = (Long) row[1];
+            WorkOrderStatus status = (WorkOrderStatus) row[2];
+            LocalDate startDate = (LocalDate) row[3];
+            LocalDate endDate = row[4] != null ? (LocalDate) row[4] : startDate;
+            double remaining = toDouble(row[5]);
+            Long workOrderId = (Long) row[6];
+
+            int startBucket = buckets.indexOf(startDate);
+            Explosion explosion = null;
+            if (status != WorkOrderStatus.IN_PROGRESS && startBucket >= 0) {
+                explosion = workOrderExplosion(bomId, explosionsByBom, missingBoms, rawMaterials, finishedGoods);
+                if (explosion == null) {
+                    log.warn("MRP skipped work order {}: its BOM {} no longer exists", workOrderId, bomId);
+                    continue;
+                }
+            }
+
+            int receiptBucket = buckets.indexOf(endDate);
+            if (receiptBucket >= 0) {
+                int slot = finishedGoods.slot(finishedGoodsId);
+                finishedGoods.receipts[slot][receiptBucket] += remaining;
+            }
+            if (explosion != null) {
+                explosion.apply(rawMaterials, finishedGoods, startBucket, remaining);
+                consumingWorkOrders.add(workOrderId);
+            }
+        }
+
+        // Low-level coding: an item is netted only after every parent that can plan it, so sub-assembly stock
+        // is netted against the production planned above it
+        List<Long> planningOrder = parentsFirst(finishedGoods.idList(), componentsByFinishedGoods);
+
+        Map<Long, Double> finishedGoodsOnHand = availableTotals("FINISHED_GOODS");
+        // Stock reserved for open sales orders is already counted as their demand
+        addReserved(finishedGoodsOnHand, stockReservationRepository.sumQuantityByItem("FINISHED_GOODS", "SALES_ORDER"));
+
+        // Net finished goods level by level; a shortage becomes planned production whose direct components are
+        // demand on the next level down
+        for (Long finishedGoodsId : planningOrder) {
+            int slot = finishedGoods.find(finishedGoodsId);
+            if (slot < 0) {
+                continue;
+            }
+            finishedGoods.onHand[slot] = finishedGoodsOnHand.getOrDefault(finishedGoodsId, 0.0);
+            finishedGoods.net(slot, 0);
+            Explosion explosion = null;
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                double planned = finishedGoods.planned[slot][bucket];
+                if (planned <= EPSILON) {
+                    continue;
+                }
+                if (explosion == null) {
+                    explosion = explosionsByFinishedGoods.computeIfAbsent(finishedGoodsId,
+                            id -> new Explosion(componentsByFinishedGoods.get(id), rawMaterials, finishedGoods));
+                }
+                explosion.apply(rawMaterials, finishedGoods, bucket, planned);
+            }
+        }
+
+        Map<Long, Double> rawMaterialOnHand = availableTotals("RAW_MATERIAL");
+        // Material reserved by work orders whose consumption is planned above is already counted as their demand;
+        // reservations of in-progress work orders and of work orders starting after the horizon stay held
+        for (int from = 0; from < consumingWorkOrders.size(); from += ATTRIBUTE_BATCH_SIZE) {
+            List<Long> batch = consumingWorkOrders.subList(from, Math.min(from + ATTRIBUTE_BATCH_SIZE, consumingWorkOrders.size()));
+            addReserved(rawMaterialOnHand, stockReservationRepository.sumRawMaterialReservedByWorkOrders(batch));
+        }
+        for (int slot = 0; slot < rawMaterials.size; slot++) {
+            rawMaterials.onHand[slot] = rawMaterialOnHand.getOrDefault(rawMaterials.ids[slot], 0.0);
+        }
+
+        for (Object[] row : purchaseOrderRepository.findOpenSupply(OPEN_PURCHASE_STATUSES)) {
+            int slot = rawMaterials.find((Long) row[0]);
+            int bucket = buckets.indexOf((LocalDate) row[1]);
+            if (slot >= 0 && bucket >= 0) {
+                rawMaterials.receipts[slot][bucket] += toDouble(row[2]);
+            }
+        }
+
+        Map<Long, Object[]> attributes = loadRawMaterialAttributes(rawMaterials);
+        for (int slot = 0; slot < rawMaterials.size; slot++) {
+            Object[] attribute = attributes.get(rawMaterials.ids[slot]);
+            rawMaterials.net(slot, attribute != null ? toDouble(attribute[4]) : 0);
+        }
+
+        Map<Long, FinishedGoods> finishedGoodsById = new HashMap<>();
+        finishedGoodsRepository.findAllById(finishedGoods.idList())
+                .forEach(fg -> finishedGoodsById.put(fg.getId(), fg));
+
+        List<MrpRequirementResponse> finishedGoodsRequirements = new ArrayList<>();
+        List<MrpPlannedOrderResponse> plannedProduction = new ArrayList<>();
+        for (int slot = 0; slot < finishedGoods.size; slot++) {
+            FinishedGoods fg = finishedGoodsById.get(finishedGoods.ids[slot]);
+            String code = fg != null ? fg.getCode() : null;
+            String name = fg != null ? fg.getName() : null;
+            finishedGoodsRequirements.add(mapRequirement(finishedGoods, slot, FINISHED_GOODS, code, name, buckets));
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                if (finishedGoods.planned[slot][bucket] > EPSILON) {
+                    LocalDate needDate = buckets.start(bucket);
+                    plannedProduction.add(mapPlannedOrder(FINISHED_GOODS, finishedGoods.ids[slot], code, name,
+                            finishedGoods.planned[slot][bucket], needDate, needDate, horizonStart, fg != null ? fg.getStandardCost() : null));
+                }
+            }
+        }
+
+        List<MrpRequirementResponse> rawMaterialRequirements = new ArrayList<>();
+        List<MrpPlannedOrderResponse> suggestedPurchaseOrders = new ArrayList<>();
+        for (int slot = 0; slot < rawMaterials.size; slot++) {
+            Object[] attribute = attributes.get(rawMaterials.ids[slot]);
+            String code = attribute != null ? (String) attribute[1] : null;
+            String name = attribute != null ? (String) attribute[2] : null;
+            int leadTimeDays = attribute != null && attribute[3] != null ? (Integer) attribute[3] : 0;
+            BigDecimal standardCost = attribute != null ? (BigDecimal) attribute[5] : null;
+
+            rawMaterialRequirements.add(mapRequirement(rawMaterials, slot, RAW_MATERIAL, code, name, buckets));
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                if (rawMaterials.planned[slot][bucket] > EPSILON) {
+                    LocalDate needDate = buckets.start(bucket);
+                    suggestedPurchaseOrders.add(mapPlannedOrder(RAW_MATERIAL, rawMaterials.ids[slot], code, name,
+                            rawMaterials.planned[slot][bucket], needDate.minusDays(leadTimeDays), needDate, horizonStart, standardCost));
+                }
+            }
+        }
+
+        Comparator<MrpRequirementResponse> byCode = Comparator.comparing(MrpRequirementResponse::getItemCode,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        finishedGoodsRequirements.sort(byCode);
+        rawMaterialRequirements.sort(byCode);
+        suggestedPurchaseOrders.sort(Comparator.comparing(MrpPlannedOrderResponse::getOrderDate));
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("MRP run planned {} finished goods and {} raw materials in {} ms",
+                finishedGoods.size, rawMaterials.size, duration);
+
+        return MrpRunResponse.builder()
+                .runAt(LocalDateTime.now())
+                .durationMs(duration)
+                .horizonStart(horizonStart)
+                .horizonEnd(horizonStart.plusDays((long) bucketCount * bucketDays - 1))
+                .bucketDays(bucketDays)
+                .buckets(buckets.starts())
+                .salesOrderLines(demand.size())
+                .workOrders(production.size())
+                .itemsPlanned(finishedGoods.size + rawMaterials.size)
+                .finishedGoodsRequirements(finishedGoodsRequirements)
+                .rawMaterialRequirements(rawMaterialRequirements)
+                .plannedProduction(plannedProduction)
+                .suggestedPurchaseOrders(suggestedPurchaseOrders)
+                .build();
+    }
+
+    // A soft-deleted BOM is remembered as missing so each of its work orders is skipped without another lookup
+    private Explosion workOrderExplosion(Long bomId, Map<Long, Explosion> explosionsByBom, Set<Long> missingBoms,
+                                         NettingTable rawMaterials, NettingTable finishedGoods) {
+        Explosion explosion = explosionsByBom.get(bomId);
+        if (explosion != null || missingBoms.contains(bomId)) {
+            return explosion;
+        }
+        try {
+            explosion = new Explosion(bomExplosionService.getComponents(bomId), rawMaterials, finishedGoods);
+        } catch (ResourceNotFoundException ex) {
+            missingBoms.add(bomId);
+            return null;
+        }
+        explosionsByBom.put(bomId, explosion);
+        return explosion;
+    }
+
+    private List<Long> parentsFirst(List<Long> finishedGoodsIds,
+                                    Map<Long, BomExplosionService.Components> componentsByFinishedGoods) {
+        List<Long> postOrder = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        for (Long finishedGoodsId : finishedGoodsIds) {
+            visit(finishedGoodsId, componentsByFinishedGoods, visited, postOrder);
+        }
+        Collections.reverse(postOrder);
+        return postOrder;
+    }
+
+    private void visit(Long finishedGoodsId, Map<Long, BomExplosionService.Components> componentsByFinishedGoods,
+                       Set<Long> visited, List<Long> postOrder) {
+        if (!visited.add(finishedGoodsId)) {
+            return;
+        }
+        BomExplosionService.Components components = componentsByFinishedGoods.computeIfAbsent(finishedGoodsId,
+                bomExplosionService::getComponentsForFinishedGoods);
+        for (Long subAssemblyId : components.subAssemblies().keySet()) {
+            visit(subAssemblyId, componentsByFinishedGoods, visited, postOrder);
+        }
+        postOrder.add(finishedGoodsId);
+    }
+
+    private Map<Long, Double> availableTotals(String itemType) {
+        Map<Long, Double> totals = new HashMap<>();
+        for (Object[] row : stockSummaryRepository.findAvailableTotals(itemType)) {
+            totals.put((Long) row[0], Math.max(0, toDouble(row[1])));
+        }
+        return totals;
+    }
+
+    private void addReserved(Map<Long, Double> onHand, List<Object[]> reserved) {
+        for (Object[] row : reserved) {
+            onHand.merge((Long) row[0], toDouble(row[1]), Double::sum);
+        }
+    }
+
+    private Map<Long, Object[]> loadRawMaterialAttributes(NettingTable rawMaterials) {
+        Map<Long, Object[]> attributes = new HashMap<>();
+        List<Long> ids = rawMaterials.idList();
+        for (int from = 0; from < ids.size(); from += ATTRIBUTE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + ATTRIBUTE_BATCH_SIZE, ids.size()));
+            for (Object[] row : rawMaterialRepository.findPlanningAttributes(batch)) {
+                attributes.put((Long) row[0], row);
+            }
+        }
+        return attributes;
+    }
+
+    private MrpRequirementResponse mapRequirement(NettingTable table, int slot, String itemType,
+                                                  String code, String name, Buckets buckets) {
+        List<MrpBucketResponse> bucketResponses = new ArrayList<>(buckets.count);
+        double totalNet = 0;
+        for (int bucket = 0; bucket < buckets.count; bucket++) {
+            totalNet += table.netRequirement[slot][bucket];
+            bucketResponses.add(MrpBucketResponse.builder()
+                    .bucketStart(buckets.start(bucket))
+                    .grossRequirement(toQuantity(table.gross[slot][bucket]))
+                    .scheduledReceipts(toQuantity(table.receipts[slot][bucket]))
+                    .projectedOnHand(toQuantity(table.projected[slot][bucket]))
+                    .netRequirement(toQuantity(table.netRequirement[slot][bucket]))
+                    .plannedOrderReceipt(toQuantity(table.planned[slot][bucket]))
+                    .build());
+        }
+
+        return MrpRequirementResponse.builder()
+                .itemType(itemType)
+                .itemId(table.ids[slot])
+                .itemCode(code)
+                .itemName(name)
+                .availableStock(toQuantity(table.onHand[slot]))
+                .totalNetRequirement(toQuantity(totalNet))
+                .buckets(bucketResponses)
+                .build();
+    }
+
+    private MrpPlannedOrderResponse mapPlannedOrder(String itemType, Long itemId, String code, String name,
+                                                    double quantity, LocalDate orderDate, LocalDate needDate,
+                                                    LocalDate today, BigDecimal unitCost) {
+        BigDecimal plannedQuantity = toQuantity(quantity);
+        return MrpPlannedOrderResponse.builder()
+                .itemType(itemType)
+                .itemId(itemId)
+                .itemCode(code)
+                .itemName(name)
+                .quantity(plannedQuantity)
+                .orderDate(orderDate.isBefore(today) ? today : orderDate)
+                .needDate(needDate)
+                .expedite(orderDate.isBefore(today))
+                .estimatedCost(unitCost != null ? plannedQuantity.multiply(unitCost).setScale(2, RoundingMode.HALF_UP) : null)
+                .build();
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((BigDecimal) value).doubleValue() : 0;
+    }
+
+    private static BigDecimal toQuantity(double value) {
+        return BigDecimal.valueOf(Math.abs(value) < EPSILON ? 0 : value).setScale(QUANTITY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static final class Buckets {
+
+        private final LocalDate horizonStart;
+        private final int bucketDays;
+        private final int count;
+
+        private Buckets(LocalDate horizonStart, int bucketDays, int count) {
+            this.horizonStart = horizonStart;
+            this.bucketDays = bucketDays;
+            this.count = count;
+        }
+
+        // Past-due and undated requirements land in the first bucket, anything past the horizon is ignored
+        private int indexOf(LocalDate date) {
+            if (date == null || !date.isAfter(horizonStart)) {
+                return 0;
+            }
+            long index = ChronoUnit.DAYS.between(horizonStart, date) / bucketDays;
+            return index < count ? (int) index : -1;
+        }
+
+        private LocalDate start(int bucket) {
+            return horizonStart.plusDays((long) bucket * bucketDays);
+        }
+
+        private List<LocalDate> starts() {
+            List<LocalDate> starts = new ArrayList<>(count);
+            for (int bucket = 0; bucket < count; bucket++) {
+                starts.add(start(bucket));
+            }
+            return starts;
+        }
+    }
+
+    // One BOM's direct per-unit components resolved to dense raw material and sub-assembly slots for a run
+    private static final class Explosion {
+
+        private final int[] rawMaterialSlots;
+        private final double[] rawMaterialQuantities;
+        private final int[] subAssemblySlots;
+        private final double[] subAssemblyQuantities;
+
+        private Explosion(BomExplosionService.Components components, NettingTable rawMaterials, NettingTable finishedGoods) {
+            rawMaterialSlots = new int[components.rawMaterials().size()];
+            rawMaterialQuantities = new double[rawMaterialSlots.length];
+            resolve(components.rawMaterials(), rawMaterials, rawMaterialSlots, rawMaterialQuantities);
+            subAssemblySlots = new int[components.subAssemblies().size()];
+            subAssemblyQuantities = new double[subAssemblySlots.length];
+            resolve(components.subAssemblies(), finishedGoods, subAssemblySlots, subAssemblyQuantities);
+        }
+
+        private static void resolve(Map<Long, BigDecimal> requirements, NettingTable table, int[] slots, double[] quantities) {
+            int i = 0;
+            for (Map.Entry<Long, BigDecimal> entry : requirements.entrySet()) {
+                slots[i] = table.slot(entry.getKey());
+                quantities[i] = entry.getValue().doubleValue();
+                i++;
+            }
+        }
+
+        private void apply(NettingTable rawMaterials, NettingTable finishedGoods, int bucket, double parentQuantity) {
+            for (int i = 0; i < rawMaterialSlots.length; i++) {
+                rawMaterials.gross[rawMaterialSlots[i]][bucket] += rawMaterialQuantities[i] * parentQuantity;
+            }
+            for (int i = 0; i < subAssemblySlots.length; i++) {
+                finishedGoods.gross[subAssemblySlots[i]][bucket] += subAssemblyQuantities[i] * parentQuantity;
+            }
+        }
+    }
+
+    // Time-phased netting table: item ids map to dense slots through an open-addressing long index,
+    // and every quantity lives in parallel primitive arrays
+    private static final class NettingTable {
+
+        private final int bucketCount;
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private boolean[] used = new boolean[1024];
+
+        private int size;
+        private long[] ids = new long[256];
+        private double[] onHand = new double[256];
+        private double[][] gross = new double[256][];
+        private double[][] receipts = new double[256][];
+        private double[][] projected = new double[256][];
+        private double[][] netRequirement = new double[256][];
+        private double[][] planned = new double[256][];
+
+        private NettingTable(int bucketCount) {
+            this.bucketCount = bucketCount;
+        }
+
+        private int find(long id) {
+            int mask = keys.length - 1;
+            for (int i = mix(id) & mask; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == id) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        private int slot(long id) {
+            int existing = find(id);
+            if (existing >= 0) {
+                return existing;
+            }
+            if (size == ids.length) {
+                growSlots();
+            }
+            if ((size + 1) * 2 > keys.length) {
+                growIndex();
+            }
+            int slot = size++;
+            ids[slot] = id;
+            gross[slot] = new double[bucketCount];
+            receipts[slot] = new double[bucketCount];
+            projected[slot] = new double[bucketCount];
+            netRequirement[slot] = new double[bucketCount];
+            planned[slot] = new double[bucketCount];
+            insert(id, slot);
+            return slot;
+        }
+
+        // Projects on-hand bucket by bucket; every shortage is covered by a planned receipt of at least minimumLot
+        private void net(int slot, double minimumLot) {
+            double available = onHand[slot];
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                available += receipts[slot][bucket] - gross[slot][bucket];
+                if (available < -EPSILON) {
+                    double shortage = -available;
+                    double lot = Math.max(shortage, minimumLot);
+                    netRequirement[slot][bucket] = shortage;
+                    planned[slot][bucket] = lot;
+                    available += lot;
+                }
+                projected[slot][bucket] = available;
+            }
+        }
+
+        private List<Long> idList() {
+            List<Long> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(ids[i]);
+            }
+            return list;
+        }
+
+        private void insert(long id, int slot) {
+            int mask = keys.length - 1;
+            int i = mix(id) & mask;
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+            used[i] = true;
+            keys[i] = id;
+            values[i] = slot;
+        }
+
+        private void growIndex() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void growSlots() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            onHand = Arrays.copyOf(onHand, capacity);
+            gross = Arrays.copyOf(gross, capacity);
+            receipts = Arrays.copyOf(receipts, capacity);
+            projected = Arrays.copyOf(projected, capacity);
+            netRequirement = Arrays.copyOf(netRequirement, capacity);
+            planned = Arrays.copyOf(planned, capacity);
+        }
+
+        private static int mix(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.entity.PurchaseOrder;
+import com.erp.manufacturing.entity.PurchaseOrderItem;
+import com.erp.manufacturing.entity.SalesOrder;
+import com.erp.manufacturing.entity.SalesOrderItem;
+import com.erp.manufacturing.enums.OrderStatus;
+import com.erp.manufacturing.repository.PurchaseDailyRollupRepository;
+import com.erp.manufacturing.repository.PurchaseOrderRepository;
+import com.erp.manufacturing.repository.SalesDailyRollupRepository;
+import com.erp.manufacturing.repository.SalesOrderRepository;
+import com.erp.manufacturing.service.OrderRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderRollupServiceImpl implements OrderRollupService {
+
+    private static final long WHOLE_ORDER = 0L;
+
+    private static final String SALES_UPSERT_SQL =
+            "INSERT INTO sales_daily_rollups (rollup_date, customer_id, finished_goods_id, status, order_count, quantity, amount, updated_at) " +
+            "VALUES (:date, :partyId, :itemId, :status, :orderCount, :quantity, :amount, :now) " +
+            "ON CONFLICT (rollup_date, customer_id, finished_goods_id, status) DO UPDATE SET " +
+            "order_count = sales_daily_rollups.order_count + EXCLUDED.order_count, " +
+            "quantity = sales_daily_rollups.quantity + EXCLUDED.quantity, " +
+            "amount = sales_daily_rollups.amount + EXCLUDED.amount, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String PURCHASE_UPSERT_SQL =
+            "INSERT INTO purchase_daily_rollups (rollup_date, supplier_id, raw_material_id, status, order_count, quantity, amount, updated_at) " +
+            "VALUES (:date, :partyId, :itemId, :status, :orderCount, :quantity, :amount, :now) " +
+            "ON CONFLICT (rollup_date, supplier_id, raw_material_id, status) DO UPDATE SET " +
+            "order_count = purchase_daily_rollups.order_count + EXCLUDED.order_count, " +
+            "quantity = purchase_daily_rollups.quantity + EXCLUDED.quantity, " +
+            "amount = purchase_daily_rollups.amount + EXCLUDED.amount, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String SALES_REBUILD_SQL =
+            "INSERT INTO sales_daily_rollups (rollup_date, customer_id, finished_goods_id, status, order_count, quantity, amount, updated_at) " +
+            "SELECT so.order_date, so.customer_id, 0, so.status, COUNT(*), 0, SUM(COALESCE(so.grand_total, 0)), :now " +
+            "FROM sales_orders so WHERE so.is_deleted = false " +
+            "GROUP BY so.order_date, so.customer_id, so.status " +
+            "UNION ALL " +
+            "SELECT so.order_date, so.customer_id, i.finished_goods_id, so.status, COUNT(DISTINCT so.id), " +
+            "SUM(COALESCE(i.quantity, 0)), SUM(COALESCE(i.total, 0)), :now " +
+            "FROM sales_order_items i JOIN sales_orders so ON so.id = i.so_id WHERE so.is_deleted = false " +
+            "GROUP BY so.order_date, so.customer_id, i.finished_goods_id, so.status";
+
+    private static final String PURCHASE_REBUILD_SQL =
+            "INSERT INTO purchase_daily_rollups (rollup_date, supplier_id, raw_material_id, status, order_count, quantity, amount, updated_at) " +
+            "SELECT po.order_date, po.supplier_id, 0, po.status, COUNT(*), 0, SUM(COALESCE(po.grand_total, 0)), :now " +
+            "FROM purchase_orders po WHERE po.is_deleted = false " +
+            "GROUP BY po.order_date, po.supplier_id, po.status " +
+            "UNION ALL " +
+            "SELECT po.order_date, po.supplier_id, i.raw_material_id, po.status, COUNT(DISTINCT po.id), " +
+            "SUM(COALESCE(i.quantity, 0)), SUM(COALESCE(i.total, 0)), :now " +
+            "FROM purchase_order_items i JOIN purchase_orders po ON po.id = i.po_id WHERE po.is_deleted = false " +
+            "GROUP BY po.order_date, po.supplier_id, i.raw_material_id, po.status";
+
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+    private final PurchaseDailyRollupRepository purchaseDailyRollupRepository;
+    private final SalesOrderRepository salesOrderRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Object pendingChangesKey = new Object();
+
+    // Callers remove an order's contribution before changing it and add it back afterwards; within one
+    // transaction the two cancel out for every bucket the change did not touch
+    @Override
+    @Transactional
+    public void addSalesOrder(SalesOrder salesOrder) {
+        recordSalesOrder(salesOrder, 1);
+    }
+
+    @Override
+    @Transactional
+    public void removeSalesOrder(SalesOrder salesOrder) {
+        recordSalesOrder(salesOrder, -1);
+    }
+
+    @Override
+    @Transactional
+    public void addPurchaseOrder(PurchaseOrder purchaseOrder) {
+        recordPurchaseOrder(purchaseOrder, 1);
+    }
+
+    @Override
+    @Transactional
+    public void removePurchaseOrder(PurchaseOrder purchaseOrder) {
+        recordPurchaseOrder(purchaseOrder, -1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalSalesValue(LocalDate startDate, LocalDate endDate) {
+        return salesDailyRollupRepository.getTotalValue(startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalPurchaseValue(LocalDate startDate, LocalDate endDate) {
+        return purchaseDailyRollupRepository.getTotalValue(startDate, endDate);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        // Blocks order writers for the duration of the rebuild so no delta is lost between DELETE and INSERT
+        jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE sales_orders, purchase_orders IN SHARE MODE");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM sales_daily_rollups");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM purchase_daily_rollups");
+        MapSqlParameterSource params = new MapSqlParameterSource("now", LocalDateTime.now());
+        int rows = jdbcTemplate.update(SALES_REBUILD_SQL, params) + jdbcTemplate.update(PURCHASE_REBUILD_SQL, params);
+        log.info("Rebuilt {} order rollup row(s)", rows);
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (salesDailyRollupRepository.count() == 0 && purchaseDailyRollupRepository.count() == 0
+                && (salesOrderRepository.count() > 0 || purchaseOrderRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    private void recordSalesOrder(SalesOrder so, int sign) {
+        if (so.getCustomer() == null || so.getOrderDate() == null) {
+            return;
+        }
+        Map<Long, BigDecimal[]> lines = new LinkedHashMap<>();
+        for (SalesOrderItem item : so.getItems()) {
+            if (item.getFinishedGoods() != null) {
+                addLine(lines, item.getFinishedGoods().getId(), item.getQuantity(), item.getTotal());
+            }
+        }
+        record(Domain.SALES, so.getOrderDate(), so.getCustomer().getId(), so.getStatus(), so.getGrandTotal(), lines, sign);
+    }
+
+    private void recordPurchaseOrder(PurchaseOrder po, int sign) {
+        if (po.getSupplier() == null || po.getOrderDate() == null) {
+            return;
+        }
+        Map<Long, BigDecimal[]> lines = new LinkedHashMap<>();
+        for (PurchaseOrderItem item : po.getItems()) {
+            if (item.getRawMaterial() != null) {
+                addLine(lines, item.getRawMaterial().getId(), item.getQuantity(), item.getTotal());
+            }
+        }
+        record(Domain.PURCHASE, po.getOrderDate(), po.getSupplier().getId(), po.getStatus(), po.getGrandTotal(), lines, sign);
+    }
+
+    // Several lines of one product count as one order for that product's bucket
+    private static void addLine(Map<Long, BigDecimal[]> lines, Long itemId, BigDecimal quantity, BigDecimal total) {
+        BigDecimal[] sums = lines.computeIfAbsent(itemId, id -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        sums[0] = sums[0].add(quantity != null ? quantity : BigDecimal.ZERO);
+        sums[1] = sums[1].add(total != null ? total : BigDecimal.ZERO);
+    }
+
+    private void record(Domain domain, LocalDate date, Long partyId, OrderStatus status, BigDecimal grandTotal,
+                        Map<Long, BigDecimal[]> lines, int sign) {
+        Map<RollupKey, Delta> pending = pendingChanges();
+        pending.computeIfAbsent(new RollupKey(domain, date, partyId, WHOLE_ORDER, status.name()), k -> new Delta())
+                .add(sign, BigDecimal.ZERO, grandTotal != null ? grandTotal : BigDecimal.ZERO);
+        lines.forEach((itemId, sums) -> pending
+                .computeIfAbsent(new RollupKey(domain, date, partyId, itemId, status.name()), k -> new Delta())
+                .add(sign, sums[0], sums[1]));
+    }
+
+    // Deltas are collected per transaction and upserted once, in key order, just before commit so the
+    // rollup rows stay locked only for the commit itself
+    @SuppressWarnings("unchecked")
+    private Map<RollupKey, Delta> pendingChanges() {
+        Map<RollupKey, Delta> pending =
+                (Map<RollupKey, Delta>) TransactionSynchronizationManager.getResource(pendingChangesKey);
+        if (pending == null) {
+            Map<RollupKey, Delta> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(pendingChangesKey, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingChangesKey);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void write(Map<RollupKey, Delta> pending) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Domain domain : Domain.values()) {
+            SqlParameterSource[] rows = pending.entrySet().stream()
+                    .filter(entry -> entry.getKey().domain() == domain && !entry.getValue().isZero())
+                    .map(entry -> new MapSqlParameterSource()
+                            .addValue("date", entry.getKey().date())
+                            .addValue("partyId", entry.getKey().partyId())
+                            .addValue("itemId", entry.getKey().itemId())
+                            .addValue("status", entry.getKey().status())
+                            .addValue("orderCount", entry.getValue().orderCount)
+                            .addValue("quantity", entry.getValue().quantity)
+                            .addValue("amount", entry.getValue().amount)
+                            .addValue("now", now))
+                    .toArray(SqlParameterSource[]::new);
+            if (rows.length > 0) {
+                jdbcTemplate.batchUpdate(domain.upsertSql, rows);
+            }
+        }
+        pending.clear();
+    }
+
+    private enum Domain {
+        SALES(SALES_UPSERT_SQL),
+        PURCHASE(PURCHASE_UPSERT_SQL);
+
+        private final String upsertSql;
+
+        Domain(String upsertSql) {
+            this.upsertSql = upsertSql;
+        }
+    }
+
+    private static final class Delta {
+
+        private long orderCount;
+        private BigDecimal quantity = BigDecimal.ZERO;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private void add(int sign, BigDecimal quantityDelta, BigDecimal amountDelta) {
+            orderCount += sign;
+            quantity = sign > 0 ? quantity.add(quantityDelta) : quantity.subtract(quantityDelta);
+            amount = sign > 0 ? amount.add(amountDelta) : amount.subtract(amountDelta);
+        }
+
+        private boolean isZero() {
+            return orderCount == 0 && quantity.signum() == 0 && amount.signum() == 0;
+        }
+    }
+
+    private record RollupKey(Domain domain, LocalDate date, Long partyId, Long itemId, String status)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::domain)
+                .thenComparing(RollupKey::date)
+                .thenComparing(RollupKey::partyId)
+                .thenComparing(RollupKey::itemId)
+                .thenComparing(RollupKey::status);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
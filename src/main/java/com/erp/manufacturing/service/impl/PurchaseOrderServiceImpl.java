@@ -7,15 +7,19 @@ import com.erp.manufacturing.dto.response.PurchaseOrderItemResponse;
 import com.erp.manufacturing.dto.response.PurchaseOrderResponse;
 import com.erp.manufacturing.entity.*;
 import com.erp.manufacturing.enums.OrderStatus;
+import com.erp.manufacturing.enums.SequenceType;
 import com.erp.manufacturing.exception.BusinessException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.*;
 import com.erp.manufacturing.security.UserPrincipal;
+import com.erp.manufacturing.service.DocumentNumberService;
+import com.erp.manufacturing.service.OrderRollupService;
 import com.erp.manufacturing.service.PurchaseOrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -38,6 +42,9 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     private final WarehouseRepository warehouseRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final UserRepository userRepository;
+    private final DocumentNumberService documentNumberService;
+    private final OrderRollupService orderRollupService;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     public PurchaseOrderResponse create(PurchaseOrderRequest request) {
@@ -49,7 +56,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         Warehouse warehouse = warehouseRepository.findById(request.getWarehouseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", request.getWarehouseId()));
 
-        String poNumber = generatePoNumber();
+        String poNumber = documentNumberService.next(SequenceType.PURCHASE_ORDER);
 
         PurchaseOrder po = PurchaseOrder.builder()
                 .poNumber(poNumber)
@@ -75,6 +82,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
         po.calculateTotals();
         PurchaseOrder saved = purchaseOrderRepository.save(po);
+        orderRollupService.addPurchaseOrder(saved);
         log.info("Purchase order created: {}", poNumber);
 
         return mapToResponse(saved);
@@ -82,12 +90,13 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
     @Override
     public PurchaseOrderResponse update(Long id, PurchaseOrderRequest request) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() != OrderStatus.DRAFT) {
             throw new BusinessException("Cannot update purchase order in " + po.getStatus() + " status");
         }
+        orderRollupService.removePurchaseOrder(po);
 
         Supplier supplier = supplierRepository.findById(request.getSupplierId())
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", request.getSupplierId()));
@@ -114,6 +123,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         }
 
         po.calculateTotals();
+        orderRollupService.addPurchaseOrder(po);
         return mapToResponse(purchaseOrderRepository.save(po));
     }
 
@@ -141,6 +151,13 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         return PageResponse.of(responses, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PurchaseOrderResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(purchaseOrderRepository, PurchaseOrder.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<PurchaseOrderResponse> search(String searchTerm, Pageable pageable) {
@@ -189,20 +206,22 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
     @Override
     public PurchaseOrderResponse submit(Long id) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() != OrderStatus.DRAFT) {
             throw new BusinessException("Can only submit purchase orders in DRAFT status");
         }
 
+        orderRollupService.removePurchaseOrder(po);
         po.setStatus(OrderStatus.PENDING_APPROVAL);
+        orderRollupService.addPurchaseOrder(po);
         return mapToResponse(purchaseOrderRepository.save(po));
     }
 
     @Override
     public PurchaseOrderResponse approve(Long id) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() != OrderStatus.PENDING_APPROVAL) {
@@ -213,7 +232,9 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         User approver = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
+        orderRollupService.removePurchaseOrder(po);
         po.setStatus(OrderStatus.APPROVED);
+        orderRollupService.addPurchaseOrder(po);
         po.setApprovedBy(approver);
         po.setApprovedAt(LocalDateTime.now());
 
@@ -222,14 +243,16 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
     @Override
     public PurchaseOrderResponse reject(Long id, String reason) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() != OrderStatus.PENDING_APPROVAL) {
             throw new BusinessException("Can only reject purchase orders in PENDING_APPROVAL status");
         }
 
+        orderRollupService.removePurchaseOrder(po);
         po.setStatus(OrderStatus.DRAFT);
+        orderRollupService.addPurchaseOrder(po);
         po.setInternalNotes((po.getInternalNotes() != null ? po.getInternalNotes() + "\n" : "") + "Rejected: " + reason);
 
         return mapToResponse(purchaseOrderRepository.save(po));
@@ -237,27 +260,31 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
     @Override
     public PurchaseOrderResponse sendToSupplier(Long id) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() != OrderStatus.APPROVED) {
             throw new BusinessException("Can only send approved purchase orders to supplier");
         }
 
+        orderRollupService.removePurchaseOrder(po);
         po.setStatus(OrderStatus.ORDERED);
+        orderRollupService.addPurchaseOrder(po);
         return mapToResponse(purchaseOrderRepository.save(po));
     }
 
     @Override
     public PurchaseOrderResponse cancel(Long id, String reason) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() == OrderStatus.RECEIVED || po.getStatus() == OrderStatus.CANCELLED) {
             throw new BusinessException("Cannot cancel purchase order in " + po.getStatus() + " status");
         }
 
+        orderRollupService.removePurchaseOrder(po);
         po.setStatus(OrderStatus.CANCELLED);
+        orderRollupService.addPurchaseOrder(po);
         po.setInternalNotes((po.getInternalNotes() != null ? po.getInternalNotes() + "\n" : "") + "Cancelled: " + reason);
 
         return mapToResponse(purchaseOrderRepository.save(po));
@@ -265,13 +292,14 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
     @Override
     public void delete(Long id) {
-        PurchaseOrder po = purchaseOrderRepository.findById(id)
+        PurchaseOrder po = purchaseOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Purchase Order", "id", id));
 
         if (po.getStatus() != OrderStatus.DRAFT) {
             throw new BusinessException("Can only delete purchase orders in DRAFT status");
         }
 
+        orderRollupService.removePurchaseOrder(po);
         purchaseOrderRepository.delete(po);
     }
 
@@ -281,10 +309,6 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         return purchaseOrderRepository.countByStatus(OrderStatus.valueOf(status));
     }
 
-    private String generatePoNumber() {
-        return "PO-" + System.currentTimeMillis() % 100000000;
-    }
-
     private Long getCurrentUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.getPrincipal() instanceof UserPrincipal) {
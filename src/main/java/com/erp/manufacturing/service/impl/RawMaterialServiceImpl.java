@@ -5,23 +5,33 @@ import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.RawMaterialResponse;
 import com.erp.manufacturing.entity.Category;
 import com.erp.manufacturing.entity.RawMaterial;
+import com.erp.manufacturing.entity.StockSummary;
 import com.erp.manufacturing.entity.UnitOfMeasurement;
+import com.erp.manufacturing.enums.LookupType;
+import com.erp.manufacturing.event.MasterDataChangedEvent;
 import com.erp.manufacturing.exception.DuplicateResourceException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.CategoryRepository;
 import com.erp.manufacturing.repository.RawMaterialRepository;
-import com.erp.manufacturing.repository.RawMaterialStockRepository;
 import com.erp.manufacturing.repository.UnitOfMeasurementRepository;
+import com.erp.manufacturing.service.BomCostService;
 import com.erp.manufacturing.service.RawMaterialService;
+import com.erp.manufacturing.service.StockAlertService;
+import com.erp.manufacturing.service.StockSummaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,13 +40,20 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class RawMaterialServiceImpl implements RawMaterialService {
 
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+
     private final RawMaterialRepository rawMaterialRepository;
-    private final RawMaterialStockRepository stockRepository;
     private final CategoryRepository categoryRepository;
     private final UnitOfMeasurementRepository unitRepository;
+    private final BomCostService bomCostService;
+    private final StockSummaryService stockSummaryService;
+    private final StockAlertService stockAlertService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "rawMaterials", allEntries = true)
     public RawMaterialResponse create(RawMaterialRequest request) {
         if (rawMaterialRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Raw Material", "code", request.getCode());
@@ -59,6 +76,7 @@ public class RawMaterialServiceImpl implements RawMaterialService {
                 .unit(unit)
                 .hsnCode(request.getHsnCode())
                 .reorderLevel(request.getReorderLevel() != null ? request.getReorderLevel() : BigDecimal.ZERO)
+                .minimumStockLevel(request.getMinimumStockLevel())
                 .reorderQuantity(request.getReorderQuantity() != null ? request.getReorderQuantity() : BigDecimal.ZERO)
                 .minimumOrderQuantity(request.getMinimumOrderQuantity() != null ? request.getMinimumOrderQuantity() : BigDecimal.ONE)
                 .leadTimeDays(request.getLeadTimeDays() != null ? request.getLeadTimeDays() : 0)
@@ -72,12 +90,15 @@ public class RawMaterialServiceImpl implements RawMaterialService {
 
         RawMaterial saved = rawMaterialRepository.save(rawMaterial);
         log.info("Raw material created: {}", saved.getCode());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.RAW_MATERIAL, saved.getId()));
+        refreshStockAlert(saved.getId());
 
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "rawMaterials", allEntries = true)
     public RawMaterialResponse update(Long id, RawMaterialRequest request) {
         RawMaterial rawMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Raw Material", "id", id));
@@ -103,9 +124,11 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         rawMaterial.setUnit(unit);
         rawMaterial.setHsnCode(request.getHsnCode());
         rawMaterial.setReorderLevel(request.getReorderLevel());
+        rawMaterial.setMinimumStockLevel(request.getMinimumStockLevel());
         rawMaterial.setReorderQuantity(request.getReorderQuantity());
         rawMaterial.setMinimumOrderQuantity(request.getMinimumOrderQuantity());
         rawMaterial.setLeadTimeDays(request.getLeadTimeDays());
+        BigDecimal previousStandardCost = rawMaterial.getStandardCost();
         rawMaterial.setStandardCost(request.getStandardCost());
         rawMaterial.setTaxPercent(request.getTaxPercent());
         rawMaterial.setShelfLifeDays(request.getShelfLifeDays());
@@ -118,11 +141,18 @@ public class RawMaterialServiceImpl implements RawMaterialService {
 
         RawMaterial saved = rawMaterialRepository.save(rawMaterial);
         log.info("Raw material updated: {}", saved.getCode());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.RAW_MATERIAL, saved.getId()));
+        refreshStockAlert(saved.getId());
+
+        if (costChanged(previousStandardCost, saved.getStandardCost())) {
+            bomCostService.onItemCostChanged(RAW_MATERIAL, saved.getId());
+        }
 
         return mapToResponse(saved);
     }
 
     @Override
+    @Cacheable(value = "rawMaterials", key = "'id:' + #id")
     public RawMaterialResponse getById(Long id) {
         RawMaterial rawMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Raw Material", "id", id));
@@ -139,73 +169,96 @@ public class RawMaterialServiceImpl implements RawMaterialService {
     @Override
     public PageResponse<RawMaterialResponse> getAll(Pageable pageable) {
         Page<RawMaterial> page = rawMaterialRepository.findAll(pageable);
-        return PageResponse.from(page, page.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList()));
+        return PageResponse.from(page, mapToResponses(page.getContent()));
+    }
+
+    @Override
+    public PageResponse<RawMaterialResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(rawMaterialRepository, RawMaterial.class, cursor, size, sort,
+                this::mapToResponses);
     }
 
     @Override
     public PageResponse<RawMaterialResponse> search(String search, Pageable pageable) {
         Page<RawMaterial> page = rawMaterialRepository.search(search, pageable);
-        return PageResponse.from(page, page.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList()));
+        return PageResponse.from(page, mapToResponses(page.getContent()));
     }
 
     @Override
     public PageResponse<RawMaterialResponse> getByCategory(Long categoryId, Pageable pageable) {
         Page<RawMaterial> page = rawMaterialRepository.findByCategoryId(categoryId, pageable);
-        return PageResponse.from(page, page.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList()));
+        return PageResponse.from(page, mapToResponses(page.getContent()));
     }
 
     @Override
     public List<RawMaterialResponse> getAllActive() {
-        return rawMaterialRepository.findAllActive().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(rawMaterialRepository.findAllActive());
     }
 
     @Override
     public List<RawMaterialResponse> getLowStockItems() {
-        return rawMaterialRepository.findLowStockItems().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(rawMaterialRepository.findLowStockItems());
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "rawMaterials", allEntries = true)
     public void delete(Long id) {
         RawMaterial rawMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Raw Material", "id", id));
         rawMaterialRepository.delete(rawMaterial);
         log.info("Raw material deleted: {}", rawMaterial.getCode());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.RAW_MATERIAL, rawMaterial.getId()));
+        refreshStockAlert(rawMaterial.getId());
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "rawMaterials", allEntries = true)
     public void activate(Long id) {
         RawMaterial rawMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Raw Material", "id", id));
         rawMaterial.setIsActive(true);
         rawMaterialRepository.save(rawMaterial);
         log.info("Raw material activated: {}", rawMaterial.getCode());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.RAW_MATERIAL, rawMaterial.getId()));
+        refreshStockAlert(rawMaterial.getId());
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "rawMaterials", allEntries = true)
     public void deactivate(Long id) {
         RawMaterial rawMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Raw Material", "id", id));
         rawMaterial.setIsActive(false);
         rawMaterialRepository.save(rawMaterial);
         log.info("Raw material deactivated: {}", rawMaterial.getCode());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.RAW_MATERIAL, rawMaterial.getId()));
+        refreshStockAlert(rawMaterial.getId());
+    }
+
+    // Thresholds and active/deleted flags feed the alert query, so they are flushed before it runs
+    private void refreshStockAlert(Long rawMaterialId) {
+        rawMaterialRepository.flush();
+        stockAlertService.evaluate(RAW_MATERIAL, List.of(rawMaterialId));
+    }
+
+    // One summary lookup for the whole list instead of two aggregates per material
+    private List<RawMaterialResponse> mapToResponses(List<RawMaterial> rawMaterials) {
+        Map<Long, StockSummary> summaries = stockSummaryService.getTotals(RAW_MATERIAL,
+                rawMaterials.stream().map(RawMaterial::getId).collect(Collectors.toList()));
+        return rawMaterials.stream()
+                .map(rawMaterial -> mapToResponse(rawMaterial, summaries.get(rawMaterial.getId())))
+                .collect(Collectors.toList());
     }
 
     private RawMaterialResponse mapToResponse(RawMaterial rawMaterial) {
-        BigDecimal totalStock = stockRepository.getTotalStockQuantity(rawMaterial.getId());
-        BigDecimal availableStock = stockRepository.getAvailableStockQuantity(rawMaterial.getId());
+        return mapToResponse(rawMaterial,
+                stockSummaryService.getTotals(RAW_MATERIAL, List.of(rawMaterial.getId())).get(rawMaterial.getId()));
+    }
+
+    private RawMaterialResponse mapToResponse(RawMaterial rawMaterial, StockSummary summary) {
 
         RawMaterialResponse.CategoryInfo categoryInfo = null;
         if (rawMaterial.getCategory() != null) {
@@ -229,6 +282,7 @@ public class RawMaterialServiceImpl implements RawMaterialService {
                         .build())
                 .hsnCode(rawMaterial.getHsnCode())
                 .reorderLevel(rawMaterial.getReorderLevel())
+                .minimumStockLevel(rawMaterial.getMinimumStockLevel())
                 .reorderQuantity(rawMaterial.getReorderQuantity())
                 .minimumOrderQuantity(rawMaterial.getMinimumOrderQuantity())
                 .leadTimeDays(rawMaterial.getLeadTimeDays())
@@ -240,11 +294,17 @@ public class RawMaterialServiceImpl implements RawMaterialService {
                 .storageConditions(rawMaterial.getStorageConditions())
                 .isBatchTracked(rawMaterial.getIsBatchTracked())
                 .isActive(rawMaterial.getIsActive())
-                .totalStock(totalStock != null ? totalStock : BigDecimal.ZERO)
-                .availableStock(availableStock != null ? availableStock : BigDecimal.ZERO)
+                .totalStock(summary != null ? summary.getQuantity() : BigDecimal.ZERO)
+                .availableStock(summary != null ? summary.getAvailableQuantity() : BigDecimal.ZERO)
                 .createdAt(rawMaterial.getCreatedAt())
                 .updatedAt(rawMaterial.getUpdatedAt())
                 .build();
     }
-}
 
+    private boolean costChanged(BigDecimal previous, BigDecimal current) {
+        if (previous == null || current == null) {
+            return previous != current;
+        }
+        return previous.compareTo(current) != 0;
+    }
+}
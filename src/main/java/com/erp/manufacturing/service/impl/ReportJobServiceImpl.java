@@ -0,0 +1,298 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.request.ReportJobRequest;
+import com.erp.manufacturing.dto.response.ReportJobResponse;
+import com.erp.manufacturing.entity.ReportJob;
+import com.erp.manufacturing.enums.ReportJobStatus;
+import com.erp.manufacturing.exception.InvalidOperationException;
+import com.erp.manufacturing.exception.ResourceNotFoundException;
+import com.erp.manufacturing.repository.ReportJobRepository;
+import com.erp.manufacturing.service.ReportJobService;
+import com.erp.manufacturing.service.ReportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<ReportJobStatus> ACTIVE = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportService reportService;
+    private final Path spoolDirectory;
+    private final int maxJobsPerUser;
+    private final Duration resultTtl;
+    private final Duration maxRuntime;
+    // Stable across restarts of the same host, so a restarted worker recognises the jobs it was running
+    private final String worker;
+
+    // Report jobs get their own small pool so month-end reports never take request threads; it is not a bean,
+    // because an Executor bean would replace the pool Spring MVC uses for streamed responses
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository,
+                                ReportService reportService,
+                                @Value("${app.file.upload-dir:./uploads}") String uploadDir,
+                                @Value("${app.report.jobs.pool-size:2}") int poolSize,
+                                @Value("${app.report.jobs.queue-capacity:50}") int queueCapacity,
+                                @Value("${app.report.jobs.max-per-user:2}") int maxJobsPerUser,
+                                @Value("${app.report.jobs.result-ttl-hours:24}") long resultTtlHours,
+                                @Value("${app.report.jobs.max-runtime-minutes:120}") long maxRuntimeMinutes,
+                                @Value("${app.report.jobs.worker:}") String worker) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportService = reportService;
+        this.spoolDirectory = Paths.get(uploadDir, "reports").toAbsolutePath().normalize();
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.resultTtl = Duration.ofHours(resultTtlHours);
+        this.maxRuntime = Duration.ofMinutes(maxRuntimeMinutes);
+        this.worker = worker.isBlank() ? hostName() : worker;
+
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public ReportJobResponse submit(ReportJobRequest request) {
+        if (request.getReportType().isDateRange() && (request.getStartDate() == null || request.getEndDate() == null)) {
+            throw new InvalidOperationException("startDate and endDate are required for the " + request.getReportType() + " report");
+        }
+        String username = currentUsername();
+        ReportJob job = reportJobRepository.save(ReportJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .reportType(request.getReportType())
+                .format(request.getFormat())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .status(ReportJobStatus.QUEUED)
+                .requestedBy(username)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // The limit holds across nodes and restarts because it counts rows; counting after the insert means two
+        // concurrent submissions cannot both slip under it
+        if (reportJobRepository.countByRequestedByAndStatusIn(username, ACTIVE) > maxJobsPerUser) {
+            reportJobRepository.delete(job);
+            throw new InvalidOperationException("You already have " + maxJobsPerUser + " report jobs in progress");
+        }
+
+        try {
+            executor.execute(() -> run(job.getId()));
+        } catch (TaskRejectedException ex) {
+            fail(job.getId(), "Report queue is full");
+            throw new InvalidOperationException("The report queue is full, please try again later");
+        }
+        log.info("Report job {} queued: {} {} for {}", job.getJobId(), job.getReportType(), job.getFormat(), username);
+        return mapToResponse(job);
+    }
+
+    @Override
+    public ReportJobResponse getJob(String jobId) {
+        return mapToResponse(findAccessibleJob(jobId));
+    }
+
+    @Override
+    public List<ReportJobResponse> getMyJobs() {
+        return reportJobRepository.findTop50ByRequestedByOrderByCreatedAtDesc(currentUsername()).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Resource getResult(String jobId) {
+        ReportJob job = findAccessibleJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new InvalidOperationException("Report job " + jobId + " is " + job.getStatus());
+        }
+        Path file = resultPath(job);
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("Report result", "jobId", jobId);
+        }
+        return new FileSystemResource(file);
+    }
+
+    // Deletes spooled results past their expiry and fails jobs that have waited or run for too long; a worker
+    // that is still exporting a failed job discards its result instead of completing it
+    @Override
+    @Scheduled(fixedDelayString = "${app.report.jobs.cleanup-ms:600000}")
+    public void expireJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ReportJob job : reportJobRepository.findByStatusAndExpiresAtBefore(ReportJobStatus.COMPLETED, now)) {
+            deleteQuietly(resultPath(job));
+            job.setStatus(ReportJobStatus.EXPIRED);
+            reportJobRepository.save(job);
+        }
+        LocalDateTime cutoff = now.minus(maxRuntime);
+        for (ReportJob job : reportJobRepository.findByStatusAndCreatedAtBefore(ReportJobStatus.QUEUED, cutoff)) {
+            fail(job.getId(), "Report job did not start within " + maxRuntime.toMinutes() + " minutes");
+        }
+        for (ReportJob job : reportJobRepository.findByStatusAndStartedAtBefore(ReportJobStatus.RUNNING, cutoff)) {
+            fail(job.getId(), "Report job did not finish within " + maxRuntime.toMinutes() + " minutes");
+        }
+    }
+
+    // Jobs this worker was running when it stopped can never finish, so they fail now instead of at the runtime
+    // limit. Queued jobs only lived in some pool's memory: they are queued here again, and the conditional start
+    // lets only one node run a job that several nodes requeue
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        for (ReportJob job : reportJobRepository.findByStatusAndWorker(ReportJobStatus.RUNNING, worker)) {
+            Path target = resultPath(job);
+            deleteQuietly(target.resolveSibling(target.getFileName() + ".part"));
+            fail(job.getId(), "Report job was interrupted by a restart");
+        }
+        int requeued = 0;
+        for (ReportJob job : reportJobRepository.findByStatus(ReportJobStatus.QUEUED)) {
+            try {
+                executor.execute(() -> run(job.getId()));
+                requeued++;
+            } catch (TaskRejectedException ex) {
+                log.warn("Report queue is full; the remaining queued jobs are left to other nodes or the expiry sweep");
+                break;
+            }
+        }
+        if (requeued > 0) {
+            log.info("Requeued {} report job(s) left queued by a restart", requeued);
+        }
+    }
+
+    private void run(Long id) {
+        Path partial = null;
+        try {
+            // A job the expiry sweep already failed while it sat in the queue is not started
+            if (reportJobRepository.markRunning(id, LocalDateTime.now(), worker) == 0) {
+                log.info("Report job {} is no longer queued, skipping it", id);
+                return;
+            }
+            ReportJob job = reportJobRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Report job", "id", id));
+
+            Files.createDirectories(spoolDirectory);
+            Path target = resultPath(job);
+            partial = target.resolveSibling(target.getFileName() + ".part");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                reportService.exportReport(job.getReportType(), job.getFormat(), job.getStartDate(), job.getEndDate(), out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+
+            LocalDateTime completedAt = LocalDateTime.now();
+            long fileSize = Files.size(target);
+            int updated = reportJobRepository.markCompleted(job.getId(),
+                    job.getReportType().fileName(job.getFormat(), job.getStartDate(), job.getEndDate()),
+                    fileSize, completedAt, completedAt.plus(resultTtl));
+            if (updated == 0) {
+                deleteQuietly(target);
+                log.warn("Report job {} was failed while running, discarding its result", job.getJobId());
+                return;
+            }
+            log.info("Report job {} completed: {} bytes", job.getJobId(), fileSize);
+        } catch (Exception ex) {
+            log.error("Report job {} failed", id, ex);
+            if (partial != null) {
+                deleteQuietly(partial);
+            }
+            fail(id, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+        }
+    }
+
+    private void fail(Long id, String message) {
+        reportJobRepository.markFailed(id, ACTIVE,
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message, LocalDateTime.now());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "localhost";
+        }
+    }
+
+    // Someone else's job looks the same as a missing one, unless the caller is an admin
+    private ReportJob findAccessibleJob(String jobId) {
+        ReportJob job = reportJobRepository.findByJobId(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job", "jobId", jobId));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = auth != null && auth.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin && !job.getRequestedBy().equals(currentUsername())) {
+            throw new ResourceNotFoundException("Report job", "jobId", jobId);
+        }
+        return job;
+    }
+
+    private Path resultPath(ReportJob job) {
+        return spoolDirectory.resolve(job.getJobId() + "." + job.getFormat().getExtension());
+    }
+
+    private String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            throw new InvalidOperationException("No authenticated user");
+        }
+        return auth.getName();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete report file {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private ReportJobResponse mapToResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getJobId())
+                .reportType(job.getReportType().name())
+                .format(job.getFormat().name())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .status(job.getStatus().name())
+                .requestedBy(job.getRequestedBy())
+                .fileName(job.getFileName())
+                .fileSize(job.getFileSize())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+}
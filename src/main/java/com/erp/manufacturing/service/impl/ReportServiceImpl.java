@@ -0,0 +1,229 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.FinishedGoodsReportRowResponse;
+import com.erp.manufacturing.dto.response.InvoiceLineReportRowResponse;
+import com.erp.manufacturing.dto.response.ProductionReportRowResponse;
+import com.erp.manufacturing.dto.response.PurchaseReportRowResponse;
+import com.erp.manufacturing.dto.response.RawMaterialReportRowResponse;
+import com.erp.manufacturing.dto.response.SalesReportRowResponse;
+import com.erp.manufacturing.enums.ExportFormat;
+import com.erp.manufacturing.enums.ReportType;
+import com.erp.manufacturing.enums.WorkOrderStatus;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.InvoiceRepository;
+import com.erp.manufacturing.repository.PurchaseOrderRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.repository.SalesOrderRepository;
+import com.erp.manufacturing.repository.WorkOrderRepository;
+import com.erp.manufacturing.service.OrderRollupService;
+import com.erp.manufacturing.service.ReportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReportServiceImpl implements ReportService {
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final WorkOrderRepository workOrderRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final OrderRollupService orderRollupService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void writeSalesReport(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        BigDecimal totalSales = orderRollupService.getTotalSalesValue(startDate, endDate);
+        writeReport(out, generator -> {
+            generator.writeObjectField("totalSales", totalSales);
+            generator.writeObjectField("startDate", startDate);
+            generator.writeObjectField("endDate", endDate);
+
+            // Sample chart data
+            generator.writeObjectField("chartLabels", Arrays.asList("Week 1", "Week 2", "Week 3", "Week 4"));
+            generator.writeObjectField("chartData", Arrays.asList(25000, 35000, 28000, 42000));
+
+            writeRows(generator, "orders", salesOrderRepository.streamSalesReport(startDate, endDate));
+        });
+    }
+
+    @Override
+    public void writePurchaseReport(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        BigDecimal totalPurchases = orderRollupService.getTotalPurchaseValue(startDate, endDate);
+        writeReport(out, generator -> {
+            generator.writeObjectField("totalPurchases", totalPurchases);
+            generator.writeObjectField("startDate", startDate);
+            generator.writeObjectField("endDate", endDate);
+
+            writeRows(generator, "orders", purchaseOrderRepository.streamPurchaseReport(startDate, endDate));
+        });
+    }
+
+    @Override
+    public void writeProductionReport(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        writeReport(out, generator -> {
+            generator.writeObjectField("startDate", startDate);
+            generator.writeObjectField("endDate", endDate);
+
+            // Summary counts are tallied while the rows go out, so the list is never held in memory
+            long[] counts = new long[2];
+            Consumer<ProductionReportRowResponse> tally = row -> {
+                if (row.getStatus() == WorkOrderStatus.COMPLETED) {
+                    counts[0]++;
+                } else if (row.getStatus() == WorkOrderStatus.IN_PROGRESS) {
+                    counts[1]++;
+                }
+            };
+            long total = writeRows(generator, "workOrders",
+                    workOrderRepository.streamProductionReport(startDate, endDate), tally);
+
+            generator.writeNumberField("completedCount", counts[0]);
+            generator.writeNumberField("inProgressCount", counts[1]);
+            generator.writeNumberField("pendingCount", total - counts[0] - counts[1]);
+        });
+    }
+
+    @Override
+    public void writeInventoryReport(OutputStream out) throws IOException {
+        writeReport(out, generator -> {
+            long rawMaterials = writeRows(generator, "rawMaterials", rawMaterialRepository.streamInventoryReport());
+            generator.writeNumberField("totalRawMaterials", rawMaterials);
+
+            long finishedGoods = writeRows(generator, "finishedGoods", finishedGoodsRepository.streamInventoryReport());
+            generator.writeNumberField("totalFinishedGoods", finishedGoods);
+        });
+    }
+
+    @Override
+    public void exportReport(ReportType type, ExportFormat format, LocalDate startDate, LocalDate endDate,
+                             OutputStream out) throws IOException {
+        List<ReportTable<?>> tables = exportTables(type, startDate, endDate);
+        switch (format) {
+            case CSV -> CsvReportWriter.write(tables, out);
+            case XLSX -> XlsxReportWriter.write(tables, out);
+        }
+        log.info("Exported {} report as {}", type, format);
+    }
+
+    private List<ReportTable<?>> exportTables(ReportType type, LocalDate startDate, LocalDate endDate) {
+        return switch (type) {
+            case SALES -> List.of(new ReportTable<>("Sales Orders", List.of(
+                    ReportTable.column("Order Number", SalesReportRowResponse::getOrderNumber),
+                    ReportTable.column("Customer", SalesReportRowResponse::getCustomerName),
+                    ReportTable.column("Order Date", SalesReportRowResponse::getOrderDate),
+                    ReportTable.column("Total", SalesReportRowResponse::getTotal),
+                    ReportTable.column("Status", SalesReportRowResponse::getStatus)),
+                    () -> salesOrderRepository.streamSalesReport(startDate, endDate)));
+            case PURCHASE -> List.of(new ReportTable<>("Purchase Orders", List.of(
+                    ReportTable.column("Order Number", PurchaseReportRowResponse::getOrderNumber),
+                    ReportTable.column("Supplier", PurchaseReportRowResponse::getSupplierName),
+                    ReportTable.column("Order Date", PurchaseReportRowResponse::getOrderDate),
+                    ReportTable.column("Total", PurchaseReportRowResponse::getTotal),
+                    ReportTable.column("Status", PurchaseReportRowResponse::getStatus)),
+                    () -> purchaseOrderRepository.streamPurchaseReport(startDate, endDate)));
+            case PRODUCTION -> List.of(new ReportTable<>("Work Orders", List.of(
+                    ReportTable.column("Work Order No", ProductionReportRowResponse::getWorkOrderNo),
+                    ReportTable.column("Product", ProductionReportRowResponse::getProductName),
+                    ReportTable.column("Planned Qty", ProductionReportRowResponse::getPlannedQty),
+                    ReportTable.column("Completed Qty", ProductionReportRowResponse::getCompletedQty),
+                    ReportTable.column("Status", ProductionReportRowResponse::getStatus),
+                    ReportTable.column("Completion %", ProductionReportRowResponse::getCompletionPercent)),
+                    () -> workOrderRepository.streamProductionReport(startDate, endDate)));
+            case INVENTORY -> List.of(
+                    new ReportTable<>("Raw Materials", List.of(
+                            ReportTable.column("Code", RawMaterialReportRowResponse::getCode),
+                            ReportTable.column("Name", RawMaterialReportRowResponse::getName),
+                            ReportTable.column("Category", RawMaterialReportRowResponse::getCategory),
+                            ReportTable.column("Reorder Level", RawMaterialReportRowResponse::getReorderLevel),
+                            ReportTable.column("Unit Price", RawMaterialReportRowResponse::getUnitPrice)),
+                            rawMaterialRepository::streamInventoryReport),
+                    new ReportTable<>("Finished Goods", List.of(
+                            ReportTable.column("Code", FinishedGoodsReportRowResponse::getCode),
+                            ReportTable.column("Name", FinishedGoodsReportRowResponse::getName),
+                            ReportTable.column("Category", FinishedGoodsReportRowResponse::getCategory),
+                            ReportTable.column("Selling Price", FinishedGoodsReportRowResponse::getSellingPrice),
+                            ReportTable.column("Reorder Level", FinishedGoodsReportRowResponse::getReorderLevel)),
+                            finishedGoodsRepository::streamInventoryReport));
+            case INVOICE_LINES -> List.of(new ReportTable<>("Invoice Lines", List.of(
+                    ReportTable.column("Invoice Number", InvoiceLineReportRowResponse::getInvoiceNumber),
+                    ReportTable.column("Invoice Date", InvoiceLineReportRowResponse::getInvoiceDate),
+                    ReportTable.column("Customer", InvoiceLineReportRowResponse::getCustomerName),
+                    ReportTable.column("Product Code", InvoiceLineReportRowResponse::getProductCode),
+                    ReportTable.column("Description", InvoiceLineReportRowResponse::getDescription),
+                    ReportTable.column("HSN Code", InvoiceLineReportRowResponse::getHsnCode),
+                    ReportTable.column("Quantity", InvoiceLineReportRowResponse::getQuantity),
+                    ReportTable.column("Unit Price", InvoiceLineReportRowResponse::getUnitPrice),
+                    ReportTable.column("Discount %", InvoiceLineReportRowResponse::getDiscountPercent),
+                    ReportTable.column("Taxable Amount", InvoiceLineReportRowResponse::getTaxableAmount),
+                    ReportTable.column("CGST", InvoiceLineReportRowResponse::getCgstAmount),
+                    ReportTable.column("SGST", InvoiceLineReportRowResponse::getSgstAmount),
+                    ReportTable.column("IGST", InvoiceLineReportRowResponse::getIgstAmount),
+                    ReportTable.column("Total", InvoiceLineReportRowResponse::getTotal),
+                    ReportTable.column("Status", InvoiceLineReportRowResponse::getStatus)),
+                    () -> invoiceRepository.streamInvoiceLineReport(startDate, endDate)));
+        };
+    }
+
+    // Same envelope as ApiResponse.success(data), written field by field so rows reach the client as they are read
+    private void writeReport(OutputStream out, ReportBody body) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", "Success");
+            generator.writeObjectFieldStart("data");
+            body.write(generator);
+            generator.writeEndObject();
+            generator.writeNumberField("status", 200);
+            generator.writeObjectField("timestamp", LocalDateTime.now());
+            generator.writeEndObject();
+        }
+    }
+
+    private <T> long writeRows(JsonGenerator generator, String fieldName, Stream<T> rows) throws IOException {
+        return writeRows(generator, fieldName, rows, row -> {
+        });
+    }
+
+    private <T> long writeRows(JsonGenerator generator, String fieldName, Stream<T> rows, Consumer<T> onRow)
+            throws IOException {
+        long count = 0;
+        generator.writeArrayFieldStart(fieldName);
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                onRow.accept(row);
+                generator.writeObject(row);
+                count++;
+            }
+        }
+        generator.writeEndArray();
+        log.debug("Streamed {} {} report rows", count, fieldName);
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface ReportBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.erp.manufacturing.service.impl;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// One tabular section of an exported report. Rows are opened only when the writer reaches the table, so a
+// multi-table report never holds more than one database cursor at a time
+record ReportTable<T>(String title, List<Column<T>> columns, Supplier<Stream<T>> rows) {
+
+    record Column<T>(String header, Function<T, Object> value) {
+    }
+
+    static <T> Column<T> column(String header, Function<T, Object> value) {
+        return new Column<>(header, value);
+    }
+}
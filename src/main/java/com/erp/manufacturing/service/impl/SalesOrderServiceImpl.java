@@ -7,14 +7,19 @@ import com.erp.manufacturing.dto.response.SalesOrderItemResponse;
 import com.erp.manufacturing.dto.response.SalesOrderResponse;
 import com.erp.manufacturing.entity.*;
 import com.erp.manufacturing.enums.OrderStatus;
+import com.erp.manufacturing.enums.SequenceType;
 import com.erp.manufacturing.exception.BusinessException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.*;
+import com.erp.manufacturing.service.DocumentNumberService;
+import com.erp.manufacturing.service.OrderRollupService;
 import com.erp.manufacturing.service.SalesOrderService;
+import com.erp.manufacturing.service.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +38,10 @@ public class SalesOrderServiceImpl implements SalesOrderService {
     private final CustomerRepository customerRepository;
     private final WarehouseRepository warehouseRepository;
     private final FinishedGoodsRepository finishedGoodsRepository;
+    private final DocumentNumberService documentNumberService;
+    private final StockReservationService stockReservationService;
+    private final OrderRollupService orderRollupService;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     public SalesOrderResponse create(SalesOrderRequest request) {
@@ -47,7 +56,7 @@ public class SalesOrderServiceImpl implements SalesOrderService {
                     .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", request.getWarehouseId()));
         }
 
-        String soNumber = generateSoNumber();
+        String soNumber = documentNumberService.next(SequenceType.SALES_ORDER);
 
         SalesOrder so = SalesOrder.builder()
                 .soNumber(soNumber)
@@ -73,6 +82,7 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
         so.calculateTotals();
         SalesOrder saved = salesOrderRepository.save(so);
+        orderRollupService.addSalesOrder(saved);
         log.info("Sales order created: {}", soNumber);
 
         return mapToResponse(saved);
@@ -80,12 +90,13 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
     @Override
     public SalesOrderResponse update(Long id, SalesOrderRequest request) {
-        SalesOrder so = salesOrderRepository.findById(id)
+        SalesOrder so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales Order", "id", id));
 
         if (so.getStatus() != OrderStatus.DRAFT) {
             throw new BusinessException("Cannot update sales order in " + so.getStatus() + " status");
         }
+        orderRollupService.removeSalesOrder(so);
 
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", request.getCustomerId()));
@@ -115,6 +126,7 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         }
 
         so.calculateTotals();
+        orderRollupService.addSalesOrder(so);
         return mapToResponse(salesOrderRepository.save(so));
     }
 
@@ -142,6 +154,13 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         return PageResponse.of(responses, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SalesOrderResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(salesOrderRepository, SalesOrder.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<SalesOrderResponse> search(String searchTerm, Pageable pageable) {
@@ -193,40 +212,48 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
     @Override
     public SalesOrderResponse confirm(Long id) {
-        SalesOrder so = salesOrderRepository.findById(id)
+        SalesOrder so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales Order", "id", id));
 
         if (so.getStatus() != OrderStatus.DRAFT) {
             throw new BusinessException("Can only confirm sales orders in DRAFT status");
         }
 
+        orderRollupService.removeSalesOrder(so);
         so.setStatus(OrderStatus.CONFIRMED);
+        orderRollupService.addSalesOrder(so);
+        stockReservationService.reserveForSalesOrder(so);
         return mapToResponse(salesOrderRepository.save(so));
     }
 
     @Override
     public SalesOrderResponse process(Long id) {
-        SalesOrder so = salesOrderRepository.findById(id)
+        SalesOrder so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales Order", "id", id));
 
         if (so.getStatus() != OrderStatus.CONFIRMED) {
             throw new BusinessException("Can only process sales orders in CONFIRMED status");
         }
 
+        orderRollupService.removeSalesOrder(so);
         so.setStatus(OrderStatus.PROCESSING);
+        orderRollupService.addSalesOrder(so);
         return mapToResponse(salesOrderRepository.save(so));
     }
 
     @Override
     public SalesOrderResponse cancel(Long id, String reason) {
-        SalesOrder so = salesOrderRepository.findById(id)
+        SalesOrder so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales Order", "id", id));
 
         if (so.getStatus() == OrderStatus.DELIVERED || so.getStatus() == OrderStatus.CANCELLED) {
             throw new BusinessException("Cannot cancel sales order in " + so.getStatus() + " status");
         }
 
+        orderRollupService.removeSalesOrder(so);
         so.setStatus(OrderStatus.CANCELLED);
+        orderRollupService.addSalesOrder(so);
+        stockReservationService.release("SALES_ORDER", so.getId());
         so.setInternalNotes((so.getInternalNotes() != null ? so.getInternalNotes() + "\n" : "") + "Cancelled: " + reason);
 
         return mapToResponse(salesOrderRepository.save(so));
@@ -234,13 +261,14 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
     @Override
     public void delete(Long id) {
-        SalesOrder so = salesOrderRepository.findById(id)
+        SalesOrder so = salesOrderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales Order", "id", id));
 
         if (so.getStatus() != OrderStatus.DRAFT) {
             throw new BusinessException("Can only delete sales orders in DRAFT status");
         }
 
+        orderRollupService.removeSalesOrder(so);
         salesOrderRepository.delete(so);
     }
 
@@ -250,10 +278,6 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         return salesOrderRepository.countByStatus(OrderStatus.valueOf(status));
     }
 
-    private String generateSoNumber() {
-        return "SO-" + System.currentTimeMillis() % 100000000;
-    }
-
     private SalesOrderItem createSoItem(SalesOrderItemRequest request) {
         FinishedGoods fg = finishedGoodsRepository.findById(request.getFinishedGoodsId())
                 .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", request.getFinishedGoodsId()));
@@ -0,0 +1,250 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.SearchResultResponse;
+import com.erp.manufacturing.enums.SearchDomain;
+import com.erp.manufacturing.service.SearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_LIMIT = 50;
+    // pg_trgm's default similarity threshold, used by the in-memory fallback as well
+    private static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long fallbackRefreshMillis;
+
+    private final Map<SearchDomain, String> trigramQueries = new EnumMap<>(SearchDomain.class);
+    private final Map<SearchDomain, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile Boolean trigramAvailable;
+
+    public SearchServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                             @Value("${app.search.fallback-refresh-seconds:60}") long fallbackRefreshSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fallbackRefreshMillis = fallbackRefreshSeconds * 1000;
+        for (SearchDomain domain : SearchDomain.values()) {
+            trigramQueries.put(domain, trigramQuery(domain));
+        }
+    }
+
+    @Override
+    public List<SearchResultResponse> search(String query, Set<SearchDomain> domains, int limit) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_TERM_LENGTH) {
+            return List.of();
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Set<SearchDomain> searched = domains == null || domains.isEmpty() ? Set.of(SearchDomain.values()) : domains;
+
+        List<SearchResultResponse> results = new ArrayList<>();
+        boolean trigram = isTrigramAvailable();
+        for (SearchDomain domain : searched) {
+            results.addAll(trigram
+                    ? searchWithTrigrams(domain, term, cappedLimit)
+                    : searchInMemory(domain, term, cappedLimit));
+        }
+        results.sort(Comparator.comparingDouble(SearchResultResponse::getScore).reversed()
+                .thenComparing(SearchResultResponse::getType)
+                .thenComparing(SearchResultResponse::getId));
+        return results.size() > cappedLimit ? new ArrayList<>(results.subList(0, cappedLimit)) : results;
+    }
+
+    private List<SearchResultResponse> searchWithTrigrams(SearchDomain domain, String term, int limit) {
+        String escaped = escapeLike(term);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", term)
+                .addValue("contains", "%" + escaped + "%")
+                .addValue("prefix", escaped + "%")
+                .addValue("limit", limit);
+        return jdbcTemplate.query(trigramQueries.get(domain), params, (rs, rowNum) -> SearchResultResponse.builder()
+                .type(domain.name())
+                .id(rs.getLong("id"))
+                .code(rs.getString("code"))
+                .title(rs.getString("title"))
+                .subtitle(rs.getString("subtitle"))
+                .score(rs.getDouble("score"))
+                .build());
+    }
+
+    // Every lower(column) predicate here is served by a GIN gin_trgm_ops index, both the substring LIKE
+    // and the fuzzy % match; exact and prefix hits on the code rank first
+    private String trigramQuery(SearchDomain domain) {
+        List<String> similarities = new ArrayList<>();
+        for (String column : domain.getSearchColumns()) {
+            similarities.add("similarity(lower(" + column + "), :term)");
+        }
+        String code = "lower(" + domain.getCodeColumn() + ")";
+        return "SELECT r.* FROM (SELECT t.id AS id, " + domain.getCodeColumn() + " AS code, " +
+                domain.getTitleColumn() + " AS title, " + domain.getSubtitleColumn() + " AS subtitle, " +
+                "COALESCE(GREATEST(" + String.join(", ", similarities) + "), 0) + " +
+                "CASE WHEN " + code + " = :term THEN 1.0 WHEN " + code + " LIKE :prefix ESCAPE '\\' THEN 0.5 ELSE 0 END " +
+                "AS score FROM " + domain.getFrom() + " WHERE " + domain.getWhere() +
+                " AND " + matchFilter(domain) + ") r " +
+                "ORDER BY r.score DESC, r.id LIMIT :limit";
+    }
+
+    // An OR across the document and its joined party could not use either table's index, so documents are
+    // matched in two indexed branches: on their own number, and on a party id from the party's own index
+    private String matchFilter(SearchDomain domain) {
+        if (!domain.hasParty()) {
+            return "(" + anyColumnMatches(domain.getOwnColumns()) + ")";
+        }
+        return "t.id IN (" +
+                "SELECT t.id FROM " + domain.getTable() + " WHERE " + domain.getWhere() +
+                " AND (" + anyColumnMatches(domain.getOwnColumns()) + ") " +
+                "UNION " +
+                "SELECT t.id FROM " + domain.getTable() + " WHERE " + domain.getWhere() +
+                " AND " + domain.getPartyKey() + " IN (SELECT p.id FROM " + domain.getPartyTable() +
+                " WHERE " + anyColumnMatches(domain.getPartyColumns()) + "))";
+    }
+
+    private static String anyColumnMatches(List<String> columns) {
+        List<String> matches = new ArrayList<>();
+        for (String column : columns) {
+            matches.add("lower(" + column + ") LIKE :contains ESCAPE '\\'");
+            matches.add("lower(" + column + ") % :term");
+        }
+        return String.join(" OR ", matches);
+    }
+
+    private boolean isTrigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            available = detectTrigramSupport();
+            trigramAvailable = available;
+            if (!available) {
+                log.info("pg_trgm is not available; search uses the in-memory fallback");
+            }
+        }
+        return available;
+    }
+
+    private boolean detectTrigramSupport() {
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("postgres")) {
+            return false;
+        }
+        Integer installed = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+        return installed != null && installed > 0;
+    }
+
+    // Fallback for databases without pg_trgm (the H2 dev profile): a per-domain snapshot of the searchable
+    // columns, reloaded at most once per refresh interval and scored with the same trigram similarity
+    private List<SearchResultResponse> searchInMemory(SearchDomain domain, String term, int limit) {
+        Set<String> termTrigrams = trigrams(term);
+        List<SearchResultResponse> results = new ArrayList<>();
+        for (Row row : snapshot(domain).rows()) {
+            boolean matched = false;
+            double best = 0;
+            for (String value : row.searchValues()) {
+                if (value == null) {
+                    continue;
+                }
+                double similarity = similarity(termTrigrams, trigrams(value));
+                matched |= value.contains(term) || similarity >= SIMILARITY_THRESHOLD;
+                best = Math.max(best, similarity);
+            }
+            if (!matched) {
+                continue;
+            }
+            String code = row.code() != null ? row.code().toLowerCase(Locale.ROOT) : "";
+            double boost = code.equals(term) ? 1.0 : code.startsWith(term) ? 0.5 : 0;
+            results.add(SearchResultResponse.builder()
+                    .type(domain.name())
+                    .id(row.id())
+                    .code(row.code())
+                    .title(row.title())
+                    .subtitle(row.subtitle())
+                    .score(best + boost)
+                    .build());
+        }
+        results.sort(Comparator.comparingDouble(SearchResultResponse::getScore).reversed()
+                .thenComparing(SearchResultResponse::getId));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    private Snapshot snapshot(SearchDomain domain) {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = snapshots.get(domain);
+        if (snapshot == null || now - snapshot.loadedAt() > fallbackRefreshMillis) {
+            snapshot = new Snapshot(loadRows(domain), now);
+            snapshots.put(domain, snapshot);
+        }
+        return snapshot;
+    }
+
+    private List<Row> loadRows(SearchDomain domain) {
+        List<String> columns = domain.getSearchColumns();
+        String sql = "SELECT t.id, " + domain.getCodeColumn() + ", " + domain.getTitleColumn() + ", " +
+                domain.getSubtitleColumn() + ", " + String.join(", ", columns) +
+                " FROM " + domain.getFrom() + " WHERE " + domain.getWhere();
+        return jdbcTemplate.getJdbcTemplate().query(sql, (rs, rowNum) -> {
+            List<String> values = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                String value = rs.getString(5 + i);
+                values.add(value != null ? value.toLowerCase(Locale.ROOT) : null);
+            }
+            return new Row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), values);
+        });
+    }
+
+    // Same trigram extraction as pg_trgm: each word padded with two leading spaces and one trailing space
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record Row(Long id, String code, String title, String subtitle, List<String> searchValues) {
+    }
+
+    private record Snapshot(List<Row> rows, long loadedAt) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.service.StockAlertService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockAlertServiceImpl implements StockAlertService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Evaluates only the given items against their all-warehouse summary row, so a posting costs a few
+    // index lookups instead of a scan of every item
+    @Override
+    public void evaluate(String itemType, Collection<Long> itemIds) {
+        ItemTable table = ItemTable.of(itemType);
+        if (table == null || itemIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("itemIds", itemIds)
+                .addValue("now", LocalDateTime.now());
+        jdbcTemplate.update(table.deleteSelectedSql, params);
+        jdbcTemplate.update(table.upsertSelectedSql, params);
+    }
+
+    @Override
+    public int rebuild() {
+        MapSqlParameterSource params = new MapSqlParameterSource("now", LocalDateTime.now());
+        int rows = 0;
+        for (ItemTable table : ItemTable.values()) {
+            jdbcTemplate.update(table.deleteAllSql, params);
+            rows += jdbcTemplate.update(table.upsertAllSql, params);
+        }
+        log.info("Rebuilt {} stock alert(s)", rows);
+        return rows;
+    }
+
+    private enum ItemTable {
+        RAW_MATERIAL("raw_materials"),
+        FINISHED_GOODS("finished_goods");
+
+        private final String upsertSelectedSql;
+        private final String deleteSelectedSql;
+        private final String upsertAllSql;
+        private final String deleteAllSql;
+
+        ItemTable(String tableName) {
+            String selected = qualifying(tableName, "AND i.id IN (:itemIds) ");
+            String all = qualifying(tableName, "");
+            this.upsertSelectedSql = upsert(selected);
+            this.deleteSelectedSql = "DELETE FROM stock_alerts WHERE item_type = '" + name() + "' " +
+                    "AND item_id IN (:itemIds) AND item_id NOT IN (SELECT c.id FROM (" + selected + ") c)";
+            this.upsertAllSql = upsert(all);
+            this.deleteAllSql = "DELETE FROM stock_alerts WHERE item_type = '" + name() + "' " +
+                    "AND item_id NOT IN (SELECT c.id FROM (" + all + ") c)";
+        }
+
+        private static ItemTable of(String itemType) {
+            for (ItemTable table : values()) {
+                if (table.name().equals(itemType)) {
+                    return table;
+                }
+            }
+            return null;
+        }
+
+        // Active items whose available stock is at or below the higher of their reorder and minimum levels;
+        // items with neither level set are not tracked
+        private String qualifying(String tableName, String filter) {
+            return "SELECT q.* FROM (SELECT i.id, COALESCE(s.quantity - s.reserved_quantity, 0) AS available, " +
+                    "i.reorder_level, i.minimum_stock_level, " +
+                    "GREATEST(COALESCE(i.reorder_level, 0), COALESCE(i.minimum_stock_level, 0)) AS threshold " +
+                    "FROM " + tableName + " i LEFT JOIN stock_summaries s ON s.item_type = '" + name() + "' " +
+                    "AND s.item_id = i.id AND s.warehouse_id = 0 " +
+                    "WHERE i.is_deleted = false AND i.is_active = true " + filter + ") q " +
+                    "WHERE q.threshold > 0 AND q.available <= q.threshold";
+        }
+
+        private String upsert(String qualifying) {
+            return "INSERT INTO stock_alerts (item_type, item_id, alert_level, available_quantity, reorder_level, " +
+                    "minimum_stock_level, raised_at, updated_at) " +
+                    "SELECT '" + name() + "', c.id, " +
+                    "CASE WHEN c.available <= COALESCE(c.minimum_stock_level, 0) THEN 'CRITICAL' ELSE 'LOW' END, " +
+                    "c.available, c.reorder_level, c.minimum_stock_level, :now, :now " +
+                    "FROM (" + qualifying + ") c " +
+                    "ON CONFLICT (item_type, item_id) DO UPDATE SET " +
+                    "raised_at = CASE WHEN stock_alerts.alert_level = EXCLUDED.alert_level " +
+                    "THEN stock_alerts.raised_at ELSE EXCLUDED.raised_at END, " +
+                    "alert_level = EXCLUDED.alert_level, " +
+                    "available_quantity = EXCLUDED.available_quantity, " +
+                    "reorder_level = EXCLUDED.reorder_level, " +
+                    "minimum_stock_level = EXCLUDED.minimum_stock_level, " +
+                    "updated_at = EXCLUDED.updated_at";
+        }
+    }
+}
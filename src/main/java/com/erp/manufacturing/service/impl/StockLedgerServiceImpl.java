@@ -0,0 +1,604 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.request.StockPostingRequest;
+import com.erp.manufacturing.dto.response.PageResponse;
+import com.erp.manufacturing.dto.response.StockPostingResultResponse;
+import com.erp.manufacturing.dto.response.StockTransactionResponse;
+import com.erp.manufacturing.entity.FinishedGoodsTransaction;
+import com.erp.manufacturing.entity.RawMaterialTransaction;
+import com.erp.manufacturing.entity.StockReservation;
+import com.erp.manufacturing.enums.TransactionType;
+import com.erp.manufacturing.exception.BusinessException;
+import com.erp.manufacturing.exception.InsufficientStockException;
+import com.erp.manufacturing.exception.ResourceNotFoundException;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.FinishedGoodsTransactionRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.repository.RawMaterialTransactionRepository;
+import com.erp.manufacturing.repository.StockReservationRepository;
+import com.erp.manufacturing.service.StockLedgerService;
+import com.erp.manufacturing.service.StockSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final int QUANTITY_SCALE = 3;
+    private static final int COST_SCALE = 4;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final Set<TransactionType> OUTBOUND_TYPES =
+            EnumSet.of(TransactionType.ISSUE, TransactionType.SALE, TransactionType.TRANSFER_OUT);
+
+    // Stock rows of one (item, warehouse) pair are consumed in the same order as findAvailableStockFIFO
+    private static final Comparator<StockRow> FIFO = Comparator
+            .comparing((StockRow row) -> row.expiryDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(row -> row.createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(row -> row.id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RawMaterialTransactionRepository rawMaterialTransactionRepository;
+    private final FinishedGoodsTransactionRepository finishedGoodsTransactionRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final StockSummaryService stockSummaryService;
+    private final AuditorAware<Long> auditorProvider;
+
+    @Override
+    public StockPostingResultResponse post(StockPostingRequest request) {
+        return postBatch(List.of(request));
+    }
+
+    @Override
+    public StockPostingResultResponse postBatch(List<StockPostingRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        Long userId = auditorProvider.getCurrentAuditor().orElse(null);
+
+        Map<Ledger, List<Movement>> movements = new EnumMap<>(Ledger.class);
+        for (StockPostingRequest request : requests) {
+            expand(request, now, movements);
+        }
+
+        // Ledgers are always processed in enum order so concurrent postings lock stock rows in the same order
+        StockPostingResultResponse result = StockPostingResultResponse.builder().postings(requests.size()).build();
+        for (Map.Entry<Ledger, List<Movement>> entry : movements.entrySet()) {
+            apply(entry.getKey(), entry.getValue(), now, userId, result);
+        }
+
+        log.info("Posted {} stock movement(s): {} ledger row(s), {} stock row(s) updated, {} created",
+                result.getPostings(), result.getTransactionsWritten(), result.getStockRowsUpdated(), result.getStockRowsCreated());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<StockTransactionResponse> getRawMaterialTransactions(Long rawMaterialId, Long warehouseId,
+                                                                             LocalDateTime from, LocalDateTime to,
+                                                                             Pageable pageable) {
+        if (!rawMaterialRepository.existsById(rawMaterialId)) {
+            throw new ResourceNotFoundException("Raw Material", "id", rawMaterialId);
+        }
+        Page<RawMaterialTransaction> page = rawMaterialTransactionRepository.findHistory(rawMaterialId, warehouseId,
+                from != null ? from : HISTORY_START, to != null ? to : HISTORY_END, pageable);
+        List<StockTransactionResponse> responses = page.getContent().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return PageResponse.of(responses, page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<StockTransactionResponse> getFinishedGoodsTransactions(Long finishedGoodsId, Long warehouseId,
+                                                                               LocalDateTime from, LocalDateTime to,
+                                                                               Pageable pageable) {
+        if (!finishedGoodsRepository.existsById(finishedGoodsId)) {
+            throw new ResourceNotFoundException("Finished Goods", "id", finishedGoodsId);
+        }
+        Page<FinishedGoodsTransaction> page = finishedGoodsTransactionRepository.findHistory(finishedGoodsId, warehouseId,
+                from != null ? from : HISTORY_START, to != null ? to : HISTORY_END, pageable);
+        List<StockTransactionResponse> responses = page.getContent().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return PageResponse.of(responses, page);
+    }
+
+    private void expand(StockPostingRequest request, LocalDateTime now, Map<Ledger, List<Movement>> movements) {
+        Ledger ledger = Ledger.of(request.getItemType());
+        TransactionType type;
+        try {
+            type = TransactionType.valueOf(request.getTransactionType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid transaction type: " + request.getTransactionType());
+        }
+        if (!ledger.postingTypes.contains(type)) {
+            throw new BusinessException(type + " postings are not supported for " + ledger.name());
+        }
+
+        BigDecimal quantity = request.getQuantity().setScale(QUANTITY_SCALE, RoundingMode.HALF_UP);
+        if (quantity.signum() == 0) {
+            throw new BusinessException("Posting quantity cannot be zero");
+        }
+        if (type != TransactionType.ADJUSTMENT && quantity.signum() < 0) {
+            throw new BusinessException("Quantity must be positive for " + type + " postings");
+        }
+        if (request.getUnitCost() != null && request.getUnitCost().signum() < 0) {
+            throw new BusinessException("Unit cost cannot be negative");
+        }
+
+        List<Movement> ledgerMovements = movements.computeIfAbsent(ledger, key -> new ArrayList<>());
+        LocalDateTime transactionDate = request.getTransactionDate() != null ? request.getTransactionDate() : now;
+
+        if (type == TransactionType.TRANSFER_OUT) {
+            if (request.getToWarehouseId() == null) {
+                throw new BusinessException("Destination warehouse is required for transfers");
+            }
+            if (request.getToWarehouseId().equals(request.getWarehouseId())) {
+                throw new BusinessException("Cannot transfer stock to the same warehouse");
+            }
+            Movement out = new Movement(request, request.getWarehouseId(), TransactionType.TRANSFER_OUT,
+                    quantity.negate(), transactionDate, null);
+            ledgerMovements.add(out);
+            ledgerMovements.add(new Movement(request, request.getToWarehouseId(), TransactionType.TRANSFER_IN,
+                    quantity, transactionDate, out));
+        } else {
+            ledgerMovements.add(new Movement(request, request.getWarehouseId(), type,
+                    OUTBOUND_TYPES.contains(type) ? quantity.negate() : quantity, transactionDate, null));
+        }
+    }
+
+    private void apply(Ledger ledger, List<Movement> movements, LocalDateTime now, Long userId,
+                       StockPostingResultResponse result) {
+        Set<Long> itemIds = new HashSet<>();
+        Set<Long> warehouseIds = new HashSet<>();
+        for (Movement movement : movements) {
+            itemIds.add(movement.itemId);
+            warehouseIds.add(movement.warehouseId);
+        }
+        Map<Long, BigDecimal> standardCosts = loadStandardCosts(ledger, itemIds);
+        requireWarehouses(warehouseIds);
+
+        // One locking read for the whole batch; the superset of item x warehouse rows is filtered in memory
+        Map<StockKey, List<StockRow>> stock = new HashMap<>();
+        MapSqlParameterSource lockParams = new MapSqlParameterSource()
+                .addValue("itemIds", itemIds)
+                .addValue("warehouseIds", warehouseIds);
+        jdbcTemplate.query(ledger.lockSql, lockParams, rs -> {
+            StockRow row = new StockRow(rs.getLong(2), rs.getLong(3), rs.getString(4));
+            row.id = rs.getLong(1);
+            row.quantity = rs.getBigDecimal(5);
+            row.reservedQuantity = rs.getBigDecimal(6) != null ? rs.getBigDecimal(6) : BigDecimal.ZERO;
+            row.loadedQuantity = row.quantity;
+            row.loadedReservedQuantity = row.reservedQuantity;
+            row.unitCost = rs.getBigDecimal(7) != null ? rs.getBigDecimal(7) : BigDecimal.ZERO;
+            Date expiryDate = rs.getDate(8);
+            row.expiryDate = expiryDate != null ? expiryDate.toLocalDate() : null;
+            Timestamp createdAt = rs.getTimestamp(9);
+            row.createdAt = createdAt != null ? createdAt.toLocalDateTime() : null;
+            stock.computeIfAbsent(new StockKey(row.itemId, row.warehouseId), key -> new ArrayList<>()).add(row);
+        });
+        stock.values().forEach(rows -> rows.sort(FIFO));
+        Map<ReservationKey, StockReservation> reservations = loadReservations(ledger, movements, stock);
+
+        List<LedgerLine> lines = new ArrayList<>(movements.size());
+        for (Movement movement : movements) {
+            List<StockRow> rows = stock.computeIfAbsent(new StockKey(movement.itemId, movement.warehouseId),
+                    key -> new ArrayList<>());
+            if (movement.source != null) {
+                // Transfer receipts mirror the batches and costs that actually left the source warehouse
+                for (Piece piece : movement.source.consumed) {
+                    receive(rows, movement, piece.batchNo, piece.quantity, piece.unitCost, lines);
+                }
+            } else if (movement.quantity.signum() > 0) {
+                BigDecimal unitCost = movement.unitCost != null
+                        ? movement.unitCost : standardCosts.getOrDefault(movement.itemId, BigDecimal.ZERO);
+                receive(rows, movement, movement.batchNo, movement.quantity, unitCost, lines);
+            } else {
+                issue(ledger, rows, movement, reservations, lines);
+            }
+        }
+
+        List<SqlParameterSource> updates = new ArrayList<>();
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        for (List<StockRow> rows : stock.values()) {
+            for (StockRow row : rows) {
+                if (row.id == null) {
+                    inserts.add(new MapSqlParameterSource()
+                            .addValue("itemId", row.itemId)
+                            .addValue("warehouseId", row.warehouseId)
+                            .addValue("batchNo", row.batchNo, Types.VARCHAR)
+                            .addValue("quantity", row.quantity)
+                            .addValue("unitCost", row.unitCost)
+                            .addValue("now", now));
+                } else if (row.dirty) {
+                    updates.add(new MapSqlParameterSource()
+                            .addValue("id", row.id)
+                            .addValue("quantity", row.quantity)
+                            .addValue("reservedQuantity", row.reservedQuantity)
+                            .addValue("unitCost", row.unitCost)
+                            .addValue("now", now));
+                }
+                if (row.id == null || row.dirty) {
+                    stockSummaryService.recordChange(ledger.name(), row.itemId, row.warehouseId,
+                            row.quantity.subtract(row.loadedQuantity),
+                            row.reservedQuantity.subtract(row.loadedReservedQuantity));
+                }
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(ledger.updateStockSql, updates.toArray(new SqlParameterSource[0]));
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(ledger.insertStockSql, inserts.toArray(new SqlParameterSource[0]));
+        }
+        settleReservations(reservations.values());
+
+        SqlParameterSource[] ledgerRows = new SqlParameterSource[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            LedgerLine line = lines.get(i);
+            Movement movement = line.movement;
+            ledgerRows[i] = new MapSqlParameterSource()
+                    .addValue("itemId", movement.itemId)
+                    .addValue("warehouseId", movement.warehouseId)
+                    .addValue("transactionType", movement.type.name())
+                    .addValue("quantity", line.quantity)
+                    .addValue("unitCost", line.unitCost)
+                    .addValue("totalCost", line.quantity.abs().multiply(line.unitCost).setScale(COST_SCALE, RoundingMode.HALF_UP))
+                    .addValue("batchNo", line.batchNo, Types.VARCHAR)
+                    .addValue("referenceType", movement.referenceType, Types.VARCHAR)
+                    .addValue("referenceId", movement.referenceId, Types.BIGINT)
+                    .addValue("referenceNo", movement.referenceNo, Types.VARCHAR)
+                    .addValue("notes", movement.notes, Types.VARCHAR)
+                    .addValue("transactionDate", movement.transactionDate)
+                    .addValue("createdBy", userId, Types.BIGINT)
+                    .addValue("now", now);
+        }
+        jdbcTemplate.batchUpdate(ledger.insertTransactionSql, ledgerRows);
+
+        result.setTransactionsWritten(result.getTransactionsWritten() + lines.size());
+        result.setStockRowsUpdated(result.getStockRowsUpdated() + updates.size());
+        result.setStockRowsCreated(result.getStockRowsCreated() + inserts.size());
+    }
+
+    private void receive(List<StockRow> rows, Movement movement, String batchNo, BigDecimal quantity,
+                         BigDecimal unitCost, List<LedgerLine> lines) {
+        StockRow row = rows.stream()
+                .filter(candidate -> Objects.equals(candidate.batchNo, batchNo))
+                .findFirst()
+                .orElse(null);
+        if (row == null) {
+            row = new StockRow(movement.itemId, movement.warehouseId, batchNo);
+            row.unitCost = unitCost;
+            rows.add(row);
+        }
+
+        // Receipts move the row to a weighted average cost
+        BigDecimal newQuantity = row.quantity.add(quantity);
+        if (row.quantity.signum() > 0 && newQuantity.signum() > 0) {
+            row.unitCost = row.quantity.multiply(row.unitCost).add(quantity.multiply(unitCost))
+                    .divide(newQuantity, COST_SCALE, RoundingMode.HALF_UP);
+        } else {
+            row.unitCost = unitCost;
+        }
+        row.quantity = newQuantity;
+        row.dirty = true;
+        lines.add(new LedgerLine(movement, quantity, unitCost, batchNo));
+    }
+
+    private void issue(Ledger ledger, List<StockRow> rows, Movement movement,
+                       Map<ReservationKey, StockReservation> reservations, List<LedgerLine> lines) {
+        BigDecimal requested = movement.quantity.negate();
+        List<StockRow> candidates = movement.batchNo == null ? rows : rows.stream()
+                .filter(row -> movement.batchNo.equals(row.batchNo))
+                .collect(Collectors.toList());
+
+        BigDecimal available = BigDecimal.ZERO;
+        for (StockRow row : candidates) {
+            BigDecimal rowAvailable = availableFor(row, movement, reservations);
+            if (rowAvailable.signum() > 0) {
+                available = available.add(rowAvailable);
+            }
+        }
+        if (available.compareTo(requested) < 0) {
+            throw insufficientStock(ledger, movement, requested, available);
+        }
+
+        BigDecimal remaining = requested;
+        for (StockRow row : candidates) {
+            if (remaining.signum() == 0) {
+                break;
+            }
+            BigDecimal taken = availableFor(row, movement, reservations).min(remaining);
+            if (taken.signum() <= 0) {
+                continue;
+            }
+            // Stock the referenced order reserved is consumed first, so its reservation shrinks with the issue
+            StockReservation reservation = reservations.get(ReservationKey.of(row.id, movement));
+            if (reservation != null && reservation.getQuantity().signum() > 0) {
+                BigDecimal consumed = reservation.getQuantity().min(taken);
+                reservation.setQuantity(reservation.getQuantity().subtract(consumed));
+                row.reservedQuantity = row.reservedQuantity.subtract(consumed).max(BigDecimal.ZERO);
+            }
+            row.quantity = row.quantity.subtract(taken);
+            row.dirty = true;
+            remaining = remaining.subtract(taken);
+            movement.consumed.add(new Piece(row.batchNo, taken, row.unitCost));
+            lines.add(new LedgerLine(movement, taken.negate(), row.unitCost, row.batchNo));
+        }
+    }
+
+    private BigDecimal availableFor(StockRow row, Movement movement, Map<ReservationKey, StockReservation> reservations) {
+        StockReservation reservation = row.id != null ? reservations.get(ReservationKey.of(row.id, movement)) : null;
+        return reservation != null ? row.getAvailableQuantity().add(reservation.getQuantity()) : row.getAvailableQuantity();
+    }
+
+    private Map<ReservationKey, StockReservation> loadReservations(Ledger ledger, List<Movement> movements,
+                                                                  Map<StockKey, List<StockRow>> stock) {
+        boolean referenced = movements.stream()
+                .anyMatch(movement -> movement.quantity.signum() < 0 && movement.referenceId != null);
+        if (!referenced) {
+            return Map.of();
+        }
+        Set<Long> stockIds = new HashSet<>();
+        stock.values().forEach(rows -> rows.forEach(row -> stockIds.add(row.id)));
+        if (stockIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<ReservationKey, StockReservation> reservations = new HashMap<>();
+        for (StockReservation reservation : stockReservationRepository.findByItemTypeAndStockIdIn(ledger.name(), stockIds)) {
+            reservations.put(new ReservationKey(reservation.getStockId(), reservation.getReferenceType(),
+                    reservation.getReferenceId()), reservation);
+        }
+        return reservations;
+    }
+
+    private void settleReservations(Collection<StockReservation> reservations) {
+        List<StockReservation> consumed = new ArrayList<>();
+        List<StockReservation> reduced = new ArrayList<>();
+        for (StockReservation reservation : reservations) {
+            if (reservation.getQuantity().signum() <= 0) {
+                consumed.add(reservation);
+            } else {
+                reduced.add(reservation);
+            }
+        }
+        if (!consumed.isEmpty()) {
+            stockReservationRepository.deleteAllInBatch(consumed);
+        }
+        stockReservationRepository.saveAll(reduced);
+    }
+
+    private Map<Long, BigDecimal> loadStandardCosts(Ledger ledger, Set<Long> itemIds) {
+        Map<Long, BigDecimal> standardCosts = new HashMap<>();
+        jdbcTemplate.query(ledger.itemSql, new MapSqlParameterSource("ids", itemIds), rs -> {
+            BigDecimal standardCost = rs.getBigDecimal(2);
+            standardCosts.put(rs.getLong(1), standardCost != null ? standardCost : BigDecimal.ZERO);
+        });
+        for (Long itemId : itemIds) {
+            if (!standardCosts.containsKey(itemId)) {
+                throw new ResourceNotFoundException(ledger.label, "id", itemId);
+            }
+        }
+        return standardCosts;
+    }
+
+    private void requireWarehouses(Set<Long> warehouseIds) {
+        List<Long> found = jdbcTemplate.queryForList(
+                "SELECT id FROM warehouses WHERE id IN (:ids) AND is_deleted = false",
+                new MapSqlParameterSource("ids", warehouseIds), Long.class);
+        for (Long warehouseId : warehouseIds) {
+            if (!found.contains(warehouseId)) {
+                throw new ResourceNotFoundException("Warehouse", "id", warehouseId);
+            }
+        }
+    }
+
+    private InsufficientStockException insufficientStock(Ledger ledger, Movement movement,
+                                                         BigDecimal requested, BigDecimal available) {
+        if (ledger == Ledger.RAW_MATERIAL) {
+            return rawMaterialRepository.findById(movement.itemId)
+                    .map(rm -> new InsufficientStockException(rm.getName(), rm.getCode(), requested, available))
+                    .orElseGet(() -> new InsufficientStockException("Insufficient stock for raw material " + movement.itemId));
+        }
+        return finishedGoodsRepository.findById(movement.itemId)
+                .map(fg -> new InsufficientStockException(fg.getName(), fg.getCode(), requested, available))
+                .orElseGet(() -> new InsufficientStockException("Insufficient stock for finished goods " + movement.itemId));
+    }
+
+    private StockTransactionResponse mapToResponse(RawMaterialTransaction transaction) {
+        return StockTransactionResponse.builder()
+                .id(transaction.getId())
+                .itemType(Ledger.RAW_MATERIAL.name())
+                .itemId(transaction.getRawMaterial().getId())
+                .warehouseId(transaction.getWarehouse().getId())
+                .warehouseName(transaction.getWarehouse().getName())
+                .transactionType(transaction.getTransactionType().name())
+                .quantity(transaction.getQuantity())
+                .unitCost(transaction.getUnitCost())
+                .totalCost(transaction.getTotalCost())
+                .batchNo(transaction.getBatchNo())
+                .referenceType(transaction.getReferenceType())
+                .referenceId(transaction.getReferenceId())
+                .referenceNo(transaction.getReferenceNo())
+                .notes(transaction.getNotes())
+                .transactionDate(transaction.getTransactionDate())
+                .createdBy(transaction.getCreatedBy())
+                .build();
+    }
+
+    private StockTransactionResponse mapToResponse(FinishedGoodsTransaction transaction) {
+        return StockTransactionResponse.builder()
+                .id(transaction.getId())
+                .itemType(Ledger.FINISHED_GOODS.name())
+                .itemId(transaction.getFinishedGoods().getId())
+                .warehouseId(transaction.getWarehouse().getId())
+                .warehouseName(transaction.getWarehouse().getName())
+                .transactionType(transaction.getTransactionType().name())
+                .quantity(transaction.getQuantity())
+                .unitCost(transaction.getUnitCost())
+                .totalCost(transaction.getTotalCost())
+                .batchNo(transaction.getBatchNo())
+                .referenceType(transaction.getReferenceType())
+                .referenceId(transaction.getReferenceId())
+                .referenceNo(transaction.getReferenceNo())
+                .notes(transaction.getNotes())
+                .transactionDate(transaction.getTransactionDate())
+                .createdBy(transaction.getCreatedBy())
+                .build();
+    }
+
+    private enum Ledger {
+        RAW_MATERIAL("Raw Material", "raw_materials", "raw_material_stock", "raw_material_transactions", "raw_material_id",
+                EnumSet.of(TransactionType.RECEIPT, TransactionType.ISSUE, TransactionType.ADJUSTMENT,
+                        TransactionType.TRANSFER_OUT, TransactionType.RETURN)),
+        FINISHED_GOODS("Finished Goods", "finished_goods", "finished_goods_stock", "finished_goods_transactions", "finished_goods_id",
+                EnumSet.of(TransactionType.PRODUCTION, TransactionType.SALE, TransactionType.ADJUSTMENT,
+                        TransactionType.TRANSFER_OUT, TransactionType.RETURN));
+
+        private final String label;
+        private final Set<TransactionType> postingTypes;
+        private final String itemSql;
+        private final String lockSql;
+        private final String updateStockSql;
+        private final String insertStockSql;
+        private final String insertTransactionSql;
+
+        Ledger(String label, String itemTable, String stockTable, String transactionTable, String itemColumn,
+               Set<TransactionType> postingTypes) {
+            this.label = label;
+            this.postingTypes = postingTypes;
+            this.itemSql = "SELECT id, standard_cost FROM " + itemTable + " WHERE id IN (:ids) AND is_deleted = false";
+            this.lockSql = "SELECT id, " + itemColumn + ", warehouse_id, batch_no, quantity, reserved_quantity, unit_cost, " +
+                    "expiry_date, created_at FROM " + stockTable + " WHERE " + itemColumn + " IN (:itemIds) " +
+                    "AND warehouse_id IN (:warehouseIds) ORDER BY id FOR UPDATE";
+            this.updateStockSql = "UPDATE " + stockTable + " SET quantity = :quantity, reserved_quantity = :reservedQuantity, " +
+                    "unit_cost = :unitCost, version = version + 1, updated_at = :now WHERE id = :id";
+            this.insertStockSql = "INSERT INTO " + stockTable + " (" + itemColumn + ", warehouse_id, batch_no, quantity, " +
+                    "reserved_quantity, unit_cost, version, created_at, updated_at) " +
+                    "VALUES (:itemId, :warehouseId, :batchNo, :quantity, 0, :unitCost, 0, :now, :now)";
+            this.insertTransactionSql = "INSERT INTO " + transactionTable + " (" + itemColumn + ", warehouse_id, " +
+                    "transaction_type, quantity, unit_cost, total_cost, batch_no, reference_type, reference_id, " +
+                    "reference_no, notes, transaction_date, created_by, created_at) " +
+                    "VALUES (:itemId, :warehouseId, :transactionType, :quantity, :unitCost, :totalCost, :batchNo, " +
+                    ":referenceType, :referenceId, :referenceNo, :notes, :transactionDate, :createdBy, :now)";
+        }
+
+        private static Ledger of(String itemType) {
+            try {
+                return Ledger.valueOf(itemType.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Unsupported item type for stock posting: " + itemType);
+            }
+        }
+    }
+
+    private record StockKey(Long itemId, Long warehouseId) {
+    }
+
+    private record ReservationKey(Long stockId, String referenceType, Long referenceId) {
+
+        private static ReservationKey of(Long stockId, Movement movement) {
+            return new ReservationKey(stockId, movement.referenceType, movement.referenceId);
+        }
+    }
+
+    private record Piece(String batchNo, BigDecimal quantity, BigDecimal unitCost) {
+    }
+
+    private record LedgerLine(Movement movement, BigDecimal quantity, BigDecimal unitCost, String batchNo) {
+    }
+
+    private static final class Movement {
+
+        private final Long itemId;
+        private final Long warehouseId;
+        private final TransactionType type;
+        private final BigDecimal quantity;
+        private final BigDecimal unitCost;
+        private final String batchNo;
+        private final String referenceType;
+        private final Long referenceId;
+        private final String referenceNo;
+        private final String notes;
+        private final LocalDateTime transactionDate;
+        private final Movement source;
+        private final List<Piece> consumed = new ArrayList<>();
+
+        private Movement(StockPostingRequest request, Long warehouseId, TransactionType type, BigDecimal quantity,
+                         LocalDateTime transactionDate, Movement source) {
+            this.itemId = request.getItemId();
+            this.warehouseId = warehouseId;
+            this.type = type;
+            this.quantity = quantity;
+            this.unitCost = request.getUnitCost();
+            this.batchNo = request.getBatchNo();
+            this.referenceType = request.getReferenceType();
+            this.referenceId = request.getReferenceId();
+            this.referenceNo = request.getReferenceNo();
+            this.notes = request.getNotes();
+            this.transactionDate = transactionDate;
+            this.source = source;
+        }
+    }
+
+    private static final class StockRow {
+
+        private final Long itemId;
+        private final Long warehouseId;
+        private final String batchNo;
+        private Long id;
+        private BigDecimal quantity = BigDecimal.ZERO;
+        private BigDecimal reservedQuantity = BigDecimal.ZERO;
+        private BigDecimal unitCost = BigDecimal.ZERO;
+        private BigDecimal loadedQuantity = BigDecimal.ZERO;
+        private BigDecimal loadedReservedQuantity = BigDecimal.ZERO;
+        private LocalDate expiryDate;
+        private LocalDateTime createdAt;
+        private boolean dirty;
+
+        private StockRow(Long itemId, Long warehouseId, String batchNo) {
+            this.itemId = itemId;
+            this.warehouseId = warehouseId;
+            this.batchNo = batchNo;
+        }
+
+        private BigDecimal getAvailableQuantity() {
+            return quantity.subtract(reservedQuantity);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.entity.SalesOrder;
+import com.erp.manufacturing.entity.SalesOrderItem;
+import com.erp.manufacturing.entity.StockReservation;
+import com.erp.manufacturing.entity.WorkOrder;
+import com.erp.manufacturing.exception.BusinessException;
+import com.erp.manufacturing.exception.InsufficientStockException;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.FinishedGoodsStockRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.repository.RawMaterialStockRepository;
+import com.erp.manufacturing.repository.StockReservationRepository;
+import com.erp.manufacturing.service.BomExplosionService;
+import com.erp.manufacturing.service.StockReservationService;
+import com.erp.manufacturing.service.StockSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+    private static final String FINISHED_GOODS = "FINISHED_GOODS";
+    private static final String SALES_ORDER = "SALES_ORDER";
+    private static final String WORK_ORDER = "WORK_ORDER";
+    private static final int QUANTITY_SCALE = 3;
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final StockReservationRepository stockReservationRepository;
+    private final RawMaterialStockRepository rawMaterialStockRepository;
+    private final FinishedGoodsStockRepository finishedGoodsStockRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+    private final BomExplosionService bomExplosionService;
+    private final StockSummaryService stockSummaryService;
+
+    @Override
+    public void reserveForSalesOrder(SalesOrder salesOrder) {
+        // Sorted by item so concurrent confirmations touch stock rows in the same order
+        Map<Long, BigDecimal> required = new TreeMap<>();
+        for (SalesOrderItem item : salesOrder.getItems()) {
+            BigDecimal delivered = item.getDeliveredQuantity() != null ? item.getDeliveredQuantity() : BigDecimal.ZERO;
+            BigDecimal pending = item.getQuantity().subtract(delivered);
+            if (pending.signum() > 0) {
+                required.merge(item.getFinishedGoods().getId(), pending, BigDecimal::add);
+            }
+        }
+        // Make-to-order lines are confirmed before the goods exist: whatever is in stock is reserved and the
+        // remainder stays unreserved, where MRP sees it as a shortage
+        reserve(FINISHED_GOODS, salesOrder.getWarehouse().getId(), required,
+                SALES_ORDER, salesOrder.getId(), salesOrder.getSoNumber(), true);
+    }
+
+    @Override
+    public void reserveForWorkOrder(WorkOrder workOrder) {
+        BigDecimal completed = workOrder.getCompletedQuantity() != null ? workOrder.getCompletedQuantity() : BigDecimal.ZERO;
+        BigDecimal remaining = workOrder.getPlannedQuantity().subtract(completed);
+        if (remaining.signum() <= 0) {
+            return;
+        }
+
+        Map<Long, BigDecimal> required = new TreeMap<>();
+        bomExplosionService.getRawMaterialRequirements(workOrder.getBom().getId()).forEach((rawMaterialId, perUnit) -> {
+            // Rounded up so a work order never starts short of material
+            BigDecimal quantity = perUnit.multiply(remaining).setScale(QUANTITY_SCALE, RoundingMode.UP);
+            if (quantity.signum() > 0) {
+                required.put(rawMaterialId, quantity);
+            }
+        });
+        reserve(RAW_MATERIAL, workOrder.getWarehouse().getId(), required,
+                WORK_ORDER, workOrder.getId(), workOrder.getWorkOrderNo(), false);
+    }
+
+    @Override
+    public void release(String referenceType, Long referenceId) {
+        List<StockReservation> reservations =
+                stockReservationRepository.findByReferenceTypeAndReferenceIdOrderByStockIdAsc(referenceType, referenceId);
+        if (reservations.isEmpty()) {
+            return;
+        }
+        for (StockReservation reservation : reservations) {
+            if (RAW_MATERIAL.equals(reservation.getItemType())) {
+                rawMaterialStockRepository.release(reservation.getStockId(), reservation.getQuantity());
+            } else {
+                finishedGoodsStockRepository.release(reservation.getStockId(), reservation.getQuantity());
+            }
+            stockSummaryService.recordChange(reservation.getItemType(), reservation.getItemId(),
+                    reservation.getWarehouseId(), BigDecimal.ZERO, reservation.getQuantity().negate());
+        }
+        stockReservationRepository.deleteAllInBatch(reservations);
+        log.info("Released {} stock reservation(s) for {} {}", reservations.size(), referenceType, referenceId);
+    }
+
+    private void reserve(String itemType, Long warehouseId, Map<Long, BigDecimal> required,
+                         String referenceType, Long referenceId, String referenceNo, boolean allowShortfall) {
+        List<StockReservation> reservations = new ArrayList<>();
+        for (Map.Entry<Long, BigDecimal> entry : required.entrySet()) {
+            Map<Long, StockReservation> byLot = reserveItem(itemType, entry.getKey(), warehouseId, entry.getValue(), allowShortfall);
+            BigDecimal reserved = BigDecimal.ZERO;
+            for (StockReservation reservation : byLot.values()) {
+                reservation.setReferenceType(referenceType);
+                reservation.setReferenceId(referenceId);
+                reservation.setReferenceNo(referenceNo);
+                reservations.add(reservation);
+                reserved = reserved.add(reservation.getQuantity());
+            }
+            if (reserved.compareTo(entry.getValue()) < 0) {
+                log.info("{} {}: {} of {} {} left unreserved", referenceType, referenceNo,
+                        entry.getValue().subtract(reserved), itemType, entry.getKey());
+            }
+        }
+        stockReservationRepository.saveAll(reservations);
+        log.info("Reserved {} lot(s) of {} for {} {}", reservations.size(), itemType, referenceType, referenceNo);
+    }
+
+    // Compare-and-set on each lot's version: a lost race re-reads the lots instead of blocking on a lock.
+    // With allowShortfall, everything available is reserved and the rest of the quantity is left open
+    private Map<Long, StockReservation> reserveItem(String itemType, Long itemId, Long warehouseId, BigDecimal quantity,
+                                                    boolean allowShortfall) {
+        Map<Long, StockReservation> byLot = new LinkedHashMap<>();
+        BigDecimal remaining = quantity;
+
+        for (int attempt = 1; remaining.signum() > 0; attempt++) {
+            if (attempt > MAX_ATTEMPTS) {
+                throw new BusinessException("Stock of " + itemType + " " + itemId
+                        + " is being changed concurrently. Please retry.");
+            }
+
+            List<Object[]> lots = RAW_MATERIAL.equals(itemType)
+                    ? rawMaterialStockRepository.findAvailableLotsFIFO(itemId, warehouseId)
+                    : finishedGoodsStockRepository.findAvailableLotsFIFO(itemId, warehouseId);
+
+            BigDecimal available = BigDecimal.ZERO;
+            for (Object[] lot : lots) {
+                available = available.add((BigDecimal) lot[2]);
+            }
+            if (available.compareTo(remaining) < 0) {
+                if (!allowShortfall) {
+                    throw insufficientStock(itemType, itemId, quantity, available.add(quantity.subtract(remaining)));
+                }
+                if (available.signum() == 0) {
+                    break;
+                }
+            }
+
+            for (Object[] lot : lots) {
+                if (remaining.signum() == 0) {
+                    break;
+                }
+                Long stockId = (Long) lot[0];
+                BigDecimal taken = ((BigDecimal) lot[2]).min(remaining);
+                int updated = RAW_MATERIAL.equals(itemType)
+                        ? rawMaterialStockRepository.reserve(stockId, (Long) lot[1], taken)
+                        : finishedGoodsStockRepository.reserve(stockId, (Long) lot[1], taken);
+                if (updated == 0) {
+                    continue;
+                }
+                remaining = remaining.subtract(taken);
+                stockSummaryService.recordChange(itemType, itemId, warehouseId, BigDecimal.ZERO, taken);
+                StockReservation reservation = byLot.computeIfAbsent(stockId, id -> StockReservation.builder()
+                        .itemType(itemType)
+                        .itemId(itemId)
+                        .warehouseId(warehouseId)
+                        .stockId(id)
+                        .batchNo((String) lot[3])
+                        .quantity(BigDecimal.ZERO)
+                        .build());
+                reservation.setQuantity(reservation.getQuantity().add(taken));
+            }
+        }
+        return byLot;
+    }
+
+    private InsufficientStockException insufficientStock(String itemType, Long itemId,
+                                                         BigDecimal requested, BigDecimal available) {
+        if (RAW_MATERIAL.equals(itemType)) {
+            return rawMaterialRepository.findById(itemId)
+                    .map(rm -> new InsufficientStockException(rm.getName(), rm.getCode(), requested, available))
+                    .orElseGet(() -> new InsufficientStockException("Insufficient stock for raw material " + itemId));
+        }
+        return finishedGoodsRepository.findById(itemId)
+                .map(fg -> new InsufficientStockException(fg.getName(), fg.getCode(), requested, available))
+                .orElseGet(() -> new InsufficientStockException("Insufficient stock for finished goods " + itemId));
+    }
+}
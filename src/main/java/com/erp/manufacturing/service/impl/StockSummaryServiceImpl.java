@@ -0,0 +1,242 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.StockSummaryResponse;
+import com.erp.manufacturing.entity.StockSummary;
+import com.erp.manufacturing.entity.Warehouse;
+import com.erp.manufacturing.repository.FinishedGoodsStockRepository;
+import com.erp.manufacturing.repository.RawMaterialStockRepository;
+import com.erp.manufacturing.repository.StockAlertRepository;
+import com.erp.manufacturing.repository.StockSummaryRepository;
+import com.erp.manufacturing.repository.WarehouseRepository;
+import com.erp.manufacturing.service.StockAlertService;
+import com.erp.manufacturing.service.StockSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class StockSummaryServiceImpl implements StockSummaryService {
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO stock_summaries (item_type, item_id, warehouse_id, quantity, reserved_quantity, updated_at) " +
+            "VALUES (:itemType, :itemId, :warehouseId, :quantity, :reservedQuantity, :now) " +
+            "ON CONFLICT (item_type, item_id, warehouse_id) DO UPDATE SET " +
+            "quantity = stock_summaries.quantity + EXCLUDED.quantity, " +
+            "reserved_quantity = stock_summaries.reserved_quantity + EXCLUDED.reserved_quantity, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO stock_summaries (item_type, item_id, warehouse_id, quantity, reserved_quantity, updated_at) " +
+            "SELECT 'RAW_MATERIAL', raw_material_id, warehouse_id, SUM(quantity), SUM(COALESCE(reserved_quantity, 0)), :now " +
+            "FROM raw_material_stock GROUP BY raw_material_id, warehouse_id " +
+            "UNION ALL " +
+            "SELECT 'RAW_MATERIAL', raw_material_id, 0, SUM(quantity), SUM(COALESCE(reserved_quantity, 0)), :now " +
+            "FROM raw_material_stock GROUP BY raw_material_id " +
+            "UNION ALL " +
+            "SELECT 'FINISHED_GOODS', finished_goods_id, warehouse_id, SUM(quantity), SUM(COALESCE(reserved_quantity, 0)), :now " +
+            "FROM finished_goods_stock GROUP BY finished_goods_id, warehouse_id " +
+            "UNION ALL " +
+            "SELECT 'FINISHED_GOODS', finished_goods_id, 0, SUM(quantity), SUM(COALESCE(reserved_quantity, 0)), :now " +
+            "FROM finished_goods_stock GROUP BY finished_goods_id";
+
+    private final StockSummaryRepository stockSummaryRepository;
+    private final StockAlertRepository stockAlertRepository;
+    private final RawMaterialStockRepository rawMaterialStockRepository;
+    private final FinishedGoodsStockRepository finishedGoodsStockRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final StockAlertService stockAlertService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    private final Object pendingChangesKey = new Object();
+
+    @Override
+    @Transactional
+    public void recordChange(String itemType, Long itemId, Long warehouseId,
+                             BigDecimal quantityDelta, BigDecimal reservedDelta) {
+        if (quantityDelta.signum() == 0 && reservedDelta.signum() == 0) {
+            return;
+        }
+        Map<SummaryKey, BigDecimal[]> pending = pendingChanges();
+        add(pending, new SummaryKey(itemType, itemId, warehouseId), quantityDelta, reservedDelta);
+        add(pending, new SummaryKey(itemType, itemId, StockSummary.ALL_WAREHOUSES), quantityDelta, reservedDelta);
+    }
+
+    @Override
+    public Map<Long, StockSummary> getTotals(String itemType, Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return stockSummaryRepository.findByItemTypeAndItemIdInAndWarehouseId(itemType, itemIds, StockSummary.ALL_WAREHOUSES)
+                .stream()
+                .collect(Collectors.toMap(StockSummary::getItemId, Function.identity()));
+    }
+
+    @Override
+    public List<StockSummaryResponse> getWarehouseSummaries(String itemType, Long itemId) {
+        List<StockSummary> summaries = stockSummaryRepository.findWarehouseSummaries(itemType, itemId);
+        Map<Long, String> warehouseNames = warehouseRepository.findAllById(summaries.stream()
+                        .map(StockSummary::getWarehouseId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Warehouse::getId, Warehouse::getName));
+
+        return summaries.stream()
+                .map(summary -> StockSummaryResponse.builder()
+                        .itemType(summary.getItemType())
+                        .itemId(summary.getItemId())
+                        .warehouseId(summary.getWarehouseId())
+                        .warehouseName(warehouseNames.get(summary.getWarehouseId()))
+                        .quantity(summary.getQuantity())
+                        .reservedQuantity(summary.getReservedQuantity())
+                        .availableQuantity(summary.getAvailableQuantity())
+                        .updatedAt(summary.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        // Blocks stock writers for the duration of the rebuild so no delta is lost between DELETE and INSERT
+        jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE raw_material_stock, finished_goods_stock IN SHARE MODE");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM stock_summaries");
+        int rows = jdbcTemplate.update(REBUILD_SQL, new MapSqlParameterSource("now", LocalDateTime.now()));
+        log.info("Rebuilt {} stock summary row(s)", rows);
+        stockAlertService.rebuild();
+        Cache rawMaterials = rawMaterialCache();
+        if (rawMaterials != null) {
+            rawMaterials.clear();
+        }
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (stockSummaryRepository.count() == 0
+                && (rawMaterialStockRepository.count() > 0 || finishedGoodsStockRepository.count() > 0)) {
+            rebuild();
+        } else if (stockAlertRepository.count() == 0) {
+            stockAlertService.rebuild();
+        }
+    }
+
+    // Deltas are collected per transaction and upserted once, in key order, just before commit so the
+    // hot summary rows stay locked only for the commit itself
+    @SuppressWarnings("unchecked")
+    private Map<SummaryKey, BigDecimal[]> pendingChanges() {
+        Map<SummaryKey, BigDecimal[]> pending =
+                (Map<SummaryKey, BigDecimal[]>) TransactionSynchronizationManager.getResource(pendingChangesKey);
+        if (pending == null) {
+            Map<SummaryKey, BigDecimal[]> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(pendingChangesKey, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingChangesKey);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void add(Map<SummaryKey, BigDecimal[]> pending, SummaryKey key, BigDecimal quantityDelta, BigDecimal reservedDelta) {
+        BigDecimal[] deltas = pending.computeIfAbsent(key, k -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        deltas[0] = deltas[0].add(quantityDelta);
+        deltas[1] = deltas[1].add(reservedDelta);
+    }
+
+    private void write(Map<SummaryKey, BigDecimal[]> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] rows = pending.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("itemType", entry.getKey().itemType())
+                        .addValue("itemId", entry.getKey().itemId())
+                        .addValue("warehouseId", entry.getKey().warehouseId())
+                        .addValue("quantity", entry.getValue()[0])
+                        .addValue("reservedQuantity", entry.getValue()[1])
+                        .addValue("now", now))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+
+        // Only items whose totals moved can cross a reorder threshold
+        Map<String, List<Long>> changedItems = pending.keySet().stream()
+                .filter(key -> key.warehouseId() == StockSummary.ALL_WAREHOUSES)
+                .collect(Collectors.groupingBy(SummaryKey::itemType,
+                        Collectors.mapping(SummaryKey::itemId, Collectors.toList())));
+        changedItems.forEach(stockAlertService::evaluate);
+        evictCachedRawMaterials(changedItems.getOrDefault(RAW_MATERIAL, List.of()));
+        pending.clear();
+    }
+
+    // Raw material responses carry stock totals, so their cached copies are dropped once the new totals commit
+    private void evictCachedRawMaterials(List<Long> rawMaterialIds) {
+        Cache rawMaterials = rawMaterialCache();
+        if (rawMaterials == null || rawMaterialIds.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    rawMaterialIds.forEach(id -> rawMaterials.evictIfPresent("id:" + id));
+                } catch (RuntimeException e) {
+                    log.warn("Could not evict cached raw materials {}: {}", rawMaterialIds, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private Cache rawMaterialCache() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache("rawMaterials") : null;
+    }
+
+    private record SummaryKey(String itemType, Long itemId, Long warehouseId) implements Comparable<SummaryKey> {
+
+        private static final Comparator<SummaryKey> ORDER = Comparator.comparing(SummaryKey::itemType)
+                .thenComparing(SummaryKey::itemId)
+                .thenComparing(SummaryKey::warehouseId);
+
+        @Override
+        public int compareTo(SummaryKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
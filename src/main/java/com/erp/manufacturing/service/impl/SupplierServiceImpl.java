@@ -4,14 +4,20 @@ import com.erp.manufacturing.dto.request.SupplierRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.SupplierResponse;
 import com.erp.manufacturing.entity.Supplier;
+import com.erp.manufacturing.enums.LookupType;
+import com.erp.manufacturing.event.MasterDataChangedEvent;
 import com.erp.manufacturing.exception.DuplicateResourceException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.SupplierRepository;
 import com.erp.manufacturing.service.SupplierService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +31,12 @@ import java.util.stream.Collectors;
 public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public SupplierResponse create(SupplierRequest request) {
         if (supplierRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Supplier", "code", request.getCode());
@@ -59,11 +68,13 @@ public class SupplierServiceImpl implements SupplierService {
 
         Supplier saved = supplierRepository.save(supplier);
         log.info("Supplier created: {}", saved.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.SUPPLIER, saved.getId()));
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public SupplierResponse update(Long id, SupplierRequest request) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id.toString()));
@@ -97,11 +108,13 @@ public class SupplierServiceImpl implements SupplierService {
 
         Supplier saved = supplierRepository.save(supplier);
         log.info("Supplier updated: {}", saved.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.SUPPLIER, saved.getId()));
         return mapToResponse(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "suppliers", key = "'id:' + #id")
     public SupplierResponse getById(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id.toString()));
@@ -110,6 +123,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "suppliers", key = "'code:' + #code")
     public SupplierResponse getByCode(String code) {
         Supplier supplier = supplierRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "code", code));
@@ -126,6 +140,13 @@ public class SupplierServiceImpl implements SupplierService {
         return PageResponse.of(content, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SupplierResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(supplierRepository, Supplier.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<SupplierResponse> search(String query, Pageable pageable) {
@@ -138,6 +159,7 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "suppliers", key = "'active'")
     public List<SupplierResponse> getAllActive() {
         return supplierRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -146,31 +168,37 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public void delete(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id.toString()));
         supplierRepository.delete(supplier);
         log.info("Supplier deleted: {}", supplier.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.SUPPLIER, supplier.getId()));
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public void activate(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id.toString()));
         supplier.setIsActive(true);
         supplierRepository.save(supplier);
         log.info("Supplier activated: {}", supplier.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.SUPPLIER, supplier.getId()));
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "suppliers", allEntries = true)
     public void deactivate(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id.toString()));
         supplier.setIsActive(false);
         supplierRepository.save(supplier);
         log.info("Supplier deactivated: {}", supplier.getName());
+        eventPublisher.publishEvent(new MasterDataChangedEvent(LookupType.SUPPLIER, supplier.getId()));
     }
 
     private SupplierResponse mapToResponse(Supplier supplier) {
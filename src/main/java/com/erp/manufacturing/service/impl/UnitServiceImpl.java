@@ -11,8 +11,12 @@ import com.erp.manufacturing.repository.UnitOfMeasurementRepository;
 import com.erp.manufacturing.service.UnitService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +30,11 @@ import java.util.stream.Collectors;
 public class UnitServiceImpl implements UnitService {
 
     private final UnitOfMeasurementRepository unitRepository;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "units", allEntries = true)
     public UnitResponse create(UnitRequest request) {
         if (unitRepository.existsBySymbol(request.getSymbol())) {
             throw new DuplicateResourceException("Unit", "symbol", request.getSymbol());
@@ -56,6 +62,11 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "units", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public UnitResponse update(Long id, UnitRequest request) {
         UnitOfMeasurement unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id.toString()));
@@ -89,6 +100,7 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "units", key = "'id:' + #id")
     public UnitResponse getById(Long id) {
         UnitOfMeasurement unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id.toString()));
@@ -97,6 +109,7 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "units", key = "'symbol:' + #symbol")
     public UnitResponse getBySymbol(String symbol) {
         UnitOfMeasurement unit = unitRepository.findBySymbol(symbol)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "symbol", symbol));
@@ -115,6 +128,14 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional(readOnly = true)
+    public PageResponse<UnitResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(unitRepository, UnitOfMeasurement.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "units", key = "'type:' + #type")
     public List<UnitResponse> getAllByType(UnitType type) {
         return unitRepository.findByType(type).stream()
                 .map(this::mapToResponse)
@@ -123,6 +144,7 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "units", key = "'active'")
     public List<UnitResponse> getAllActive() {
         return unitRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -131,6 +153,7 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "units", key = "'base'")
     public List<UnitResponse> getBaseUnits() {
         return unitRepository.findByBaseUnitIsNull().stream()
                 .map(this::mapToResponse)
@@ -139,6 +162,11 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "units", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public void delete(Long id) {
         UnitOfMeasurement unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id.toString()));
@@ -148,6 +176,11 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "units", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public void activate(Long id) {
         UnitOfMeasurement unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id.toString()));
@@ -158,6 +191,11 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "units", allEntries = true),
+            @CacheEvict(value = "rawMaterials", allEntries = true),
+            @CacheEvict(value = "finishedGoods", allEntries = true)
+    })
     public void deactivate(Long id) {
         UnitOfMeasurement unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id.toString()));
@@ -7,6 +7,7 @@ import com.erp.manufacturing.dto.response.UserResponse;
 import com.erp.manufacturing.entity.Permission;
 import com.erp.manufacturing.entity.Role;
 import com.erp.manufacturing.entity.User;
+import com.erp.manufacturing.event.UserSecurityChangedEvent;
 import com.erp.manufacturing.exception.DuplicateResourceException;
 import com.erp.manufacturing.exception.InvalidOperationException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
@@ -15,8 +16,10 @@ import com.erp.manufacturing.repository.UserRepository;
 import com.erp.manufacturing.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +36,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
@@ -82,6 +87,9 @@ public class UserServiceImpl implements UserService {
         if (request.getRoleId() != null) {
             Role role = roleRepository.findById(request.getRoleId())
                     .orElseThrow(() -> new ResourceNotFoundException("Role", "id", request.getRoleId().toString()));
+            if (user.getRole() == null || !role.getId().equals(user.getRole().getId())) {
+                revokeTokens(user);
+            }
             user.setRole(role);
         }
 
@@ -91,11 +99,15 @@ public class UserServiceImpl implements UserService {
         user.setLastName(request.getLastName());
         user.setPhone(request.getPhone());
         if (request.getIsActive() != null) {
+            if (Boolean.TRUE.equals(user.getIsActive()) && !request.getIsActive()) {
+                revokeTokens(user);
+            }
             user.setIsActive(request.getIsActive());
         }
 
         User saved = userRepository.save(user);
         log.info("User updated: {}", saved.getUsername());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(saved.getId()));
         return mapToResponse(saved);
     }
 
@@ -133,6 +145,13 @@ public class UserServiceImpl implements UserService {
         return PageResponse.of(content, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(userRepository, User.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<UserResponse> search(String query, Pageable pageable) {
@@ -175,8 +194,10 @@ public class UserServiceImpl implements UserService {
 
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         user.setPasswordChangedAt(LocalDateTime.now());
+        revokeTokens(user);
         userRepository.save(user);
         log.info("Password changed for user: {}", user.getUsername());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
     }
 
     @Override
@@ -187,8 +208,10 @@ public class UserServiceImpl implements UserService {
 
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setPasswordChangedAt(LocalDateTime.now());
+        revokeTokens(user);
         userRepository.save(user);
         log.info("Password reset for user: {}", user.getUsername());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
     }
 
     @Override
@@ -198,6 +221,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id.toString()));
         userRepository.delete(user);
         log.info("User deleted: {}", user.getUsername());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
     }
 
     @Override
@@ -208,6 +232,7 @@ public class UserServiceImpl implements UserService {
         user.setIsActive(true);
         userRepository.save(user);
         log.info("User activated: {}", user.getUsername());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
     }
 
     @Override
@@ -216,8 +241,15 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id.toString()));
         user.setIsActive(false);
+        revokeTokens(user);
         userRepository.save(user);
         log.info("User deactivated: {}", user.getUsername());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
+    }
+
+    // Tokens issued before this change stop authenticating in stateless mode
+    private void revokeTokens(User user) {
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
     }
 
     private UserResponse mapToResponse(User user) {
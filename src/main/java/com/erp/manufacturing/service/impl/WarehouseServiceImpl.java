@@ -10,8 +10,11 @@ import com.erp.manufacturing.repository.WarehouseRepository;
 import com.erp.manufacturing.service.WarehouseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,9 +27,11 @@ import java.util.stream.Collectors;
 public class WarehouseServiceImpl implements WarehouseService {
 
     private final WarehouseRepository warehouseRepository;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public WarehouseResponse create(WarehouseRequest request) {
         if (warehouseRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Warehouse", "code", request.getCode());
@@ -53,6 +58,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public WarehouseResponse update(Long id, WarehouseRequest request) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", id.toString()));
@@ -82,6 +88,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "warehouses", key = "'id:' + #id")
     public WarehouseResponse getById(Long id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", id.toString()));
@@ -90,6 +97,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "warehouses", key = "'code:' + #code")
     public WarehouseResponse getByCode(String code) {
         Warehouse warehouse = warehouseRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "code", code));
@@ -108,6 +116,14 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional(readOnly = true)
+    public PageResponse<WarehouseResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(warehouseRepository, Warehouse.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "warehouses", key = "'active'")
     public List<WarehouseResponse> getAllActive() {
         return warehouseRepository.findByIsActiveTrue().stream()
                 .map(this::mapToResponse)
@@ -124,6 +140,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public void delete(Long id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", id.toString()));
@@ -133,6 +150,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public void activate(Long id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", id.toString()));
@@ -143,6 +161,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "warehouses", allEntries = true)
     public void deactivate(Long id) {
         Warehouse warehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", id.toString()));
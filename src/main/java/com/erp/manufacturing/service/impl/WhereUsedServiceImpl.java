@@ -0,0 +1,139 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.dto.response.WhereUsedEntryResponse;
+import com.erp.manufacturing.dto.response.WhereUsedFinishedGoodsResponse;
+import com.erp.manufacturing.dto.response.WhereUsedResponse;
+import com.erp.manufacturing.entity.FinishedGoods;
+import com.erp.manufacturing.entity.RawMaterial;
+import com.erp.manufacturing.exception.BusinessException;
+import com.erp.manufacturing.exception.ResourceNotFoundException;
+import com.erp.manufacturing.repository.BomHeaderRepository;
+import com.erp.manufacturing.repository.FinishedGoodsRepository;
+import com.erp.manufacturing.repository.RawMaterialRepository;
+import com.erp.manufacturing.service.WhereUsedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class WhereUsedServiceImpl implements WhereUsedService {
+
+    private static final String RAW_MATERIAL = "RAW_MATERIAL";
+    private static final String SUB_ASSEMBLY = "SUB_ASSEMBLY";
+    private static final String IN_PROCESS = "IN_PROCESS";
+    private static final int MAX_LEVELS = 50;
+
+    private final BomHeaderRepository bomHeaderRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final FinishedGoodsRepository finishedGoodsRepository;
+
+    @Override
+    public WhereUsedResponse getWhereUsed(String itemType, Long itemId, boolean includeAncestors) {
+        String type = itemType.toUpperCase();
+        String itemCode;
+        String itemName;
+
+        if (RAW_MATERIAL.equals(type)) {
+            RawMaterial rm = rawMaterialRepository.findById(itemId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Raw Material", "id", itemId));
+            itemCode = rm.getCode();
+            itemName = rm.getName();
+        } else if (SUB_ASSEMBLY.equals(type)) {
+            FinishedGoods fg = finishedGoodsRepository.findById(itemId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Finished Goods", "id", itemId));
+            itemCode = fg.getCode();
+            itemName = fg.getName();
+        } else if (IN_PROCESS.equals(type)) {
+            itemCode = null;
+            itemName = null;
+        } else {
+            throw new BusinessException("Unsupported item type: " + itemType);
+        }
+
+        List<WhereUsedEntryResponse> usages = new ArrayList<>();
+        Map<Long, WhereUsedFinishedGoodsResponse> finishedGoods = new LinkedHashMap<>();
+        Set<Long> visitedFinishedGoods = new HashSet<>();
+
+        // Walk up one BOM level per query: the products of each level are the sub-assemblies of the next
+        String levelType = type;
+        Set<Long> levelItems = Set.of(itemId);
+        int level = 0;
+
+        while (!levelItems.isEmpty()) {
+            if (++level > MAX_LEVELS) {
+                throw new BusinessException("Where-used ancestry exceeds " + MAX_LEVELS + " levels. Check for circular BOM references.");
+            }
+
+            Set<Long> nextLevelItems = new HashSet<>();
+            for (Object[] row : bomHeaderRepository.findUsagesByItems(levelType, levelItems)) {
+                Long bomId = (Long) row[0];
+                Long finishedGoodsId = (Long) row[4];
+
+                usages.add(WhereUsedEntryResponse.builder()
+                        .level(level)
+                        .bomId(bomId)
+                        .bomCode((String) row[1])
+                        .version((String) row[2])
+                        .isActive((Boolean) row[3])
+                        .finishedGoodsId(finishedGoodsId)
+                        .finishedGoodsCode((String) row[5])
+                        .finishedGoodsName((String) row[6])
+                        .componentType(levelType)
+                        .componentId((Long) row[7])
+                        .quantity((BigDecimal) row[8])
+                        .wastagePercent((BigDecimal) row[9])
+                        .build());
+
+                if (!finishedGoods.containsKey(finishedGoodsId)) {
+                    finishedGoods.put(finishedGoodsId, WhereUsedFinishedGoodsResponse.builder()
+                            .id(finishedGoodsId)
+                            .code((String) row[5])
+                            .name((String) row[6])
+                            .level(level)
+                            .build());
+                }
+                if (visitedFinishedGoods.add(finishedGoodsId)) {
+                    nextLevelItems.add(finishedGoodsId);
+                }
+            }
+
+            if (!includeAncestors) {
+                break;
+            }
+            levelType = SUB_ASSEMBLY;
+            levelItems = nextLevelItems;
+        }
+
+        if (includeAncestors) {
+            // A finished good that is itself consumed by another BOM is not an end product
+            Set<Long> consumedFinishedGoods = usages.stream()
+                    .filter(usage -> SUB_ASSEMBLY.equals(usage.getComponentType()))
+                    .map(WhereUsedEntryResponse::getComponentId)
+                    .collect(Collectors.toSet());
+            finishedGoods.values().forEach(fg -> fg.setEndProduct(!consumedFinishedGoods.contains(fg.getId())));
+        }
+
+        return WhereUsedResponse.builder()
+                .itemType(type)
+                .itemId(itemId)
+                .itemCode(itemCode)
+                .itemName(itemName)
+                .maxLevel(usages.stream().mapToInt(WhereUsedEntryResponse::getLevel).max().orElse(0))
+                .usages(usages)
+                .finishedGoods(new ArrayList<>(finishedGoods.values()))
+                .build();
+    }
+}
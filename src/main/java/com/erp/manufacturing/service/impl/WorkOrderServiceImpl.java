@@ -1,24 +1,31 @@
 package com.erp.manufacturing.service.impl;
 
+import com.erp.manufacturing.dto.request.StockPostingRequest;
 import com.erp.manufacturing.dto.request.WorkOrderRequest;
 import com.erp.manufacturing.dto.response.PageResponse;
 import com.erp.manufacturing.dto.response.WorkOrderResponse;
 import com.erp.manufacturing.entity.*;
+import com.erp.manufacturing.enums.SequenceType;
 import com.erp.manufacturing.enums.WorkOrderStatus;
 import com.erp.manufacturing.exception.BusinessException;
 import com.erp.manufacturing.exception.ResourceNotFoundException;
 import com.erp.manufacturing.repository.*;
+import com.erp.manufacturing.service.DocumentNumberService;
+import com.erp.manufacturing.service.StockLedgerService;
+import com.erp.manufacturing.service.StockReservationService;
 import com.erp.manufacturing.service.WorkOrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -33,6 +40,11 @@ public class WorkOrderServiceImpl implements WorkOrderService {
     private final BomHeaderRepository bomHeaderRepository;
     private final FinishedGoodsRepository finishedGoodsRepository;
     private final WarehouseRepository warehouseRepository;
+    private final BomCostRepository bomCostRepository;
+    private final DocumentNumberService documentNumberService;
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationService stockReservationService;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     public WorkOrderResponse create(WorkOrderRequest request) {
@@ -47,7 +59,7 @@ public class WorkOrderServiceImpl implements WorkOrderService {
         Warehouse warehouse = warehouseRepository.findById(request.getWarehouseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", request.getWarehouseId()));
 
-        String workOrderNo = generateWorkOrderNo();
+        String workOrderNo = documentNumberService.next(SequenceType.WORK_ORDER);
 
         WorkOrder workOrder = WorkOrder.builder()
                 .workOrderNo(workOrderNo)
@@ -126,6 +138,13 @@ public class WorkOrderServiceImpl implements WorkOrderService {
         return PageResponse.of(responses, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<WorkOrderResponse> getAll(String cursor, int size, Sort sort) {
+        return keysetPaginator.scroll(workOrderRepository, WorkOrder.class, cursor, size, sort,
+                content -> content.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<WorkOrderResponse> search(String searchTerm, Pageable pageable) {
@@ -172,6 +191,7 @@ public class WorkOrderServiceImpl implements WorkOrderService {
         }
 
         workOrder.setStatus(WorkOrderStatus.RELEASED);
+        stockReservationService.reserveForWorkOrder(workOrder);
         return mapToResponse(workOrderRepository.save(workOrder));
     }
 
@@ -203,7 +223,11 @@ public class WorkOrderServiceImpl implements WorkOrderService {
         workOrder.setStatus(WorkOrderStatus.COMPLETED);
         workOrder.setActualEndDate(LocalDateTime.now());
 
-        return mapToResponse(workOrderRepository.save(workOrder));
+        WorkOrder saved = workOrderRepository.save(workOrder);
+        // Reserved material is freed before the actual consumption is issued against it
+        stockReservationService.release("WORK_ORDER", saved.getId());
+        postProductionMovements(saved);
+        return mapToResponse(saved);
     }
 
     @Override
@@ -216,6 +240,7 @@ public class WorkOrderServiceImpl implements WorkOrderService {
         }
 
         workOrder.setStatus(WorkOrderStatus.CANCELLED);
+        stockReservationService.release("WORK_ORDER", workOrder.getId());
         workOrder.setNotes((workOrder.getNotes() != null ? workOrder.getNotes() + "\n" : "") + "Cancelled: " + reason);
 
         return mapToResponse(workOrderRepository.save(workOrder));
@@ -240,8 +265,48 @@ public class WorkOrderServiceImpl implements WorkOrderService {
         return workOrderRepository.countByStatus(WorkOrderStatus.valueOf(status));
     }
 
-    private String generateWorkOrderNo() {
-        return "WO-" + System.currentTimeMillis() % 100000000;
+    // Issues the recorded material consumption and receives the output in one ledger batch
+    private void postProductionMovements(WorkOrder workOrder) {
+        List<StockPostingRequest> postings = new ArrayList<>();
+
+        for (ProductionConsumption consumption : workOrder.getConsumptions()) {
+            BigDecimal consumed = consumption.getActualQuantity()
+                    .add(consumption.getWastageQuantity() != null ? consumption.getWastageQuantity() : BigDecimal.ZERO);
+            if ("RAW_MATERIAL".equals(consumption.getItemType()) && consumed.signum() > 0) {
+                postings.add(StockPostingRequest.builder()
+                        .itemType("RAW_MATERIAL")
+                        .itemId(consumption.getItemId())
+                        .warehouseId(workOrder.getWarehouse().getId())
+                        .transactionType("ISSUE")
+                        .quantity(consumed)
+                        .batchNo(consumption.getBatchNo())
+                        .referenceType("WORK_ORDER")
+                        .referenceId(workOrder.getId())
+                        .referenceNo(workOrder.getWorkOrderNo())
+                        .build());
+            }
+        }
+
+        if (workOrder.getCompletedQuantity() != null && workOrder.getCompletedQuantity().signum() > 0) {
+            postings.add(StockPostingRequest.builder()
+                    .itemType("FINISHED_GOODS")
+                    .itemId(workOrder.getFinishedGoods().getId())
+                    .warehouseId(workOrder.getWarehouse().getId())
+                    .transactionType("PRODUCTION")
+                    .quantity(workOrder.getCompletedQuantity())
+                    .unitCost(bomCostRepository.findByBomHeaderId(workOrder.getBom().getId())
+                            .map(BomCost::getUnitCost)
+                            .orElse(null))
+                    .batchNo(workOrder.getBatchNo())
+                    .referenceType("WORK_ORDER")
+                    .referenceId(workOrder.getId())
+                    .referenceNo(workOrder.getWorkOrderNo())
+                    .build());
+        }
+
+        if (!postings.isEmpty()) {
+            stockLedgerService.postBatch(postings);
+        }
     }
 
     private WorkOrderResponse mapToResponse(WorkOrder wo) {
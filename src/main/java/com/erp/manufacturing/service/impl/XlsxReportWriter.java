@@ -0,0 +1,139 @@
+package com.erp.manufacturing.service.impl;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// SXSSF keeps only a sliding window of rows on the heap and spills the rest to compressed temp files, so
+// memory stays flat however many rows the report has
+final class XlsxReportWriter {
+
+    private static final int ROW_WINDOW = 200;
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MIN_COLUMN_WIDTH = 12;
+
+    private XlsxReportWriter() {
+    }
+
+    static void write(List<ReportTable<?>> tables, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Styles styles = new Styles(workbook);
+            for (ReportTable<?> table : tables) {
+                writeTable(workbook, styles, table);
+            }
+            workbook.write(new CloseShield(out));
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static <T> void writeTable(SXSSFWorkbook workbook, Styles styles, ReportTable<T> table) throws IOException {
+        int part = 1;
+        SXSSFSheet sheet = createSheet(workbook, styles, table, part);
+        int rowIndex = 1;
+        try (Stream<T> rows = table.rows().get()) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                // A sheet holds at most 1,048,576 rows; the rest continue on a numbered sheet
+                if (rowIndex == MAX_ROWS) {
+                    sheet = createSheet(workbook, styles, table, ++part);
+                    rowIndex = 1;
+                }
+                T item = iterator.next();
+                Row row = sheet.createRow(rowIndex++);
+                for (int i = 0; i < table.columns().size(); i++) {
+                    setValue(row.createCell(i), table.columns().get(i).value().apply(item), styles);
+                }
+            }
+        }
+    }
+
+    private static SXSSFSheet createSheet(SXSSFWorkbook workbook, Styles styles, ReportTable<?> table, int part) {
+        String name = part == 1 ? table.title() : table.title() + " (" + part + ")";
+        SXSSFSheet sheet = workbook.createSheet(WorkbookUtil.createSafeSheetName(name));
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < table.columns().size(); i++) {
+            String title = table.columns().get(i).header();
+            Cell cell = header.createCell(i);
+            cell.setCellValue(title);
+            cell.setCellStyle(styles.header);
+            sheet.setColumnWidth(i, Math.max(MIN_COLUMN_WIDTH, title.length() + 2) * 256);
+        }
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private static void setValue(Cell cell, Object value, Styles styles) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(styles.date);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(styles.dateTime);
+        } else if (value instanceof Enum<?> constant) {
+            cell.setCellValue(constant.name());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    // POI closes the stream it writes to; the caller owns the response stream, so close only flushes
+    private static final class CloseShield extends FilterOutputStream {
+
+        private CloseShield(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static final class Styles {
+
+        private final CellStyle header;
+        private final CellStyle date;
+        private final CellStyle dateTime;
+
+        private Styles(SXSSFWorkbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+
+            date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.8
+-- Description: Token revocation epoch for stateless JWT authentication
+
+ALTER TABLE users ADD COLUMN token_epoch INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.9
+-- Description: Index for loading unexpired token revocations
+
+CREATE INDEX idx_user_sessions_revoked ON user_sessions(expires_at) WHERE is_valid = false;
@@ -0,0 +1,24 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.10
+-- Description: Background report jobs with results spooled to disk
+
+CREATE TABLE report_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL UNIQUE,
+    report_type VARCHAR(30) NOT NULL, -- SALES, PURCHASE, PRODUCTION, INVENTORY, INVOICE_LINES
+    format VARCHAR(10) NOT NULL, -- CSV, XLSX
+    start_date DATE,
+    end_date DATE,
+    status VARCHAR(20) NOT NULL, -- QUEUED, RUNNING, COMPLETED, FAILED, EXPIRED
+    requested_by VARCHAR(50) NOT NULL,
+    file_name VARCHAR(255),
+    file_size BIGINT,
+    error_message VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    expires_at TIMESTAMP
+);
+
+CREATE INDEX idx_report_jobs_requested_by ON report_jobs(requested_by, created_at DESC);
+CREATE INDEX idx_report_jobs_status ON report_jobs(status, expires_at);
@@ -0,0 +1,43 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.11
+-- Description: Daily sales and purchase rollups maintained from order lifecycle changes
+
+-- =====================================================
+-- SALES DAILY ROLLUPS
+-- =====================================================
+
+-- finished_goods_id = 0 holds the order header totals; other rows hold line totals per product
+CREATE TABLE sales_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    customer_id BIGINT NOT NULL,
+    finished_goods_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    quantity DECIMAL(18,3) NOT NULL DEFAULT 0,
+    amount DECIMAL(18,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_sales_daily_rollups_key UNIQUE (rollup_date, customer_id, finished_goods_id, status)
+);
+
+CREATE INDEX idx_sales_daily_rollups_orders ON sales_daily_rollups(rollup_date, status) WHERE finished_goods_id = 0;
+
+-- =====================================================
+-- PURCHASE DAILY ROLLUPS
+-- =====================================================
+
+-- raw_material_id = 0 holds the order header totals; other rows hold line totals per material
+CREATE TABLE purchase_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    supplier_id BIGINT NOT NULL,
+    raw_material_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    quantity DECIMAL(18,3) NOT NULL DEFAULT 0,
+    amount DECIMAL(18,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_purchase_daily_rollups_key UNIQUE (rollup_date, supplier_id, raw_material_id, status)
+);
+
+CREATE INDEX idx_purchase_daily_rollups_orders ON purchase_daily_rollups(rollup_date, status) WHERE raw_material_id = 0;
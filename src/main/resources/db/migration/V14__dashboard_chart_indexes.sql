@@ -0,0 +1,20 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.12
+-- Description: Indexes behind the dashboard time-series charts
+
+-- =====================================================
+-- PRODUCTION OUTPUT
+-- =====================================================
+
+-- Completed output is summed per day of completion
+CREATE INDEX idx_work_orders_completed_end ON work_orders(actual_end_date)
+    INCLUDE (completed_quantity) WHERE status = 'COMPLETED' AND is_deleted = false;
+
+-- =====================================================
+-- RECEIVABLES
+-- =====================================================
+
+-- Open balances are summed per invoice date
+CREATE INDEX idx_invoices_open_date ON invoices(invoice_date)
+    INCLUDE (grand_total, paid_amount)
+    WHERE payment_status IN ('UNPAID', 'PARTIALLY_PAID') AND status NOT IN ('DRAFT', 'CANCELLED') AND is_deleted = false;
@@ -0,0 +1,7 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.13
+-- Description: Worker that claimed each report job, so a restarted worker can fail the jobs it lost
+
+ALTER TABLE report_jobs ADD COLUMN worker VARCHAR(255);
+
+CREATE INDEX idx_report_jobs_active ON report_jobs(status, requested_by);
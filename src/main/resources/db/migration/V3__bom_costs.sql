@@ -0,0 +1,22 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.1
+-- Description: Rolled-up BOM costs and where-used lookup index
+
+-- =====================================================
+-- BOM COSTS
+-- =====================================================
+
+CREATE TABLE bom_costs (
+    id BIGSERIAL PRIMARY KEY,
+    bom_header_id BIGINT NOT NULL UNIQUE REFERENCES bom_headers(id) ON DELETE CASCADE,
+    material_cost DECIMAL(18,4) NOT NULL DEFAULT 0,
+    unit_cost DECIMAL(18,4) NOT NULL DEFAULT 0,
+    calculated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =====================================================
+-- INDEXES
+-- =====================================================
+
+-- BOM
+CREATE INDEX idx_bom_details_item ON bom_details(item_type, item_id);
@@ -0,0 +1,22 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.2
+-- Description: Stock ledger history and posting indexes
+
+-- =====================================================
+-- STOCK LEDGER
+-- =====================================================
+
+-- Movement history is read per item, optionally per warehouse, newest first
+CREATE INDEX idx_rm_transactions_item_date ON raw_material_transactions(raw_material_id, transaction_date DESC, id DESC);
+CREATE INDEX idx_fg_transactions_item_date ON finished_goods_transactions(finished_goods_id, transaction_date DESC, id DESC);
+
+CREATE INDEX idx_rm_transactions_reference ON raw_material_transactions(reference_type, reference_id);
+CREATE INDEX idx_fg_transactions_reference ON finished_goods_transactions(reference_type, reference_id);
+
+-- Postings lock stock rows by item and warehouse
+CREATE INDEX idx_raw_material_stock_item_warehouse ON raw_material_stock(raw_material_id, warehouse_id);
+CREATE INDEX idx_finished_goods_stock_item_warehouse ON finished_goods_stock(finished_goods_id, warehouse_id);
+
+-- The item-only indexes are covered by the composite ones above
+DROP INDEX IF EXISTS idx_raw_material_transactions_material;
+DROP INDEX IF EXISTS idx_finished_goods_transactions_product;
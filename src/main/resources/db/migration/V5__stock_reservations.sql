@@ -0,0 +1,31 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.3
+-- Description: Optimistic versioning of stock rows and stock reservations
+
+-- =====================================================
+-- STOCK VERSIONING
+-- =====================================================
+
+ALTER TABLE raw_material_stock ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE finished_goods_stock ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- =====================================================
+-- STOCK RESERVATIONS
+-- =====================================================
+
+CREATE TABLE stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    item_type VARCHAR(20) NOT NULL, -- RAW_MATERIAL, FINISHED_GOODS
+    item_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL REFERENCES warehouses(id),
+    stock_id BIGINT NOT NULL,
+    batch_no VARCHAR(50),
+    quantity DECIMAL(15,3) NOT NULL,
+    reference_type VARCHAR(30) NOT NULL, -- SALES_ORDER, WORK_ORDER
+    reference_id BIGINT NOT NULL,
+    reference_no VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_stock_reservations_reference ON stock_reservations(reference_type, reference_id);
+CREATE INDEX idx_stock_reservations_item ON stock_reservations(item_type, item_id);
@@ -0,0 +1,32 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.4
+-- Description: Maintained per-item and per-warehouse stock summaries
+
+-- =====================================================
+-- STOCK SUMMARIES
+-- =====================================================
+
+-- warehouse_id = 0 holds the item total across all warehouses
+CREATE TABLE stock_summaries (
+    id BIGSERIAL PRIMARY KEY,
+    item_type VARCHAR(20) NOT NULL, -- RAW_MATERIAL, FINISHED_GOODS
+    item_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    quantity DECIMAL(15,3) NOT NULL DEFAULT 0,
+    reserved_quantity DECIMAL(15,3) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_stock_summaries_item_warehouse UNIQUE (item_type, item_id, warehouse_id)
+);
+
+INSERT INTO stock_summaries (item_type, item_id, warehouse_id, quantity, reserved_quantity)
+SELECT 'RAW_MATERIAL', raw_material_id, warehouse_id, SUM(quantity), SUM(COALESCE(reserved_quantity, 0))
+FROM raw_material_stock GROUP BY raw_material_id, warehouse_id
+UNION ALL
+SELECT 'RAW_MATERIAL', raw_material_id, 0, SUM(quantity), SUM(COALESCE(reserved_quantity, 0))
+FROM raw_material_stock GROUP BY raw_material_id
+UNION ALL
+SELECT 'FINISHED_GOODS', finished_goods_id, warehouse_id, SUM(quantity), SUM(COALESCE(reserved_quantity, 0))
+FROM finished_goods_stock GROUP BY finished_goods_id, warehouse_id
+UNION ALL
+SELECT 'FINISHED_GOODS', finished_goods_id, 0, SUM(quantity), SUM(COALESCE(reserved_quantity, 0))
+FROM finished_goods_stock GROUP BY finished_goods_id;
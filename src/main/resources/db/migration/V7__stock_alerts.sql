@@ -0,0 +1,43 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.5
+-- Description: Minimum stock levels and incrementally maintained low-stock alerts
+
+ALTER TABLE raw_materials ADD COLUMN minimum_stock_level DECIMAL(15,3);
+ALTER TABLE finished_goods ADD COLUMN minimum_stock_level DECIMAL(15,3);
+
+-- =====================================================
+-- STOCK ALERTS
+-- =====================================================
+
+-- One row per item currently at or below its reorder level
+CREATE TABLE stock_alerts (
+    id BIGSERIAL PRIMARY KEY,
+    item_type VARCHAR(20) NOT NULL, -- RAW_MATERIAL, FINISHED_GOODS
+    item_id BIGINT NOT NULL,
+    alert_level VARCHAR(20) NOT NULL, -- LOW, CRITICAL
+    available_quantity DECIMAL(15,3) NOT NULL,
+    reorder_level DECIMAL(15,3),
+    minimum_stock_level DECIMAL(15,3),
+    raised_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_stock_alerts_item UNIQUE (item_type, item_id)
+);
+
+CREATE INDEX idx_stock_alerts_level ON stock_alerts(alert_level, available_quantity);
+
+INSERT INTO stock_alerts (item_type, item_id, alert_level, available_quantity, reorder_level, minimum_stock_level)
+SELECT 'RAW_MATERIAL', i.id,
+       CASE WHEN COALESCE(s.quantity - s.reserved_quantity, 0) <= 0 THEN 'CRITICAL' ELSE 'LOW' END,
+       COALESCE(s.quantity - s.reserved_quantity, 0), i.reorder_level, NULL
+FROM raw_materials i
+LEFT JOIN stock_summaries s ON s.item_type = 'RAW_MATERIAL' AND s.item_id = i.id AND s.warehouse_id = 0
+WHERE i.is_deleted = false AND i.is_active = true AND COALESCE(i.reorder_level, 0) > 0
+  AND COALESCE(s.quantity - s.reserved_quantity, 0) <= i.reorder_level
+UNION ALL
+SELECT 'FINISHED_GOODS', i.id,
+       CASE WHEN COALESCE(s.quantity - s.reserved_quantity, 0) <= 0 THEN 'CRITICAL' ELSE 'LOW' END,
+       COALESCE(s.quantity - s.reserved_quantity, 0), i.reorder_level, NULL
+FROM finished_goods i
+LEFT JOIN stock_summaries s ON s.item_type = 'FINISHED_GOODS' AND s.item_id = i.id AND s.warehouse_id = 0
+WHERE i.is_deleted = false AND i.is_active = true AND COALESCE(i.reorder_level, 0) > 0
+  AND COALESCE(s.quantity - s.reserved_quantity, 0) <= i.reorder_level;
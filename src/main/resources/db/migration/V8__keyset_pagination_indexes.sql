@@ -0,0 +1,9 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.6
+-- Description: Indexes backing cursor pagination on the default document list sort
+
+-- Matches the (created_at, id) seek plus the soft-delete filter added to every entity query
+CREATE INDEX idx_sales_orders_created_id ON sales_orders(created_at, id) WHERE is_deleted = false;
+CREATE INDEX idx_purchase_orders_created_id ON purchase_orders(created_at, id) WHERE is_deleted = false;
+CREATE INDEX idx_work_orders_created_id ON work_orders(created_at, id) WHERE is_deleted = false;
+CREATE INDEX idx_invoices_created_id ON invoices(created_at, id) WHERE is_deleted = false;
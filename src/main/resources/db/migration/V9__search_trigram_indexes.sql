@@ -0,0 +1,46 @@
+-- Manufacturing ERP Database Schema
+-- Version: 1.0.7
+-- Description: Trigram indexes for substring and fuzzy search
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Expression indexes on lower(column) serve both LOWER(col) LIKE '%term%' and the % similarity operator
+
+-- Masters
+CREATE INDEX idx_raw_materials_name_trgm ON raw_materials USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_raw_materials_code_trgm ON raw_materials USING GIN (lower(code) gin_trgm_ops);
+CREATE INDEX idx_raw_materials_description_trgm ON raw_materials USING GIN (lower(description) gin_trgm_ops);
+
+CREATE INDEX idx_finished_goods_name_trgm ON finished_goods USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_finished_goods_code_trgm ON finished_goods USING GIN (lower(code) gin_trgm_ops);
+CREATE INDEX idx_finished_goods_barcode_trgm ON finished_goods USING GIN (lower(barcode) gin_trgm_ops);
+CREATE INDEX idx_finished_goods_description_trgm ON finished_goods USING GIN (lower(description) gin_trgm_ops);
+
+CREATE INDEX idx_customers_name_trgm ON customers USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_customers_code_trgm ON customers USING GIN (lower(code) gin_trgm_ops);
+CREATE INDEX idx_customers_contact_trgm ON customers USING GIN (lower(contact_person) gin_trgm_ops);
+CREATE INDEX idx_customers_email_trgm ON customers USING GIN (lower(email) gin_trgm_ops);
+
+CREATE INDEX idx_suppliers_name_trgm ON suppliers USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_suppliers_code_trgm ON suppliers USING GIN (lower(code) gin_trgm_ops);
+CREATE INDEX idx_suppliers_contact_trgm ON suppliers USING GIN (lower(contact_person) gin_trgm_ops);
+CREATE INDEX idx_suppliers_email_trgm ON suppliers USING GIN (lower(email) gin_trgm_ops);
+
+CREATE INDEX idx_warehouses_name_trgm ON warehouses USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_warehouses_code_trgm ON warehouses USING GIN (lower(code) gin_trgm_ops);
+CREATE INDEX idx_warehouses_city_trgm ON warehouses USING GIN (lower(city) gin_trgm_ops);
+
+CREATE INDEX idx_categories_name_trgm ON categories USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_categories_code_trgm ON categories USING GIN (lower(code) gin_trgm_ops);
+
+CREATE INDEX idx_users_username_trgm ON users USING GIN (lower(username) gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING GIN (lower(email) gin_trgm_ops);
+CREATE INDEX idx_users_first_name_trgm ON users USING GIN (lower(first_name) gin_trgm_ops);
+CREATE INDEX idx_users_last_name_trgm ON users USING GIN (lower(last_name) gin_trgm_ops);
+
+-- Documents
+CREATE INDEX idx_sales_orders_number_trgm ON sales_orders USING GIN (lower(so_number) gin_trgm_ops);
+CREATE INDEX idx_purchase_orders_number_trgm ON purchase_orders USING GIN (lower(po_number) gin_trgm_ops);
+CREATE INDEX idx_work_orders_number_trgm ON work_orders USING GIN (lower(work_order_no) gin_trgm_ops);
+CREATE INDEX idx_invoices_number_trgm ON invoices USING GIN (lower(invoice_number) gin_trgm_ops);
+CREATE INDEX idx_bom_headers_code_trgm ON bom_headers USING GIN (lower(bom_code) gin_trgm_ops);
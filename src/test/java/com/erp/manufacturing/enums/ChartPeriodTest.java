@@ -0,0 +1,81 @@
+package com.erp.manufacturing.enums;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChartPeriodTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "DAY, 2024-03-15, 2024-03-15",
+            "WEEK, 2024-03-15, 2024-03-11",
+            "WEEK, 2024-03-17, 2024-03-11",
+            "WEEK, 2024-03-11, 2024-03-11",
+            "WEEK, 2023-01-01, 2022-12-26",
+            "MONTH, 2024-02-29, 2024-02-01",
+            "MONTH, 2024-03-01, 2024-03-01",
+            "QUARTER, 2024-01-01, 2024-01-01",
+            "QUARTER, 2024-03-31, 2024-01-01",
+            "QUARTER, 2024-05-20, 2024-04-01",
+            "QUARTER, 2024-09-30, 2024-07-01",
+            "QUARTER, 2024-12-31, 2024-10-01"
+    })
+    void truncateReturnsFirstDayOfBucket(ChartPeriod period, LocalDate date, LocalDate expected) {
+        assertThat(period.truncate(date)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "DAY, 2024-03-01, 2024-02-01, 2024-03-01",
+            "WEEK, 2024-01-03, 2023-10-16, 2024-01-01",
+            "MONTH, 2024-02-29, 2023-03-01, 2024-02-01",
+            "QUARTER, 2024-05-20, 2022-07-01, 2024-04-01"
+    })
+    void bucketsEndWithTheBucketContainingTheDate(ChartPeriod period, LocalDate date,
+                                                  LocalDate first, LocalDate last) {
+        List<LocalDate> buckets = period.bucketsEndingAt(date);
+
+        assertThat(buckets).hasSize(period.getBucketCount());
+        assertThat(buckets.get(0)).isEqualTo(first);
+        assertThat(buckets.get(buckets.size() - 1)).isEqualTo(last);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ChartPeriod.class)
+    void bucketsAreContiguousAndAligned(ChartPeriod period) {
+        List<LocalDate> buckets = period.bucketsEndingAt(LocalDate.of(2024, 1, 10));
+
+        for (int i = 0; i < buckets.size(); i++) {
+            assertThat(period.truncate(buckets.get(i))).isEqualTo(buckets.get(i));
+            if (i > 0) {
+                assertThat(period.plus(buckets.get(i - 1), 1)).isEqualTo(buckets.get(i));
+            }
+        }
+    }
+
+    @Test
+    void weekBucketsStartOnMonday() {
+        assertThat(ChartPeriod.WEEK.bucketsEndingAt(LocalDate.of(2024, 1, 7)))
+                .allSatisfy(start -> assertThat(start.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "DAY, 2024-03-05, 05 Mar",
+            "WEEK, 2024-12-30, 30 Dec",
+            "MONTH, 2024-03-01, Mar 2024",
+            "QUARTER, 2024-01-01, Q1 2024",
+            "QUARTER, 2024-10-01, Q4 2024"
+    })
+    void labelsDescribeTheBucket(ChartPeriod period, LocalDate bucketStart, String expected) {
+        assertThat(period.label(bucketStart)).isEqualTo(expected);
+    }
+}
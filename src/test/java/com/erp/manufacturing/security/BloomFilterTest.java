@@ -0,0 +1,53 @@
+package com.erp.manufacturing.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(IntStream.range(0, 1000).anyMatch(i -> filter.mightContain("token-" + i))).isFalse();
+    }
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("token-" + i));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("token-" + i))).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("token-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void overfilledFilterStillHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        IntStream.range(0, 500).forEach(i -> filter.add("token-" + i));
+
+        assertThat(IntStream.range(0, 500).allMatch(i -> filter.mightContain("token-" + i))).isTrue();
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        IntStream.range(0, 50_000).parallel().forEach(i -> filter.add("token-" + i));
+
+        assertThat(IntStream.range(0, 50_000).allMatch(i -> filter.mightContain("token-" + i))).isTrue();
+    }
+}
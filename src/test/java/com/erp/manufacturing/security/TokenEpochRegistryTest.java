@@ -0,0 +1,120 @@
+package com.erp.manufacturing.security;
+
+import com.erp.manufacturing.config.JwtConfig;
+import com.erp.manufacturing.event.UserSecurityChangedEvent;
+import com.erp.manufacturing.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenEpochRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtConfig jwtConfig;
+    private TokenEpochRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        jwtConfig.setStatelessAuthentication(true);
+        registry = new TokenEpochRegistry(userRepository, jwtConfig);
+    }
+
+    @Test
+    void usersWithoutRevocationsAcceptEveryEpoch() {
+        when(userRepository.findTokenRevocations()).thenReturn(List.of());
+        registry.refresh();
+
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+        assertThat(registry.isCurrent(null, 0)).isFalse();
+    }
+
+    @Test
+    void tokensBelowTheUsersEpochAreRejected() {
+        when(userRepository.findTokenRevocations()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 2, true, false}));
+        registry.refresh();
+
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+    }
+
+    @Test
+    void inactiveAndDeletedUsersAreRevoked() {
+        when(userRepository.findTokenRevocations()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 0, false, false},
+                new Object[]{2L, 4, true, true}));
+        registry.refresh();
+
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+        assertThat(registry.isCurrent(2L, 4)).isFalse();
+        assertThat(registry.isCurrent(2L, Integer.MAX_VALUE - 1)).isFalse();
+    }
+
+    @Test
+    void refreshReplacesEntriesThatNoLongerApply() {
+        when(userRepository.findTokenRevocations())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 0, false, false}))
+                .thenReturn(List.of());
+        registry.refresh();
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+
+        registry.refresh();
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+    }
+
+    @Test
+    void securityChangeIsAppliedImmediately() {
+        when(userRepository.findTokenRevocation(1L)).thenReturn(List.<Object[]>of(new Object[]{1L, 3, true, false}));
+
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(1L));
+
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+    }
+
+    @Test
+    void securityChangeForMissingUserRevokesAllTokens() {
+        when(userRepository.findTokenRevocation(1L)).thenReturn(List.of());
+
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(1L));
+
+        assertThat(registry.isCurrent(1L, 5)).isFalse();
+    }
+
+    @Test
+    void reactivatedUserAtEpochZeroIsDropped() {
+        when(userRepository.findTokenRevocation(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 0, false, false}))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 0, true, false}));
+
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(1L));
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(1L));
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+    }
+
+    @Test
+    void nothingIsLoadedWhenAuthenticationIsStateful() {
+        jwtConfig.setStatelessAuthentication(false);
+
+        registry.refresh();
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(1L));
+
+        verifyNoInteractions(userRepository);
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+    }
+}
@@ -0,0 +1,146 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.config.JwtConfig;
+import com.erp.manufacturing.dto.response.AuthResponse;
+import com.erp.manufacturing.entity.User;
+import com.erp.manufacturing.exception.InvalidOperationException;
+import com.erp.manufacturing.repository.RoleRepository;
+import com.erp.manufacturing.repository.UserRepository;
+import com.erp.manufacturing.security.JwtTokenProvider;
+import com.erp.manufacturing.security.TokenRevocationStore;
+import com.erp.manufacturing.security.UserPrincipal;
+import com.erp.manufacturing.security.UserPrincipalCache;
+import com.erp.manufacturing.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    private static final String SESSION_ID = "session-1";
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RoleRepository roleRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("test-secret-key-that-is-at-least-32-bytes-long");
+        jwtConfig.setAccessTokenExpiration(60_000);
+        jwtConfig.setRefreshTokenExpiration(600_000);
+        jwtTokenProvider = new JwtTokenProvider(jwtConfig, new VerifiedTokenCache(100, new SimpleMeterRegistry()));
+        authService = new AuthServiceImpl(authenticationManager, userRepository, roleRepository, passwordEncoder,
+                jwtTokenProvider, jwtConfig, userPrincipalCache, tokenRevocationStore);
+    }
+
+    @Test
+    void refreshAtCurrentEpochIssuesTokensInTheSameSession() {
+        User user = user(1);
+        when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+
+        AuthResponse response = authService.refreshToken(refreshToken(user));
+
+        Claims access = jwtTokenProvider.verifyToken(response.getAccessToken());
+        Claims refresh = jwtTokenProvider.verifyToken(response.getRefreshToken());
+        assertThat(jwtTokenProvider.isAccessToken(access)).isTrue();
+        assertThat(jwtTokenProvider.isRefreshToken(refresh)).isTrue();
+        assertThat(access.get(JwtTokenProvider.SESSION_CLAIM, String.class)).isEqualTo(SESSION_ID);
+        assertThat(refresh.get(JwtTokenProvider.SESSION_CLAIM, String.class)).isEqualTo(SESSION_ID);
+        assertThat(access.get(JwtTokenProvider.EPOCH_CLAIM, Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void refreshTokenIssuedBeforeEpochBumpIsRejected() {
+        User user = user(0);
+        String token = refreshToken(user);
+        user.setTokenEpoch(1);
+        when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authService.refreshToken(token))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void accessTokenCannotBeUsedToRefresh() {
+        String token = jwtTokenProvider.generateAccessToken(UserPrincipal.create(user(0)), SESSION_ID);
+
+        assertThatThrownBy(() -> authService.refreshToken(token))
+                .isInstanceOf(InvalidOperationException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void revokedRefreshTokenIsRejected() {
+        String token = refreshToken(user(0));
+        when(tokenRevocationStore.isRevoked(any(Claims.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.refreshToken(token))
+                .isInstanceOf(InvalidOperationException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void deactivatedUserCannotRefresh() {
+        User user = user(0);
+        String token = refreshToken(user);
+        user.setIsActive(false);
+        when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authService.refreshToken(token))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = refreshToken(user(0));
+
+        assertThatThrownBy(() -> authService.refreshToken(token.substring(0, token.length() - 2) + "xx"))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private String refreshToken(User user) {
+        return jwtTokenProvider.generateRefreshToken(UserPrincipal.create(user), SESSION_ID);
+    }
+
+    private User user(int tokenEpoch) {
+        User user = User.builder()
+                .username("jdoe")
+                .email("jdoe@example.com")
+                .passwordHash("hash")
+                .firstName("John")
+                .lastName("Doe")
+                .isActive(true)
+                .tokenEpoch(tokenEpoch)
+                .build();
+        user.setId(1L);
+        return user;
+    }
+}
@@ -0,0 +1,94 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.erp.manufacturing.service.impl.ReportTable.column;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReportWriterTest {
+
+    @Test
+    void formulaPrefixesAreEscaped() throws IOException {
+        String csv = writeValues("=SUM(A1:A2)", "+1", "-1", "@cmd", "\tTAB", "safe");
+
+        assertThat(csv).isEqualTo("value\r\n"
+                + "'=SUM(A1:A2)\r\n"
+                + "'+1\r\n"
+                + "'-1\r\n"
+                + "'@cmd\r\n"
+                + "'\tTAB\r\n"
+                + "safe\r\n");
+    }
+
+    @Test
+    void carriageReturnPrefixIsEscapedAndQuoted() throws IOException {
+        assertThat(writeValues("\r=1+1")).isEqualTo("value\r\n\"'\r=1+1\"\r\n");
+    }
+
+    @Test
+    void escapedFormulaIsStillQuotedWhenNeeded() throws IOException {
+        assertThat(writeValues("=HYPERLINK(\"http://x\",\"y\")"))
+                .isEqualTo("value\r\n\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"\r\n");
+    }
+
+    @Test
+    void separatorsQuotesAndLineBreaksAreQuoted() throws IOException {
+        String csv = writeValues("a,b", "say \"hi\"", "two\nlines", "plain");
+
+        assertThat(csv).isEqualTo("value\r\n"
+                + "\"a,b\"\r\n"
+                + "\"say \"\"hi\"\"\"\r\n"
+                + "\"two\nlines\"\r\n"
+                + "plain\r\n");
+    }
+
+    @Test
+    void numbersAndEnumsAreWrittenAsIs() throws IOException {
+        String csv = writeValues(new BigDecimal("-12.50"), new BigDecimal("1E+3"), -7, -0.5d, OrderStatus.DRAFT, null);
+
+        assertThat(csv).isEqualTo("value\r\n-12.50\r\n1000\r\n-7\r\n-0.5\r\nDRAFT\r\n\r\n");
+    }
+
+    @Test
+    void multipleTablesGetTitlesAndABlankLineBetween() throws IOException {
+        ReportTable<String> first = new ReportTable<>("First", List.of(
+                column("name", name -> name),
+                column("length", String::length)), () -> Stream.of("ab"));
+        ReportTable<String> second = new ReportTable<>("=Second", List.of(
+                column("name", name -> name)), Stream::empty);
+
+        String csv = write(List.of(first, second));
+
+        assertThat(csv).isEqualTo("First\r\nname,length\r\nab,2\r\n"
+                + "\r\n"
+                + "'=Second\r\nname\r\n");
+    }
+
+    @Test
+    void singleTableHasNoTitle() throws IOException {
+        ReportTable<String> table = new ReportTable<>("Only", List.of(
+                column("name", name -> name)), () -> Stream.of("x"));
+
+        assertThat(write(List.of(table))).isEqualTo("name\r\nx\r\n");
+    }
+
+    private static String writeValues(Object... values) throws IOException {
+        ReportTable<Object> table = new ReportTable<>("Values", List.of(
+                column("value", value -> value)), () -> Stream.of(values));
+        return write(List.of(table));
+    }
+
+    private static String write(List<ReportTable<?>> tables) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvReportWriter.write(tables, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,217 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.entity.BaseEntity;
+import com.erp.manufacturing.entity.Customer;
+import com.erp.manufacturing.entity.FinishedGoods;
+import com.erp.manufacturing.entity.PurchaseOrder;
+import com.erp.manufacturing.entity.PurchaseOrderItem;
+import com.erp.manufacturing.entity.RawMaterial;
+import com.erp.manufacturing.entity.SalesOrder;
+import com.erp.manufacturing.entity.SalesOrderItem;
+import com.erp.manufacturing.entity.Supplier;
+import com.erp.manufacturing.enums.OrderStatus;
+import com.erp.manufacturing.repository.PurchaseDailyRollupRepository;
+import com.erp.manufacturing.repository.PurchaseOrderRepository;
+import com.erp.manufacturing.repository.SalesDailyRollupRepository;
+import com.erp.manufacturing.repository.SalesOrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRollupServiceImplTest {
+
+    private static final LocalDate ORDER_DATE = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+    @Mock
+    private PurchaseDailyRollupRepository purchaseDailyRollupRepository;
+    @Mock
+    private SalesOrderRepository salesOrderRepository;
+    @Mock
+    private PurchaseOrderRepository purchaseOrderRepository;
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private OrderRollupServiceImpl orderRollupService;
+
+    @BeforeEach
+    void setUp() {
+        orderRollupService = new OrderRollupServiceImpl(salesDailyRollupRepository, purchaseDailyRollupRepository,
+                salesOrderRepository, purchaseOrderRepository, jdbcTemplate);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void confirmingAnOrderMovesItFromDraftToConfirmed() {
+        SalesOrder order = salesOrder(new BigDecimal("118.00"));
+        order.addItem(salesLine(10L, "2", "100.00"));
+
+        orderRollupService.removeSalesOrder(order);
+        order.setStatus(OrderStatus.CONFIRMED);
+        orderRollupService.addSalesOrder(order);
+        commit();
+
+        List<Map<String, Object>> rows = writtenRows("sales_daily_rollups");
+        assertThat(rows).extracting(row -> row.get("itemId") + ":" + row.get("status") + ":" + row.get("orderCount"))
+                .containsExactly("0:CONFIRMED:1", "0:DRAFT:-1", "10:CONFIRMED:1", "10:DRAFT:-1");
+        assertThat((BigDecimal) rows.get(0).get("amount")).isEqualByComparingTo("118.00");
+        assertThat((BigDecimal) rows.get(1).get("amount")).isEqualByComparingTo("-118.00");
+        assertThat((BigDecimal) rows.get(2).get("quantity")).isEqualByComparingTo("2");
+        assertThat((BigDecimal) rows.get(3).get("quantity")).isEqualByComparingTo("-2");
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.get("date")).isEqualTo(ORDER_DATE);
+            assertThat(row.get("partyId")).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    void unchangedOrderWritesNothing() {
+        SalesOrder order = salesOrder(new BigDecimal("50.00"));
+        order.addItem(salesLine(10L, "1", "50.00"));
+
+        orderRollupService.removeSalesOrder(order);
+        orderRollupService.addSalesOrder(order);
+        commit();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void editedLineWritesOnlyTheDifference() {
+        SalesOrder order = salesOrder(new BigDecimal("50.00"));
+        SalesOrderItem line = salesLine(10L, "1", "50.00");
+        order.addItem(line);
+
+        orderRollupService.removeSalesOrder(order);
+        line.setQuantity(new BigDecimal("3"));
+        line.setTotal(new BigDecimal("150.00"));
+        order.setGrandTotal(new BigDecimal("150.00"));
+        orderRollupService.addSalesOrder(order);
+        commit();
+
+        List<Map<String, Object>> rows = writtenRows("sales_daily_rollups");
+        assertThat(rows).extracting(row -> row.get("itemId")).containsExactly(0L, 10L);
+        assertThat(rows).extracting(row -> row.get("orderCount")).containsExactly(0L, 0L);
+        assertThat((BigDecimal) rows.get(0).get("amount")).isEqualByComparingTo("100.00");
+        assertThat((BigDecimal) rows.get(1).get("quantity")).isEqualByComparingTo("2");
+        assertThat((BigDecimal) rows.get(1).get("amount")).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void linesOfTheSameProductCountAsOneOrder() {
+        SalesOrder order = salesOrder(new BigDecimal("90.00"));
+        order.addItem(salesLine(10L, "2", "40.00"));
+        order.addItem(salesLine(10L, "1", "20.00"));
+        order.addItem(salesLine(11L, "3", "30.00"));
+
+        orderRollupService.addSalesOrder(order);
+        commit();
+
+        List<Map<String, Object>> rows = writtenRows("sales_daily_rollups");
+        assertThat(rows).extracting(row -> row.get("itemId") + ":" + row.get("orderCount"))
+                .containsExactly("0:1", "10:1", "11:1");
+        assertThat((BigDecimal) rows.get(1).get("quantity")).isEqualByComparingTo("3");
+        assertThat((BigDecimal) rows.get(1).get("amount")).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void purchaseOrdersAreWrittenToThePurchaseRollup() {
+        PurchaseOrder order = PurchaseOrder.builder()
+                .orderDate(ORDER_DATE)
+                .status(OrderStatus.DRAFT)
+                .grandTotal(new BigDecimal("75.00"))
+                .build();
+        order.setSupplier(withId(Supplier.builder().build(), 2L));
+        order.addItem(PurchaseOrderItem.builder()
+                .rawMaterial(withId(RawMaterial.builder().build(), 20L))
+                .quantity(new BigDecimal("5"))
+                .total(new BigDecimal("75.00"))
+                .build());
+
+        orderRollupService.addPurchaseOrder(order);
+        commit();
+
+        List<Map<String, Object>> rows = writtenRows("purchase_daily_rollups");
+        assertThat(rows).extracting(row -> row.get("partyId") + ":" + row.get("itemId"))
+                .containsExactly("2:0", "2:20");
+        verify(jdbcTemplate, never()).batchUpdate(contains("sales_daily_rollups"), any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void orderWithoutCustomerIsIgnored() {
+        SalesOrder order = salesOrder(new BigDecimal("10.00"));
+        order.setCustomer(null);
+
+        orderRollupService.addSalesOrder(order);
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    private void commit() {
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+    }
+
+    private List<Map<String, Object>> writtenRows(String table) {
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(contains(table), rows.capture());
+        verify(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        return Arrays.stream(rows.getValue())
+                .map(row -> ((MapSqlParameterSource) row).getValues())
+                .toList();
+    }
+
+    private static SalesOrder salesOrder(BigDecimal grandTotal) {
+        SalesOrder order = SalesOrder.builder()
+                .orderDate(ORDER_DATE)
+                .status(OrderStatus.DRAFT)
+                .grandTotal(grandTotal)
+                .build();
+        order.setCustomer(withId(Customer.builder().build(), 1L));
+        return order;
+    }
+
+    private static SalesOrderItem salesLine(Long finishedGoodsId, String quantity, String total) {
+        return SalesOrderItem.builder()
+                .finishedGoods(withId(FinishedGoods.builder().build(), finishedGoodsId))
+                .quantity(new BigDecimal(quantity))
+                .total(new BigDecimal(total))
+                .build();
+    }
+
+    private static <T extends BaseEntity> T withId(T entity, Long id) {
+        entity.setId(id);
+        return entity;
+    }
+}
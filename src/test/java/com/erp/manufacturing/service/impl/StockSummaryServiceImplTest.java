@@ -0,0 +1,144 @@
+package com.erp.manufacturing.service.impl;
+
+import com.erp.manufacturing.repository.FinishedGoodsStockRepository;
+import com.erp.manufacturing.repository.RawMaterialStockRepository;
+import com.erp.manufacturing.repository.StockAlertRepository;
+import com.erp.manufacturing.repository.StockSummaryRepository;
+import com.erp.manufacturing.repository.WarehouseRepository;
+import com.erp.manufacturing.service.StockAlertService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class StockSummaryServiceImplTest {
+
+    @Mock
+    private StockSummaryRepository stockSummaryRepository;
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+    @Mock
+    private RawMaterialStockRepository rawMaterialStockRepository;
+    @Mock
+    private FinishedGoodsStockRepository finishedGoodsStockRepository;
+    @Mock
+    private WarehouseRepository warehouseRepository;
+    @Mock
+    private StockAlertService stockAlertService;
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private ObjectProvider<CacheManager> cacheManagerProvider;
+
+    private StockSummaryServiceImpl stockSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        stockSummaryService = new StockSummaryServiceImpl(stockSummaryRepository, stockAlertRepository,
+                rawMaterialStockRepository, finishedGoodsStockRepository, warehouseRepository,
+                stockAlertService, jdbcTemplate, cacheManagerProvider);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void changeIsWrittenForWarehouseAndTotalOnCommit() {
+        stockSummaryService.recordChange("RAW_MATERIAL", 7L, 3L, new BigDecimal("10"), BigDecimal.ZERO);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        commit();
+
+        List<Map<String, Object>> rows = writtenRows();
+        assertThat(rows).hasSize(2);
+        assertThat(rows).extracting(row -> row.get("warehouseId")).containsExactly(0L, 3L);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.get("itemType")).isEqualTo("RAW_MATERIAL");
+            assertThat(row.get("itemId")).isEqualTo(7L);
+            assertThat((BigDecimal) row.get("quantity")).isEqualByComparingTo("10");
+            assertThat((BigDecimal) row.get("reservedQuantity")).isEqualByComparingTo("0");
+        });
+        verify(stockAlertService).evaluate("RAW_MATERIAL", List.of(7L));
+    }
+
+    @Test
+    void changesToTheSameItemAreMergedWithinATransaction() {
+        stockSummaryService.recordChange("FINISHED_GOODS", 5L, 1L, new BigDecimal("4"), BigDecimal.ZERO);
+        stockSummaryService.recordChange("FINISHED_GOODS", 5L, 1L, BigDecimal.ZERO, new BigDecimal("3"));
+        stockSummaryService.recordChange("FINISHED_GOODS", 5L, 2L, new BigDecimal("-1.5"), BigDecimal.ZERO);
+        commit();
+
+        List<Map<String, Object>> rows = writtenRows();
+        assertThat(rows).extracting(row -> row.get("warehouseId")).containsExactly(0L, 1L, 2L);
+        assertThat((BigDecimal) rows.get(0).get("quantity")).isEqualByComparingTo("2.5");
+        assertThat((BigDecimal) rows.get(0).get("reservedQuantity")).isEqualByComparingTo("3");
+        assertThat((BigDecimal) rows.get(1).get("quantity")).isEqualByComparingTo("4");
+        assertThat((BigDecimal) rows.get(1).get("reservedQuantity")).isEqualByComparingTo("3");
+        assertThat((BigDecimal) rows.get(2).get("quantity")).isEqualByComparingTo("-1.5");
+        verify(stockAlertService).evaluate("FINISHED_GOODS", List.of(5L));
+    }
+
+    @Test
+    void zeroChangeIsSkipped() {
+        stockSummaryService.recordChange("RAW_MATERIAL", 7L, 3L, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        commit();
+        verifyNoInteractions(jdbcTemplate, stockAlertService);
+    }
+
+    @Test
+    void rowsAreWrittenInKeyOrder() {
+        stockSummaryService.recordChange("RAW_MATERIAL", 9L, 2L, BigDecimal.ONE, BigDecimal.ZERO);
+        stockSummaryService.recordChange("FINISHED_GOODS", 4L, 2L, BigDecimal.ONE, BigDecimal.ZERO);
+        stockSummaryService.recordChange("RAW_MATERIAL", 3L, 2L, BigDecimal.ONE, BigDecimal.ZERO);
+        commit();
+
+        assertThat(writtenRows())
+                .extracting(row -> row.get("itemType") + ":" + row.get("itemId") + ":" + row.get("warehouseId"))
+                .containsExactly("FINISHED_GOODS:4:0", "FINISHED_GOODS:4:2",
+                        "RAW_MATERIAL:3:0", "RAW_MATERIAL:3:2", "RAW_MATERIAL:9:0", "RAW_MATERIAL:9:2");
+        verify(stockAlertService).evaluate("RAW_MATERIAL", List.of(3L, 9L));
+        verify(stockAlertService).evaluate("FINISHED_GOODS", List.of(4L));
+    }
+
+    private void commit() {
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+    }
+
+    private List<Map<String, Object>> writtenRows() {
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        return Arrays.stream(rows.getValue())
+                .map(row -> ((MapSqlParameterSource) row).getValues())
+                .toList();
+    }
+}